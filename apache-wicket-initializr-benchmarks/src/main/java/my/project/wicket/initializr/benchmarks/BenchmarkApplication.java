@@ -0,0 +1,178 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.benchmarks;
+
+import de.agilecoders.wicket.core.Bootstrap;
+import de.agilecoders.wicket.core.settings.BootstrapSettings;
+import de.agilecoders.wicket.extensions.markup.html.bootstrap.icon.FontAwesome6CssReference;
+import de.agilecoders.wicket.extensions.markup.html.bootstrap.icon.FontAwesomeSettings;
+import de.agilecoders.wicket.themes.markup.html.bootswatch.BootswatchTheme;
+import de.agilecoders.wicket.themes.markup.html.bootswatch.BootswatchThemeProvider;
+import de.agilecoders.wicket.webjars.WicketWebjars;
+import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
+import my.project.wicket.initializr.beans.ProjectPreviewFile;
+import my.project.wicket.initializr.beans.ProjectViewBean;
+import my.project.wicket.initializr.beans.VersionCatalogSnapshot;
+import my.project.wicket.initializr.localization.IndexedStringResourceLoader;
+import my.project.wicket.initializr.pages.HomePage;
+import my.project.wicket.initializr.resources.StaticAssetResourceReference;
+import my.project.wicket.initializr.services.IProjectPreviewService;
+import my.project.wicket.initializr.services.IVersionCatalogClusterService;
+import my.project.wicket.initializr.services.IVersionCatalogService;
+import my.project.wicket.initializr.services.IVersionCatalogSnapshotService;
+import my.project.wicket.initializr.services.VersionCatalogService;
+import my.project.wicket.initializr.stateless.StatelessPageGuard;
+import org.apache.wicket.RuntimeConfigurationType;
+import org.apache.wicket.csp.CSPDirective;
+import org.apache.wicket.markup.html.WebPage;
+import org.apache.wicket.page.PageManager;
+import org.apache.wicket.pageStore.NoopPageStore;
+import org.apache.wicket.pageStore.RequestPageStore;
+import org.apache.wicket.protocol.http.WebApplication;
+import org.apache.wicket.spring.injection.annot.SpringComponentInjector;
+import org.apache.wicket.spring.test.ApplicationContextMock;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The application rendering the pages in the benchmarks. It is configured like the initializr application, without
+ * Spring Boot, and its version catalog holds fixed versions.
+ */
+public class BenchmarkApplication extends WebApplication {
+
+    /**
+     * The versions of Apache Wicket in the catalog.
+     */
+    private final List<ArtifactVersionViewBean> wicketVersions;
+
+    /**
+     * Constructor.
+     *
+     * @param wicketVersions The versions of Apache Wicket in the catalog.
+     */
+    public BenchmarkApplication(List<ArtifactVersionViewBean> wicketVersions) {
+        this.wicketVersions = wicketVersions;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<? extends WebPage> getHomePage() {
+        return HomePage.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RuntimeConfigurationType getConfigurationType() {
+        return RuntimeConfigurationType.DEPLOYMENT;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void init() {
+        super.init();
+
+        // Inject the catalog in the pages, and the preview in the resource linked from the home page
+        final ApplicationContextMock context = new ApplicationContextMock();
+        context.putBean("versionCatalogService", newVersionCatalog());
+        context.putBean("projectPreviewService", newProjectPreview());
+        getComponentInstantiationListeners().add(new SpringComponentInjector(this, context));
+
+        // The same settings as the initializr application, with the webjars installed by the Spring Boot starter
+        WicketWebjars.install(this);
+        getCspSettings().blocking().add(CSPDirective.STYLE_SRC, "'self'", "fonts.googleapis.com");
+        getCspSettings().blocking().add(CSPDirective.FONT_SRC, "fonts.gstatic.com");
+        getCspSettings().blocking().add(CSPDirective.IMG_SRC, "'self'", "data:");
+        FontAwesomeSettings.get(this).setCssResourceReference(FontAwesome6CssReference.instance());
+        final BootstrapSettings settings = new BootstrapSettings();
+        settings.setThemeProvider(new BootswatchThemeProvider(BootswatchTheme.Zephyr));
+        Bootstrap.install(this, settings);
+        IndexedStringResourceLoader.install(this, HomePage.class);
+        setPageManagerProvider(() -> new PageManager(new RequestPageStore(new NoopPageStore())));
+        getComponentPostOnBeforeRenderListeners().add(new StatelessPageGuard(Set.of(HomePage.class)));
+
+        // Serve the static assets as the application does
+        mountResource(StaticAssetResourceReference.MOUNT_PATH, StaticAssetResourceReference.get());
+    }
+
+    /**
+     * Create the preview of the projects. The home page only links to the preview, which is never requested in the
+     * benchmarks.
+     *
+     * @return The preview of the projects.
+     */
+    private IProjectPreviewService newProjectPreview() {
+        return new IProjectPreviewService() {
+            @Override
+            public List<ProjectPreviewFile> getFiles(ProjectViewBean project) {
+                return List.of();
+            }
+
+            @Override
+            public String getContent(String etag) {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Create the catalog of the versions, filled without the network.
+     *
+     * @return The catalog of the versions.
+     */
+    private IVersionCatalogService newVersionCatalog() {
+        final IVersionCatalogSnapshotService noSnapshot = new IVersionCatalogSnapshotService() {
+            @Override
+            public Optional<VersionCatalogSnapshot> load() {
+                return Optional.empty();
+            }
+
+            @Override
+            public void save(VersionCatalogSnapshot snapshot) {
+                // Nothing to save in the benchmarks
+            }
+        };
+        final IVersionCatalogClusterService standalone = new IVersionCatalogClusterService() {
+            @Override
+            public boolean isLeader() {
+                return true;
+            }
+
+            @Override
+            public Optional<VersionCatalogSnapshot> fetch() {
+                return Optional.empty();
+            }
+
+            @Override
+            public void publish(VersionCatalogSnapshot snapshot) {
+                // A single node in the benchmarks
+            }
+        };
+        final VersionCatalogService catalog = new VersionCatalogService(coordinates -> wicketVersions, noSnapshot,
+                standalone, new StandardEnvironment(), Duration.ofSeconds(10), 8);
+        catalog.refresh();
+        return catalog;
+    }
+}
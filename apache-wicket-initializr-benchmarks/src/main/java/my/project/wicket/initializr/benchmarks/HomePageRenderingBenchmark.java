@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.benchmarks;
+
+import my.project.wicket.initializr.pages.HomePage;
+import org.apache.wicket.util.tester.BaseWicketTester;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full rendering of the home page, with the recorded versions of Apache Wicket.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HomePageRenderingBenchmark {
+
+    /**
+     * The tester rendering the page.
+     */
+    private BaseWicketTester tester;
+
+    /**
+     * Prepare the application.
+     */
+    @Setup
+    public void setUp() {
+        tester = new BaseWicketTester(new BenchmarkApplication(VersionFixtures.recordedVersionBeans()));
+    }
+
+    /**
+     * Destroy the application.
+     */
+    @TearDown
+    public void tearDown() {
+        tester.destroy();
+    }
+
+    /**
+     * Render the home page.
+     *
+     * @return The rendered page.
+     */
+    @Benchmark
+    public String render() {
+        tester.startPage(HomePage.class);
+        return tester.getLastResponseAsString();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
+import my.project.wicket.initializr.services.MavenCentralQueryService;
+import my.project.wicket.initializr.services.VersionComparatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of a recorded response of Maven Central with the streaming parser compared to the former tree parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseVersionsBenchmark {
+
+    /**
+     * The object mapper.
+     */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * The recorded response.
+     */
+    private byte[] response;
+
+    /**
+     * The query service, only used to parse.
+     */
+    private MavenCentralQueryService queryService;
+
+    /**
+     * Load the recorded response.
+     */
+    @Setup
+    public void setUp() {
+        response = VersionFixtures.loadRecordedResponse();
+        queryService = new MavenCentralQueryService(null, objectMapper, new VersionComparatorService(), "https://localhost", 200);
+    }
+
+    /**
+     * Parse the response with the streaming parser.
+     *
+     * @return The parsed page.
+     * @throws IOException If the response can't be parsed.
+     */
+    @Benchmark
+    public MavenCentralQueryService.VersionPage parseStreaming() throws IOException {
+        return queryService.parseVersions(new ByteArrayInputStream(response));
+    }
+
+    /**
+     * Parse the response as a tree, like the former implementation.
+     *
+     * @return The parsed versions.
+     * @throws IOException If the response can't be parsed.
+     */
+    @Benchmark
+    public List<ArtifactVersionViewBean> parseTree() throws IOException {
+        final JsonNode docs = objectMapper.readTree(response).path("response").path("docs");
+        final List<ArtifactVersionViewBean> versions = new ArrayList<>(docs.size());
+        for (JsonNode doc : docs) {
+            versions.add(new ArtifactVersionViewBean(doc.get("v").asText()));
+        }
+        return versions;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.benchmarks;
+
+import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
+import my.project.wicket.initializr.panels.ArtifactVersionDropDownChoice;
+import org.apache.wicket.markup.html.WebPage;
+import org.apache.wicket.model.Model;
+
+import java.util.List;
+
+/**
+ * A page with only the drop-down choice of the versions.
+ */
+public class VersionChoicePage extends WebPage {
+
+    /**
+     * Constructor.
+     *
+     * @param versions The versions.
+     * @param selected The selected version.
+     */
+    public VersionChoicePage(List<ArtifactVersionViewBean> versions, ArtifactVersionViewBean selected) {
+        add(new ArtifactVersionDropDownChoice("versions", Model.of(selected), versions));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.benchmarks;
+
+import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
+import my.project.wicket.initializr.services.VersionComparatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting of the version catalogs with the pre-parsed keys compared to the former regex based comparator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VersionComparatorBenchmark {
+
+    /**
+     * The number of versions in the catalog.
+     */
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    /**
+     * The raw versions, in a random order.
+     */
+    private List<String> versions;
+
+    /**
+     * The version beans with their parsed keys, in a random order.
+     */
+    private ArtifactVersionViewBean[] beans;
+
+    /**
+     * The comparator with the pre-parsed keys.
+     */
+    private final VersionComparatorService comparator = new VersionComparatorService();
+
+    /**
+     * The former regex based comparator.
+     */
+    private final LegacyVersionComparator legacyComparator = new LegacyVersionComparator();
+
+    /**
+     * Prepare the catalog.
+     */
+    @Setup
+    public void setUp() {
+        versions = VersionFixtures.newVersions(size, 42);
+        beans = versions.stream().map(ArtifactVersionViewBean::new).toArray(ArtifactVersionViewBean[]::new);
+    }
+
+    /**
+     * Sort the beans with the pre-parsed keys.
+     *
+     * @return The sorted beans.
+     */
+    @Benchmark
+    public ArtifactVersionViewBean[] sortWithKeys() {
+        final ArtifactVersionViewBean[] sorted = beans.clone();
+        Arrays.sort(sorted, comparator);
+        return sorted;
+    }
+
+    /**
+     * Parse the raw versions then sort them with the keys, the full cost of a catalog refresh.
+     *
+     * @return The sorted beans.
+     */
+    @Benchmark
+    public ArtifactVersionViewBean[] parseAndSortWithKeys() {
+        final ArtifactVersionViewBean[] sorted = new ArtifactVersionViewBean[versions.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = new ArtifactVersionViewBean(versions.get(i));
+        }
+        Arrays.sort(sorted, comparator);
+        return sorted;
+    }
+
+    /**
+     * Sort the beans with the former regex based comparator.
+     *
+     * @return The sorted beans.
+     */
+    @Benchmark
+    public ArtifactVersionViewBean[] sortWithRegex() {
+        final ArtifactVersionViewBean[] sorted = beans.clone();
+        Arrays.sort(sorted, legacyComparator);
+        return sorted;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
+import my.project.wicket.initializr.services.MavenCentralQueryService;
+import my.project.wicket.initializr.services.VersionComparatorService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The versions used by the benchmarks, generated or recorded from Maven Central.
+ */
+public final class VersionFixtures {
+
+    /**
+     * The qualifiers of the generated pre-releases.
+     */
+    private static final String[] QUALIFIERS = {"-alpha", "-beta", "-M", "-RC"};
+
+    /**
+     * The response of Maven Central with all the versions of 'org.apache.wicket:wicket-core', recorded in one page.
+     */
+    private static final String RECORDED_RESPONSE = "wicket-core-versions.json";
+
+    /**
+     * Constructor.
+     */
+    private VersionFixtures() {
+    }
+
+    /**
+     * Generate random versions in the style of the Apache Wicket versions, in a random order. The same seed always
+     * generates the same versions.
+     *
+     * @param count The number of versions.
+     * @param seed  The seed of the random generator.
+     * @return The versions.
+     */
+    public static List<String> newVersions(int count, long seed) {
+        final Random random = new Random(seed);
+        final List<String> versions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final StringBuilder version = new StringBuilder();
+            version.append(1 + random.nextInt(10)).append('.').append(random.nextInt(30));
+            if (random.nextInt(4) != 0) {
+                version.append('.').append(random.nextInt(40));
+            }
+            if (random.nextInt(8) == 0) {
+                version.append(QUALIFIERS[random.nextInt(QUALIFIERS.length)]).append(1 + random.nextInt(9));
+            }
+            versions.add(version.toString());
+        }
+        Collections.shuffle(versions, random);
+        return versions;
+    }
+
+    /**
+     * Generate random version beans.
+     *
+     * @param count The number of versions.
+     * @param seed  The seed of the random generator.
+     * @return The version beans.
+     */
+    public static List<ArtifactVersionViewBean> newVersionBeans(int count, long seed) {
+        return newVersions(count, seed).stream().map(ArtifactVersionViewBean::new).toList();
+    }
+
+    /**
+     * Load the recorded response of Maven Central with all the versions of 'org.apache.wicket:wicket-core'.
+     *
+     * @return The JSON response.
+     */
+    public static byte[] loadRecordedResponse() {
+        try (InputStream inputStream = VersionFixtures.class.getResourceAsStream(RECORDED_RESPONSE)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Fixture not found: " + RECORDED_RESPONSE);
+            }
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error loading the fixture " + RECORDED_RESPONSE, e);
+        }
+    }
+
+    /**
+     * Get the recorded versions of 'org.apache.wicket:wicket-core', sorted from the newest to the oldest.
+     *
+     * @return The version beans.
+     */
+    public static List<ArtifactVersionViewBean> recordedVersionBeans() {
+        final VersionComparatorService comparator = new VersionComparatorService();
+        final MavenCentralQueryService queryService = new MavenCentralQueryService(null, new ObjectMapper(), comparator, "https://localhost", 200);
+        try {
+            final List<ArtifactVersionViewBean> versions = new ArrayList<>(queryService.parseVersions(new ByteArrayInputStream(loadRecordedResponse())).getVersions());
+            versions.sort(comparator);
+            return List.copyOf(versions);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error parsing the fixture " + RECORDED_RESPONSE, e);
+        }
+    }
+}
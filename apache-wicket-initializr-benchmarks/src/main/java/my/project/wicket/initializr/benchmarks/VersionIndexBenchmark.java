@@ -0,0 +1,145 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.benchmarks;
+
+import my.project.wicket.initializr.beans.ArtifactVersionIndex;
+import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The lookups of a request in the index of the versions compared to the scans of the sorted list they replace: the
+ * newest release of a major version, as for each dependency of a generated project, and the type-ahead search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VersionIndexBenchmark {
+
+    /**
+     * The number of versions in the catalog.
+     */
+    @Param({"200", "10000"})
+    public int size;
+
+    /**
+     * The versions, sorted from the newest to the oldest.
+     */
+    private List<ArtifactVersionViewBean> versions;
+
+    /**
+     * The index of the versions.
+     */
+    private ArtifactVersionIndex index;
+
+    /**
+     * The oldest major version, whose releases are at the end of the list.
+     */
+    private int oldestMajor;
+
+    /**
+     * The typed prefix.
+     */
+    private String prefix;
+
+    /**
+     * Prepare the catalog.
+     */
+    @Setup
+    public void setUp() {
+        index = new ArtifactVersionIndex(VersionFixtures.newVersionBeans(size, 42));
+        versions = index.getVersions();
+        oldestMajor = versions.get(versions.size() - 1).getMajor();
+        prefix = versions.get(versions.size() / 2).getMajor() + ".";
+    }
+
+    /**
+     * Build the index, once for each refresh of the catalog.
+     *
+     * @return The index.
+     */
+    @Benchmark
+    public ArtifactVersionIndex buildIndex() {
+        return new ArtifactVersionIndex(versions);
+    }
+
+    /**
+     * Find the newest release of the oldest major version in the index.
+     *
+     * @return The release.
+     */
+    @Benchmark
+    public ArtifactVersionViewBean latestReleaseFromIndex() {
+        return index.getLatestRelease(oldestMajor);
+    }
+
+    /**
+     * Find the newest release of the oldest major version by scanning the sorted versions.
+     *
+     * @return The release.
+     */
+    @Benchmark
+    public ArtifactVersionViewBean latestReleaseByScan() {
+        for (ArtifactVersionViewBean version : versions) {
+            if (version.getMajor() == oldestMajor && !version.getKey().isPreRelease()) {
+                return version;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Search the ten newest releases starting with a prefix in the index.
+     *
+     * @return The releases.
+     */
+    @Benchmark
+    public List<ArtifactVersionViewBean> searchFromIndex() {
+        return index.search(prefix, false, 10);
+    }
+
+    /**
+     * Search the ten newest releases starting with a prefix by scanning the sorted versions.
+     *
+     * @return The releases.
+     */
+    @Benchmark
+    public List<ArtifactVersionViewBean> searchByScan() {
+        final List<ArtifactVersionViewBean> result = new ArrayList<>();
+        for (ArtifactVersionViewBean version : versions) {
+            if (result.size() < 10 && version.getVersion().startsWith(prefix) && !version.getKey().isPreRelease()) {
+                result.add(version);
+            }
+        }
+        return result;
+    }
+}
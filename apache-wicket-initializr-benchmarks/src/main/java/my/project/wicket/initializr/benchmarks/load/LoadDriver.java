@@ -0,0 +1,372 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.benchmarks.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * A closed-loop load driver: a fixed number of clients send requests to a running initializr, each one waiting for
+ * its response before sending the next request. It prints the throughput and the latency percentiles measured after
+ * the warmup.
+ * <p>
+ * To compare the request execution modes, start the application once with {@code spring.threads.virtual.enabled=false}
+ * and once with {@code spring.threads.virtual.enabled=true} (Java 21), with {@code -Djdk.tracePinnedThreads=short} to
+ * report the carrier threads pinned by a synchronized section, and run the same driver against both:
+ * <pre>
+ * java -cp target/benchmarks.jar my.project.wicket.initializr.benchmarks.load.LoadDriver http://localhost:8080 200 60
+ * </pre>
+ * The arguments are the base URL, the number of clients, the duration in seconds and, optionally, the paths to request
+ * in turn. In the paths, "{n}" is replaced by the number of the request, so the generated archives are never cached.
+ * {@link LoadTest} runs the scenarios of a visitor with this driver and checks their results against thresholds.
+ */
+public final class LoadDriver {
+
+    /**
+     * The paths requested when none is given: the home page and the generation of a new project.
+     */
+    private static final List<String> DEFAULT_PATHS = List.of(
+            "/",
+            "/starter.zip?group=com.example&artifact=demo{n}&name=demo&packageName=com.example.demo"
+                    + "&type=maven&packaging=exec-jar&wicketVersion=10.0.0");
+
+    /**
+     * The part of the run during which the latencies are not recorded.
+     */
+    private static final double WARMUP_RATIO = 0.2;
+
+    /**
+     * The timeout of a request.
+     */
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * The status of the requests rejected because the client has too many generations.
+     */
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    /**
+     * The status of the requests rejected because the server is saturated.
+     */
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    /**
+     * Constructor.
+     */
+    private LoadDriver() {
+    }
+
+    /**
+     * The main method.
+     *
+     * @param args The base URL, the number of clients, the duration in seconds and the paths.
+     * @throws InterruptedException If the driver is interrupted.
+     * @throws ExecutionException   If a client fails.
+     */
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        if (args.length < 3) {
+            System.err.println("Usage: LoadDriver <base url> <clients> <seconds> [path...]");
+            System.exit(1);
+        }
+        final String baseUrl = args[0];
+        final int clients = Integer.parseInt(args[1]);
+        final Duration duration = Duration.ofSeconds(Long.parseLong(args[2]));
+        final List<String> paths = args.length > 3 ? List.of(args).subList(3, args.length) : DEFAULT_PATHS;
+
+        final Result result = run(baseUrl, paths, clients, duration);
+        System.out.println(result.format());
+    }
+
+    /**
+     * Run the load.
+     *
+     * @param baseUrl  The base URL of the application.
+     * @param paths    The paths to request in turn.
+     * @param clients  The number of clients.
+     * @param duration The duration of the run, warmup included.
+     * @return The result of the run.
+     * @throws InterruptedException If the driver is interrupted.
+     * @throws ExecutionException   If a client fails.
+     */
+    public static Result run(String baseUrl, List<String> paths, int clients, Duration duration)
+            throws InterruptedException, ExecutionException {
+        final Duration warmup = Duration.ofNanos((long) (duration.toNanos() * WARMUP_RATIO));
+        return run(n -> newRequest(URI.create(baseUrl + paths.get((int) (n % paths.size()))
+                .replace("{n}", Long.toString(n)))).build(), clients, warmup, duration.minus(warmup));
+    }
+
+    /**
+     * Run the load.
+     *
+     * @param requests The factory of the requests, called with the number of each request.
+     * @param clients  The number of clients.
+     * @param warmup   The duration of the warmup, during which the latencies are not recorded.
+     * @param duration The duration of the measure.
+     * @return The result of the run.
+     * @throws InterruptedException If the driver is interrupted.
+     * @throws ExecutionException   If a client fails.
+     */
+    public static Result run(LongFunction<HttpRequest> requests, int clients, Duration warmup, Duration duration)
+            throws InterruptedException, ExecutionException {
+        final HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(REQUEST_TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        final AtomicLong requestNumber = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong rejections = new AtomicLong();
+        final long start = System.nanoTime();
+        final long measureStart = start + warmup.toNanos();
+        final long end = measureStart + duration.toNanos();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            final List<Future<LatencyRecorder>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    final LatencyRecorder recorder = new LatencyRecorder();
+                    while (System.nanoTime() < end) {
+                        final HttpRequest request = requests.apply(requestNumber.getAndIncrement());
+                        final long requestStart = System.nanoTime();
+                        final int status = send(httpClient, request);
+                        final long requestEnd = System.nanoTime();
+                        if (requestStart >= measureStart) {
+                            recorder.record(requestEnd - requestStart);
+                            if (status == TOO_MANY_REQUESTS || status == SERVICE_UNAVAILABLE) {
+                                rejections.incrementAndGet();
+                            } else if (status < 0 || status >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }
+                    return recorder;
+                }));
+            }
+
+            final LatencyRecorder all = new LatencyRecorder();
+            for (Future<LatencyRecorder> future : futures) {
+                all.addAll(future.get());
+            }
+            return new Result(all.sorted(), errors.get(), rejections.get(), Duration.ofNanos(end - measureStart));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Create the builder of a request, with the headers of a browser.
+     *
+     * @param uri The URI.
+     * @return The builder of the request.
+     */
+    public static HttpRequest.Builder newRequest(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept-Encoding", "gzip");
+    }
+
+    /**
+     * Send a request and read its whole response.
+     *
+     * @param httpClient The HTTP client.
+     * @param request    The request.
+     * @return The status of the response, or -1 if no response was received.
+     * @throws InterruptedException If the client is interrupted.
+     */
+    private static int send(HttpClient httpClient, HttpRequest request) throws InterruptedException {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * The latencies recorded by a client.
+     */
+    private static final class LatencyRecorder {
+
+        /**
+         * The latencies in nanoseconds.
+         */
+        private long[] latencies = new long[1024];
+
+        /**
+         * The number of latencies.
+         */
+        private int size;
+
+        /**
+         * Record a latency.
+         *
+         * @param latency The latency in nanoseconds.
+         */
+        private void record(long latency) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latency;
+        }
+
+        /**
+         * Add the latencies of another recorder.
+         *
+         * @param other The other recorder.
+         */
+        private void addAll(LatencyRecorder other) {
+            for (int i = 0; i < other.size; i++) {
+                record(other.latencies[i]);
+            }
+        }
+
+        /**
+         * Get the sorted latencies.
+         *
+         * @return The latencies in nanoseconds, in ascending order.
+         */
+        private long[] sorted() {
+            final long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    /**
+     * The result of a run.
+     */
+    public static final class Result {
+
+        /**
+         * The sorted latencies in nanoseconds.
+         */
+        private final long[] latencies;
+
+        /**
+         * The number of failed requests.
+         */
+        private final long errors;
+
+        /**
+         * The number of requests rejected by the backpressure of the server.
+         */
+        private final long rejections;
+
+        /**
+         * The duration of the measure.
+         */
+        private final Duration duration;
+
+        /**
+         * Constructor.
+         *
+         * @param latencies  The sorted latencies in nanoseconds.
+         * @param errors     The number of failed requests.
+         * @param rejections The number of requests rejected by the backpressure of the server.
+         * @param duration   The duration of the measure.
+         */
+        private Result(long[] latencies, long errors, long rejections, Duration duration) {
+            this.latencies = latencies;
+            this.errors = errors;
+            this.rejections = rejections;
+            this.duration = duration;
+        }
+
+        /**
+         * Get the number of measured requests.
+         *
+         * @return The number of measured requests.
+         */
+        public int getRequests() {
+            return latencies.length;
+        }
+
+        /**
+         * Get the number of failed requests.
+         *
+         * @return The number of failed requests.
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * Get the number of requests rejected by the backpressure of the server, with a 429 or a 503.
+         *
+         * @return The number of rejected requests.
+         */
+        public long getRejections() {
+            return rejections;
+        }
+
+        /**
+         * Get the duration of the measure.
+         *
+         * @return The duration of the measure.
+         */
+        public Duration getDuration() {
+            return duration;
+        }
+
+        /**
+         * Get the throughput.
+         *
+         * @return The number of requests per second.
+         */
+        public double getThroughput() {
+            return latencies.length / (duration.toNanos() / 1e9);
+        }
+
+        /**
+         * Get a percentile of the latencies.
+         *
+         * @param percentile The percentile, between 0 and 100.
+         * @return The latency in milliseconds, 0 if no request was measured.
+         */
+        public double getLatency(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            final int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1e6;
+        }
+
+        /**
+         * Format the result.
+         *
+         * @return The result as text.
+         */
+        public String format() {
+            return String.format(Locale.ROOT, "%d requests, %d errors, %d rejected, %.1f requests/s%n"
+                            + "latency (ms): p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f",
+                    getRequests(), errors, rejections, getThroughput(),
+                    getLatency(50), getLatency(90), getLatency(99), getLatency(99.9), getLatency(100));
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.benchmarks.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The requests of a visitor of the initializr, from the landing page to the download of the project.
+ */
+public enum LoadScenario {
+
+    /**
+     * The home page, as requested by a browser.
+     */
+    LANDING_PAGE {
+        @Override
+        HttpRequest newRequest(Target target, long n) {
+            return LoadDriver.newRequest(target.baseUri)
+                    .header("Accept", "text/html")
+                    .header("Accept-Language", "en-US,en;q=0.9")
+                    .build();
+        }
+    },
+
+    /**
+     * The search of the versions of the dropdown, by the major and minor version typed by the visitor.
+     */
+    VERSION_SEARCH {
+        @Override
+        HttpRequest newRequest(Target target, long n) {
+            final String version = target.getVersion(n);
+            final int patch = version.lastIndexOf('.');
+            final String prefix = patch < 0 ? version : version.substring(0, patch);
+            return LoadDriver.newRequest(target.baseUri.resolve("api/versions?q=" + encode(prefix)))
+                    .header("Accept", "application/json")
+                    .build();
+        }
+    },
+
+    /**
+     * The submission of the form of the home page, answered by a redirection to the archive.
+     */
+    FORM_SUBMIT {
+        @Override
+        HttpRequest newRequest(Target target, long n) {
+            // The names of the fields are the paths of the form components, "p::" escapes the reserved "name"
+            final String form = "projectRadioGroup=MAVEN&packagingRadioGroup=EXECUTABLE_JAR"
+                    + "&wicketVersions=" + (n % target.versions.size())
+                    + "&group=com.example&artifact=demo&p%3A%3Aname=demo&description=&packageName=com.example.demo";
+            return LoadDriver.newRequest(target.formUri)
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form))
+                    .build();
+        }
+    },
+
+    /**
+     * The download of a new project, never generated before.
+     */
+    ARCHIVE_DOWNLOAD {
+        @Override
+        HttpRequest newRequest(Target target, long n) {
+            final String project = PROJECT.replace("artifact=demo", "artifact=demo" + n);
+            return LoadDriver.newRequest(target.baseUri.resolve("starter.zip?" + project + "&wicketVersion="
+                            + encode(target.getVersion(n))))
+                    .build();
+        }
+    };
+
+    /**
+     * The parameters of the project, without the version of Apache Wicket.
+     */
+    private static final String PROJECT = "group=com.example&artifact=demo&name=demo&packageName=com.example.demo"
+            + "&type=maven&packaging=exec-jar";
+
+    /**
+     * The largest number of versions chosen in turn: the most recent ones, which the visitors choose.
+     */
+    private static final int MAX_VERSIONS = 10;
+
+    /**
+     * The action of the form of the home page.
+     */
+    private static final Pattern FORM_ACTION = Pattern.compile("<form[^>]*method=\"post\"[^>]*action=\"([^\"]+)\"");
+
+    /**
+     * The versions of the dropdown of the home page.
+     */
+    private static final Pattern VERSION_OPTION = Pattern.compile("<option[^>]*>([^<]+)</option>");
+
+    /**
+     * Create a request.
+     *
+     * @param target The initializr.
+     * @param n      The number of the request.
+     * @return The request.
+     */
+    abstract HttpRequest newRequest(Target target, long n);
+
+    /**
+     * Get the name of the scenario, as used in the thresholds and the results.
+     *
+     * @return The name of the scenario.
+     */
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * Get the scenario from its name.
+     *
+     * @param name The name of the scenario.
+     * @return The scenario.
+     * @throws IllegalArgumentException If there is no such scenario.
+     */
+    public static LoadScenario fromName(String name) {
+        for (LoadScenario scenario : values()) {
+            if (scenario.getName().equals(name)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + name);
+    }
+
+    /**
+     * Encode a parameter.
+     *
+     * @param value The value of the parameter.
+     * @return The encoded value.
+     */
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The initializr under load, with what the scenarios read from its home page.
+     */
+    public static final class Target {
+
+        /**
+         * The base URI of the initializr, ending with a slash.
+         */
+        private final URI baseUri;
+
+        /**
+         * The URI of the action of the form.
+         */
+        private final URI formUri;
+
+        /**
+         * The versions of the dropdown, from the most recent.
+         */
+        private final List<String> versions;
+
+        /**
+         * Constructor.
+         *
+         * @param baseUri  The base URI of the initializr, ending with a slash.
+         * @param formUri  The URI of the action of the form.
+         * @param versions The versions of the dropdown, from the most recent.
+         */
+        private Target(URI baseUri, URI formUri, List<String> versions) {
+            this.baseUri = baseUri;
+            this.formUri = formUri;
+            this.versions = versions;
+        }
+
+        /**
+         * Read the home page of the initializr.
+         *
+         * @param baseUrl The base URL of the initializr.
+         * @return The target, or null if the home page has no version yet.
+         * @throws IOException          If the home page can't be read.
+         * @throws InterruptedException If the client is interrupted.
+         */
+        public static Target read(String baseUrl) throws IOException, InterruptedException {
+            final URI baseUri = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+            final HttpResponse<String> response = HttpClient.newHttpClient()
+                    .send(HttpRequest.newBuilder(baseUri).build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("The home page answered " + response.statusCode());
+            }
+
+            final Matcher action = FORM_ACTION.matcher(response.body());
+            if (!action.find()) {
+                throw new IOException("The form of the home page was not found");
+            }
+            final List<String> versions = new ArrayList<>();
+            final Matcher option = VERSION_OPTION.matcher(response.body());
+            while (versions.size() < MAX_VERSIONS && option.find()) {
+                versions.add(option.group(1).trim());
+            }
+            return versions.isEmpty() ? null
+                    : new Target(baseUri, baseUri.resolve(action.group(1)), List.copyOf(versions));
+        }
+
+        /**
+         * Get the version chosen by a request.
+         *
+         * @param n The number of the request.
+         * @return The version.
+         */
+        private String getVersion(long n) {
+            return versions.get((int) (n % versions.size()));
+        }
+    }
+}
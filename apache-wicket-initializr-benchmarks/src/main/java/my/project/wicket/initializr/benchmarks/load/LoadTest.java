@@ -0,0 +1,474 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import my.project.wicket.initializr.InitializrApplication;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The load test of the whole request path of the initializr, with pass/fail thresholds.
+ * <p>
+ * The scenarios of {@link LoadScenario} run one after the other, each with a warmup and a measure, and the report
+ * gives for each one the throughput, the latency percentiles, the allocation rate and the GC pauses of the server. A
+ * scenario fails when it misses the objectives of the thresholds file, or when it is worse than a baseline, the result
+ * file of a previous run, by more than the tolerances of the thresholds file. The exit status is 1 if a scenario
+ * fails, so the test can gate a build.
+ * <p>
+ * Without "--url", the test runs offline: it starts a {@link MavenCentralStub} and the initializr in another JVM, with
+ * the classpath of the test, so the metrics are the ones of the server only:
+ * <pre>
+ * java -cp target/benchmarks.jar my.project.wicket.initializr.benchmarks.load.LoadTest --clients=32 --seconds=30
+ * java -cp target/benchmarks.jar my.project.wicket.initializr.benchmarks.load.LoadTest --baseline=load-result.json
+ * </pre>
+ * With "--url", it loads a running initializr, for example a container started with the stub. A single machine sends
+ * all the requests, so the initializr must then be started with {@code initializr.generation.max-jobs-per-client} at
+ * least equal to the number of clients, or the downloads are rejected.
+ * <p>
+ * The options are "--url", "--clients" (32), "--warmup" and "--seconds" (10 and 30 seconds per scenario),
+ * "--scenarios" (all, separated by commas), "--thresholds" (a file instead of the default thresholds), "--baseline",
+ * "--result" (load-result.json) and "--jvm-args" (the options of the JVM of the server, "-Xms512m -Xmx512m").
+ */
+public final class LoadTest {
+
+    /**
+     * The default thresholds, next to this class.
+     */
+    private static final String DEFAULT_THRESHOLDS = "thresholds.properties";
+
+    /**
+     * The maximum time for the server to start and load its catalog.
+     */
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    /**
+     * The JSON mapper.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Constructor.
+     */
+    private LoadTest() {
+    }
+
+    /**
+     * The main method.
+     *
+     * @param args The options.
+     * @throws Exception If the test can't run.
+     */
+    public static void main(String[] args) throws Exception {
+        final Map<String, String> options = parseOptions(args);
+        final int clients = Integer.parseInt(options.getOrDefault("clients", "32"));
+        final Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        final Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("seconds", "30")));
+        final List<LoadScenario> scenarios = options.containsKey("scenarios")
+                ? Arrays.stream(options.get("scenarios").split(",")).map(LoadScenario::fromName).toList()
+                : List.of(LoadScenario.values());
+        final Properties thresholds = loadThresholds(options.get("thresholds"));
+        final JsonNode baseline = options.containsKey("baseline")
+                ? OBJECT_MAPPER.readTree(Path.of(options.get("baseline")).toFile())
+                : null;
+
+        final List<ScenarioResult> results = new ArrayList<>();
+        if (options.containsKey("url")) {
+            results.addAll(run(options.get("url"), scenarios, clients, warmup, duration));
+        } else {
+            final Path workDirectory = Files.createTempDirectory("initializr-load");
+            final int port = findFreePort();
+            try (MavenCentralStub stub = new MavenCentralStub(0)) {
+                final Process server = startServer(stub.getUrl(), port, clients,
+                        options.getOrDefault("jvm-args", "-Xms512m -Xmx512m"), workDirectory);
+                try {
+                    results.addAll(run("http://localhost:" + port, scenarios, clients, warmup, duration));
+                } finally {
+                    server.destroy();
+                    server.waitFor();
+                }
+            }
+        }
+
+        final List<String> failures = new ArrayList<>();
+        final ObjectNode report = OBJECT_MAPPER.createObjectNode()
+                .put("clients", clients)
+                .put("seconds", duration.toSeconds());
+        final ArrayNode scenarioReports = report.putArray("scenarios");
+        for (ScenarioResult result : results) {
+            scenarioReports.add(result.toJson());
+            failures.addAll(result.check(thresholds, findScenario(baseline, result.scenario.getName())));
+        }
+        final Path resultFile = Path.of(options.getOrDefault("result", "load-result.json"));
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(resultFile.toFile(), report);
+        System.out.println("Results written in " + resultFile);
+
+        if (failures.isEmpty()) {
+            System.out.println("PASSED");
+        } else {
+            System.out.println("FAILED:");
+            failures.forEach(failure -> System.out.println("  " + failure));
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Run the scenarios.
+     *
+     * @param baseUrl   The base URL of the initializr.
+     * @param scenarios The scenarios.
+     * @param clients   The number of clients.
+     * @param warmup    The duration of the warmup of each scenario.
+     * @param duration  The duration of the measure of each scenario.
+     * @return The results.
+     * @throws InterruptedException If the test is interrupted.
+     * @throws ExecutionException   If a client fails.
+     * @throws IOException          If the home page can't be read.
+     */
+    private static List<ScenarioResult> run(String baseUrl, List<LoadScenario> scenarios, int clients,
+                                            Duration warmup, Duration duration)
+            throws InterruptedException, ExecutionException, IOException {
+        final LoadScenario.Target target = LoadScenario.Target.read(baseUrl);
+        if (target == null) {
+            throw new IOException("The home page of " + baseUrl + " has no version");
+        }
+        final ServerMetrics serverMetrics = new ServerMetrics(baseUrl);
+
+        final List<ScenarioResult> results = new ArrayList<>();
+        for (LoadScenario scenario : scenarios) {
+            System.out.println("Running " + scenario.getName() + "...");
+            LoadDriver.run(n -> scenario.newRequest(target, n), clients, Duration.ZERO, warmup);
+            final ServerMetrics.Sample before = serverMetrics.sample();
+            final LoadDriver.Result result = LoadDriver.run(n -> scenario.newRequest(target, n), clients,
+                    Duration.ZERO, duration);
+            final ScenarioResult scenarioResult = new ScenarioResult(scenario, result, before, serverMetrics.sample());
+            System.out.println(scenarioResult.format());
+            results.add(scenarioResult);
+        }
+        return results;
+    }
+
+    /**
+     * Start the initializr in another JVM, with the Maven Central stub, and wait for its catalog.
+     *
+     * @param stubUrl       The URL of the Maven Central stub.
+     * @param port          The port of the server.
+     * @param clients       The number of clients, which can all wait for a generation.
+     * @param jvmArgs       The options of the JVM, separated by spaces.
+     * @param workDirectory The directory of the snapshot of the catalog and of the log of the server.
+     * @return The process of the server.
+     * @throws IOException          If the server can't start.
+     * @throws InterruptedException If the test is interrupted.
+     */
+    private static Process startServer(String stubUrl, int port, int clients, String jvmArgs, Path workDirectory)
+            throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.stream(jvmArgs.split(" ")).filter(arg -> !arg.isBlank()).toList());
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), InitializrApplication.class.getName(),
+                "--server.port=" + port,
+                "--initializr.maven-central.url=" + stubUrl,
+                "--initializr.catalog.snapshot-file=" + workDirectory.resolve("catalog.bin"),
+                "--initializr.generation.max-jobs-per-client=" + clients));
+        final Path log = workDirectory.resolve("server.log");
+        final Process server = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        System.out.println("Starting the initializr on port " + port + ", log in " + log);
+
+        final long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!server.isAlive()) {
+                throw new IOException("The initializr stopped, see " + log);
+            }
+            try {
+                if (LoadScenario.Target.read("http://localhost:" + port) != null) {
+                    return server;
+                }
+            } catch (IOException e) {
+                // Not started yet
+            }
+            Thread.sleep(500);
+        }
+        server.destroy();
+        throw new IOException("The initializr didn't start in " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    /**
+     * Find a free port.
+     *
+     * @return The port.
+     * @throws IOException If no port is free.
+     */
+    private static int findFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Parse the options, in the form "--name=value".
+     *
+     * @param args The arguments.
+     * @return The options by name.
+     */
+    private static Map<String, String> parseOptions(String[] args) {
+        final Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Invalid option, --name=value expected: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Load the thresholds.
+     *
+     * @param file The file of the thresholds, or null for the default thresholds.
+     * @return The thresholds.
+     * @throws IOException If the thresholds can't be read.
+     */
+    private static Properties loadThresholds(String file) throws IOException {
+        final Properties thresholds = new Properties();
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(Path.of(file))) {
+                thresholds.load(reader);
+            }
+        } else {
+            try (InputStream inputStream = LoadTest.class.getResourceAsStream(DEFAULT_THRESHOLDS)) {
+                if (inputStream == null) {
+                    throw new IllegalStateException("Thresholds not found: " + DEFAULT_THRESHOLDS);
+                }
+                thresholds.load(inputStream);
+            }
+        }
+        return thresholds;
+    }
+
+    /**
+     * Find the result of a scenario in a baseline.
+     *
+     * @param baseline The baseline, or null.
+     * @param name     The name of the scenario.
+     * @return The result of the scenario, or null if there is none.
+     */
+    private static JsonNode findScenario(JsonNode baseline, String name) {
+        if (baseline != null) {
+            for (JsonNode scenario : baseline.path("scenarios")) {
+                if (name.equals(scenario.path("name").asText())) {
+                    return scenario;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The result of a scenario, with the metrics of the server during its measure.
+     */
+    private static final class ScenarioResult {
+
+        /**
+         * The scenario.
+         */
+        private final LoadScenario scenario;
+
+        /**
+         * The result of the load driver.
+         */
+        private final LoadDriver.Result result;
+
+        /**
+         * The metrics of the server before the measure.
+         */
+        private final ServerMetrics.Sample before;
+
+        /**
+         * The metrics of the server after the measure.
+         */
+        private final ServerMetrics.Sample after;
+
+        /**
+         * Constructor.
+         *
+         * @param scenario The scenario.
+         * @param result   The result of the load driver.
+         * @param before   The metrics of the server before the measure.
+         * @param after    The metrics of the server after the measure.
+         */
+        private ScenarioResult(LoadScenario scenario, LoadDriver.Result result, ServerMetrics.Sample before,
+                               ServerMetrics.Sample after) {
+            this.scenario = scenario;
+            this.result = result;
+            this.before = before;
+            this.after = after;
+        }
+
+        /**
+         * Get the rate of the failed and rejected requests.
+         *
+         * @return The rate, between 0 and 1.
+         */
+        private double getErrorRate() {
+            return result.getRequests() == 0 ? 1
+                    : (double) (result.getErrors() + result.getRejections()) / result.getRequests();
+        }
+
+        /**
+         * Get the allocation rate of the server.
+         *
+         * @return The allocated megabytes per second.
+         */
+        private double getAllocationRate() {
+            return after.getAllocatedBytesSince(before) / 1e6 / (result.getDuration().toNanos() / 1e9);
+        }
+
+        /**
+         * Get the allocations of the server for a request.
+         *
+         * @return The allocated kilobytes per request.
+         */
+        private double getAllocationPerRequest() {
+            return after.getAllocatedBytesSince(before) / 1e3 / Math.max(1, result.getRequests());
+        }
+
+        /**
+         * Check the result against the thresholds and the baseline.
+         *
+         * @param thresholds The thresholds.
+         * @param baseline   The result of the same scenario in the baseline, or null.
+         * @return The failures.
+         */
+        private List<String> check(Properties thresholds, JsonNode baseline) {
+            final String name = scenario.getName();
+            final List<String> failures = new ArrayList<>();
+            checkMin(failures, name + " throughput (requests/s)", result.getThroughput(),
+                    threshold(thresholds, name + ".min-throughput"));
+            checkMax(failures, name + " p99 (ms)", result.getLatency(99), threshold(thresholds, name + ".max-p99"));
+            checkMax(failures, name + " p99.9 (ms)", result.getLatency(99.9),
+                    threshold(thresholds, name + ".max-p999"));
+            checkMax(failures, name + " error rate", getErrorRate(), threshold(thresholds, name + ".max-error-rate"));
+            if (baseline != null) {
+                checkMin(failures, name + " throughput against the baseline", result.getThroughput(),
+                        baseline.path("throughput").asDouble()
+                                * (1 - threshold(thresholds, "baseline.max-throughput-decrease")));
+                checkMax(failures, name + " p99 against the baseline", result.getLatency(99),
+                        baseline.path("p99").asDouble() * (1 + threshold(thresholds, "baseline.max-p99-increase")));
+                checkMax(failures, name + " allocations per request against the baseline", getAllocationPerRequest(),
+                        baseline.path("allocatedKbPerRequest").asDouble()
+                                * (1 + threshold(thresholds, "baseline.max-allocation-increase")));
+            }
+            return failures;
+        }
+
+        /**
+         * Read a threshold.
+         *
+         * @param thresholds The thresholds.
+         * @param key        The key of the threshold.
+         * @return The threshold, or NaN if there is none.
+         */
+        private static double threshold(Properties thresholds, String key) {
+            final String value = thresholds.getProperty(key);
+            return value == null ? Double.NaN : Double.parseDouble(value.trim());
+        }
+
+        /**
+         * Check that a value isn't under its threshold.
+         *
+         * @param failures  The failures.
+         * @param label     The label of the value.
+         * @param value     The value.
+         * @param threshold The threshold, or NaN if there is none.
+         */
+        private static void checkMin(List<String> failures, String label, double value, double threshold) {
+            if (!Double.isNaN(threshold) && !Double.isNaN(value) && value < threshold) {
+                failures.add(String.format(Locale.ROOT, "%s: %.2f < %.2f", label, value, threshold));
+            }
+        }
+
+        /**
+         * Check that a value isn't over its threshold.
+         *
+         * @param failures  The failures.
+         * @param label     The label of the value.
+         * @param value     The value.
+         * @param threshold The threshold, or NaN if there is none.
+         */
+        private static void checkMax(List<String> failures, String label, double value, double threshold) {
+            if (!Double.isNaN(threshold) && !Double.isNaN(value) && value > threshold) {
+                failures.add(String.format(Locale.ROOT, "%s: %.2f > %.2f", label, value, threshold));
+            }
+        }
+
+        /**
+         * Convert the result to JSON, as read back for a baseline.
+         *
+         * @return The JSON result.
+         */
+        private ObjectNode toJson() {
+            return OBJECT_MAPPER.createObjectNode()
+                    .put("name", scenario.getName())
+                    .put("requests", result.getRequests())
+                    .put("errors", result.getErrors())
+                    .put("rejections", result.getRejections())
+                    .put("throughput", result.getThroughput())
+                    .put("p50", result.getLatency(50))
+                    .put("p99", result.getLatency(99))
+                    .put("p999", result.getLatency(99.9))
+                    .put("max", result.getLatency(100))
+                    .put("allocationRateMbPerSecond", getAllocationRate())
+                    .put("allocatedKbPerRequest", getAllocationPerRequest())
+                    .put("gcPauses", after.getPausesSince(before))
+                    .put("gcPauseTimeMs", after.getPauseTimeSince(before))
+                    .put("gcMaxPauseMs", after.getMaxPauseTime());
+        }
+
+        /**
+         * Format the result.
+         *
+         * @return The result as text.
+         */
+        private String format() {
+            return result.format() + String.format(Locale.ROOT, "%n"
+                            + "server: %.1f MB/s allocated, %.1f KB/request, "
+                            + "%.0f GC pauses, %.1f ms paused, max pause %.1f ms",
+                    getAllocationRate(), getAllocationPerRequest(), after.getPausesSince(before),
+                    after.getPauseTimeSince(before), after.getMaxPauseTime());
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import my.project.wicket.initializr.beans.ArtifactCoordinates;
+import my.project.wicket.initializr.benchmarks.VersionFixtures;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A stub of the search API of Maven Central, serving the recorded responses, so the load tests run offline and always
+ * with the same versions.
+ * <p>
+ * The recorded versions are split in pages with the "start" and "rows" parameters, and the responses have an ETag, as
+ * the ones of Maven Central. Only 'org.apache.wicket:wicket-core' is recorded: the other artifacts have no version, so
+ * the generated projects use the default versions of the initializr. Run it alone to point a container at it:
+ * <pre>
+ * java -cp target/benchmarks.jar my.project.wicket.initializr.benchmarks.load.MavenCentralStub 8089
+ * </pre>
+ * and start the initializr with {@code --initializr.maven-central.url=http://<host>:8089/solrsearch/select}.
+ */
+public final class MavenCentralStub implements AutoCloseable {
+
+    /**
+     * The path of the search API.
+     */
+    public static final String PATH = "/solrsearch/select";
+
+    /**
+     * The query of the versions of an artifact.
+     */
+    private static final Pattern QUERY = Pattern.compile("g:(\\S+) AND a:(\\S+)");
+
+    /**
+     * The JSON mapper.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * The recorded responses by artifact.
+     */
+    private final Map<ArtifactCoordinates, JsonNode> responses = new HashMap<>();
+
+    /**
+     * The threads of the HTTP server.
+     */
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    /**
+     * The HTTP server.
+     */
+    private final HttpServer server;
+
+    /**
+     * Start the stub.
+     *
+     * @param port The port, 0 for any free port.
+     * @throws IOException If the server can't start.
+     */
+    public MavenCentralStub(int port) throws IOException {
+        responses.put(ArtifactCoordinates.WICKET_CORE, OBJECT_MAPPER.readTree(VersionFixtures.loadRecordedResponse()));
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext(PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * The main method.
+     *
+     * @param args The port.
+     * @throws IOException If the server can't start.
+     */
+    public static void main(String[] args) throws IOException {
+        final MavenCentralStub stub = new MavenCentralStub(args.length > 0 ? Integer.parseInt(args[0]) : 0);
+        System.out.println("Maven Central stub listening on " + stub.getUrl());
+    }
+
+    /**
+     * Get the URL of the search API, for the property "initializr.maven-central.url".
+     *
+     * @return The URL of the search API.
+     */
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + PATH;
+    }
+
+    /**
+     * Answer a search.
+     *
+     * @param exchange The exchange.
+     * @throws IOException If the response can't be written.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            final Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+            final Matcher query = QUERY.matcher(parameters.getOrDefault("q", ""));
+            if (!query.matches()) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            final JsonNode recorded = responses.get(new ArtifactCoordinates(query.group(1), query.group(2)));
+            final int start = Integer.parseInt(parameters.getOrDefault("start", "0"));
+            final int rows = Integer.parseInt(parameters.getOrDefault("rows", "10"));
+            final byte[] body = OBJECT_MAPPER.writeValueAsBytes(page(recorded, start, rows));
+
+            final String etag = '"' + HexFormat.of().formatHex(sha256(body), 0, 8) + '"';
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        }
+    }
+
+    /**
+     * Cut a page of a recorded response.
+     *
+     * @param recorded The recorded response, or null if the artifact isn't recorded.
+     * @param start    The index of the first version.
+     * @param rows     The number of versions.
+     * @return The page.
+     */
+    private static ObjectNode page(JsonNode recorded, int start, int rows) {
+        final ArrayNode docs = OBJECT_MAPPER.createArrayNode();
+        final JsonNode recordedDocs = recorded == null
+                ? OBJECT_MAPPER.createArrayNode()
+                : recorded.path("response").path("docs");
+        for (int i = start; i < Math.min(recordedDocs.size(), start + rows); i++) {
+            docs.add(recordedDocs.get(i));
+        }
+        final ObjectNode page = OBJECT_MAPPER.createObjectNode();
+        page.putObject("response")
+                .put("numFound", recordedDocs.size())
+                .put("start", start)
+                .set("docs", docs);
+        return page;
+    }
+
+    /**
+     * Parse the parameters of a query.
+     *
+     * @param rawQuery The encoded query, or null.
+     * @return The parameters.
+     */
+    private static Map<String, String> parseQuery(String rawQuery) {
+        final Map<String, String> parameters = new HashMap<>();
+        if (rawQuery != null) {
+            for (String parameter : rawQuery.split("&")) {
+                final int separator = parameter.indexOf('=');
+                if (separator > 0) {
+                    parameters.put(URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8),
+                            URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Hash a content.
+     *
+     * @param content The content.
+     * @return The SHA-256 of the content.
+     */
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Stop the stub.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
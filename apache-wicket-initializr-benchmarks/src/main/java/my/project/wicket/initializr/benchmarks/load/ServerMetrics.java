@@ -0,0 +1,201 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * The memory and GC metrics of the initializr under load, read from its actuator, so they are the ones of the server
+ * and not of the driver, even when the server runs in a container.
+ * <p>
+ * Micrometer counts the allocated bytes at each young collection, so the allocations are accurate over a run of many
+ * collections, not over a few seconds.
+ */
+public final class ServerMetrics {
+
+    /**
+     * The metric of the bytes allocated in the young generation.
+     */
+    private static final String ALLOCATED = "jvm.gc.memory.allocated";
+
+    /**
+     * The metric of the GC pauses.
+     */
+    private static final String GC_PAUSE = "jvm.gc.pause";
+
+    /**
+     * The JSON mapper.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * The HTTP client.
+     */
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    /**
+     * The URI of the metrics endpoint.
+     */
+    private final URI metricsUri;
+
+    /**
+     * Constructor.
+     *
+     * @param baseUrl The base URL of the initializr.
+     */
+    public ServerMetrics(String baseUrl) {
+        this.metricsUri = URI.create((baseUrl.endsWith("/") ? baseUrl : baseUrl + "/") + "actuator/metrics/");
+    }
+
+    /**
+     * Read the metrics.
+     *
+     * @return The metrics, with NaN if the actuator doesn't expose them.
+     * @throws InterruptedException If the client is interrupted.
+     */
+    public Sample sample() throws InterruptedException {
+        final JsonNode allocated = read(ALLOCATED);
+        final JsonNode gcPause = read(GC_PAUSE);
+        if (allocated != null && gcPause == null) {
+            // The pauses are registered with the first collection
+            return new Sample(measurement(allocated, "COUNT"), 0, 0, 0);
+        }
+        return new Sample(measurement(allocated, "COUNT"), measurement(gcPause, "COUNT"),
+                measurement(gcPause, "TOTAL_TIME"), measurement(gcPause, "MAX"));
+    }
+
+    /**
+     * Read a metric.
+     *
+     * @param name The name of the metric.
+     * @return The metric, or null if it isn't exposed.
+     * @throws InterruptedException If the client is interrupted.
+     */
+    private JsonNode read(String name) throws InterruptedException {
+        try {
+            final HttpResponse<byte[]> response = httpClient.send(
+                    HttpRequest.newBuilder(metricsUri.resolve(name)).build(), HttpResponse.BodyHandlers.ofByteArray());
+            return response.statusCode() == 200 ? OBJECT_MAPPER.readTree(response.body()) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get a measurement of a metric.
+     *
+     * @param metric    The metric, or null.
+     * @param statistic The statistic of the measurement.
+     * @return The value of the measurement, or NaN if there is none.
+     */
+    private static double measurement(JsonNode metric, String statistic) {
+        if (metric != null) {
+            for (JsonNode measurement : metric.path("measurements")) {
+                if (statistic.equals(measurement.path("statistic").asText())) {
+                    return measurement.path("value").asDouble();
+                }
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * The metrics at a point in time.
+     */
+    public static final class Sample {
+
+        /**
+         * The bytes allocated since the start.
+         */
+        private final double allocatedBytes;
+
+        /**
+         * The number of GC pauses since the start.
+         */
+        private final double pauses;
+
+        /**
+         * The total time of the GC pauses since the start, in seconds.
+         */
+        private final double pauseSeconds;
+
+        /**
+         * The longest recent GC pause, in seconds.
+         */
+        private final double maxPauseSeconds;
+
+        /**
+         * Constructor.
+         *
+         * @param allocatedBytes  The bytes allocated since the start.
+         * @param pauses          The number of GC pauses since the start.
+         * @param pauseSeconds    The total time of the GC pauses since the start, in seconds.
+         * @param maxPauseSeconds The longest recent GC pause, in seconds.
+         */
+        private Sample(double allocatedBytes, double pauses, double pauseSeconds, double maxPauseSeconds) {
+            this.allocatedBytes = allocatedBytes;
+            this.pauses = pauses;
+            this.pauseSeconds = pauseSeconds;
+            this.maxPauseSeconds = maxPauseSeconds;
+        }
+
+        /**
+         * Get the bytes allocated since another sample.
+         *
+         * @param previous The previous sample.
+         * @return The allocated bytes.
+         */
+        public double getAllocatedBytesSince(Sample previous) {
+            return allocatedBytes - previous.allocatedBytes;
+        }
+
+        /**
+         * Get the number of GC pauses since another sample.
+         *
+         * @param previous The previous sample.
+         * @return The number of GC pauses.
+         */
+        public double getPausesSince(Sample previous) {
+            return pauses - previous.pauses;
+        }
+
+        /**
+         * Get the total time of the GC pauses since another sample.
+         *
+         * @param previous The previous sample.
+         * @return The time of the GC pauses, in milliseconds.
+         */
+        public double getPauseTimeSince(Sample previous) {
+            return (pauseSeconds - previous.pauseSeconds) * 1000;
+        }
+
+        /**
+         * Get the longest recent GC pause. Micrometer keeps it for about two minutes.
+         *
+         * @return The longest GC pause, in milliseconds.
+         */
+        public double getMaxPauseTime() {
+            return maxPauseSeconds * 1000;
+        }
+    }
+}
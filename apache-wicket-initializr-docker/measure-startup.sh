@@ -0,0 +1,29 @@
+#!/bin/sh
+#
+# Start an image of the initializr and report the time until it serves its first page: the cold start seen by the
+# users of a new replica, including the start of the container.
+#
+# Usage: measure-startup.sh <image> [port] [timeout in seconds]
+set -eu
+
+IMAGE=${1:?Usage: measure-startup.sh <image> [port] [timeout in seconds]}
+PORT=${2:-18080}
+TIMEOUT=${3:-120}
+
+START=$(date +%s%N)
+CONTAINER=$(docker run -d --rm -p "$PORT:8080" "$IMAGE")
+trap 'docker rm -f "$CONTAINER" > /dev/null 2>&1 || true' EXIT
+
+DEADLINE=$(($(date +%s) + TIMEOUT))
+until curl -fsS -o /dev/null "http://localhost:$PORT/"; do
+    if [ "$(date +%s)" -ge "$DEADLINE" ]; then
+        echo "$IMAGE didn't serve its first page in $TIMEOUT s" >&2
+        docker logs "$CONTAINER" >&2
+        exit 1
+    fi
+    sleep 0.05
+done
+END=$(date +%s%N)
+
+echo "Cold start of $IMAGE to the first served page: $(((END - START) / 1000000)) ms"
+docker logs "$CONTAINER" 2>&1 | grep "Started InitializrApplication" || true
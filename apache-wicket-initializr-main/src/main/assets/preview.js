@@ -0,0 +1,147 @@
+/*
+ * The preview of the generated project, next to the form of the home page.
+ *
+ * The files are listed again each time a field changes. A file keeps its tag while its content doesn't change, so
+ * only the files affected by the change are marked, and their content is downloaded when they are expanded.
+ */
+(() => {
+    'use strict';
+
+    const preview = document.getElementById('preview');
+    if (!preview) {
+        return;
+    }
+    const form = preview.closest('form');
+    const files = preview.querySelector('.preview-files');
+    const status = preview.querySelector('.preview-status');
+
+    // The contents by tag, the expanded files by path and the tags of the last listed files by path
+    const contents = new Map();
+    const expanded = new Set();
+    let tags = new Map();
+
+    let lastQuery = null;
+    let pending = null;
+    let timer = null;
+
+    const url = (parameters) => {
+        const target = new URL(preview.dataset.url, document.baseURI);
+        target.search = parameters.toString();
+        return target;
+    };
+
+    // The fields of the form; an empty required field takes its placeholder, so the preview shows before the form is filled
+    const parameters = () => {
+        const result = new URLSearchParams();
+        for (const field of form.querySelectorAll('[data-preview]')) {
+            let value;
+            if (field.tagName === 'SELECT') {
+                value = field.selectedIndex < 0 ? '' : field.options[field.selectedIndex].text;
+            } else if (field.type === 'radio') {
+                value = field.checked ? field.dataset.value : '';
+            } else {
+                value = field.value.trim() || (field.required ? field.placeholder : '');
+            }
+            if (value) {
+                result.set(field.dataset.preview, value);
+            }
+        }
+        return result;
+    };
+
+    const showContent = (file, content, retry) => {
+        if (contents.has(file.etag)) {
+            content.textContent = contents.get(file.etag);
+            return;
+        }
+        fetch(url(new URLSearchParams({file: file.etag})))
+            .then((response) => {
+                if (response.status === 404 && retry) {
+                    // The file expired on the server: list the files again, which keeps the expanded files
+                    lastQuery = null;
+                    refresh();
+                    return null;
+                }
+                return response.ok ? response.text() : Promise.reject(new Error(response.statusText));
+            })
+            .then((text) => {
+                if (text !== null) {
+                    contents.set(file.etag, text);
+                    content.textContent = text;
+                }
+            })
+            .catch(() => content.textContent = '');
+    };
+
+    const newItem = (file, changed) => {
+        const item = document.createElement('li');
+        item.className = 'list-group-item px-0';
+
+        const toggle = document.createElement('button');
+        toggle.type = 'button';
+        toggle.className = 'btn btn-link p-0 text-start text-decoration-none preview-path';
+        toggle.textContent = file.path;
+        item.append(toggle);
+
+        if (changed) {
+            const badge = document.createElement('span');
+            badge.className = 'badge text-bg-warning ms-2';
+            badge.textContent = preview.dataset.changed;
+            item.append(badge);
+        }
+
+        const content = document.createElement('pre');
+        content.className = 'mt-2 mb-0 p-2';
+        content.hidden = !expanded.has(file.path);
+        item.append(content);
+        if (!content.hidden) {
+            showContent(file, content, false);
+        }
+
+        toggle.addEventListener('click', () => {
+            content.hidden = !content.hidden;
+            if (content.hidden) {
+                expanded.delete(file.path);
+            } else {
+                expanded.add(file.path);
+                showContent(file, content, true);
+            }
+        });
+        return item;
+    };
+
+    const render = (listed) => {
+        const previous = tags;
+        tags = new Map(listed.files.map((file) => [file.path, file.etag]));
+        files.replaceChildren(...listed.files.map((file) => newItem(file, previous.size > 0 && previous.get(file.path) !== file.etag)));
+        status.textContent = '';
+    };
+
+    const refresh = () => {
+        const query = parameters();
+        if (query.toString() === lastQuery) {
+            return;
+        }
+        lastQuery = query.toString();
+        if (pending) {
+            pending.abort();
+        }
+        pending = new AbortController();
+        fetch(url(query), {signal: pending.signal, headers: {Accept: 'application/json'}})
+            .then((response) => response.ok ? response.json() : Promise.reject(new Error(response.statusText)))
+            .then(render)
+            .catch((error) => {
+                if (error.name !== 'AbortError') {
+                    status.textContent = preview.dataset.invalid;
+                }
+            });
+    };
+
+    // The choices refresh the preview at once, the typing only once it pauses
+    form.addEventListener('change', refresh);
+    form.addEventListener('input', () => {
+        clearTimeout(timer);
+        timer = setTimeout(refresh, 250);
+    });
+    refresh();
+})();
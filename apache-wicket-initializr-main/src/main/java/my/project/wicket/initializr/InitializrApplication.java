@@ -22,16 +22,37 @@ import de.agilecoders.wicket.extensions.markup.html.bootstrap.icon.FontAwesome6C
 import de.agilecoders.wicket.extensions.markup.html.bootstrap.icon.FontAwesomeSettings;
 import de.agilecoders.wicket.themes.markup.html.bootswatch.BootswatchTheme;
 import de.agilecoders.wicket.themes.markup.html.bootswatch.BootswatchThemeProvider;
+import my.project.wicket.initializr.assets.StaticAssets;
+import my.project.wicket.initializr.configurations.InitializrRuntimeHints;
+import my.project.wicket.initializr.localization.IndexedStringResourceLoader;
+import my.project.wicket.initializr.pages.HomePage;
+import my.project.wicket.initializr.pages.Packaging;
+import my.project.wicket.initializr.resources.BatchGenerationResourceReference;
+import my.project.wicket.initializr.resources.GenerationJobResourceReference;
+import my.project.wicket.initializr.resources.ProjectArchiveResourceReference;
+import my.project.wicket.initializr.resources.ProjectPreviewResourceReference;
+import my.project.wicket.initializr.resources.StaticAssetResourceReference;
+import my.project.wicket.initializr.resources.VersionSearchResourceReference;
+import my.project.wicket.initializr.stateless.StatelessPageGuard;
+import org.apache.wicket.Page;
 import org.apache.wicket.csp.CSPDirective;
+import org.apache.wicket.page.PageManager;
+import org.apache.wicket.pageStore.NoopPageStore;
+import org.apache.wicket.pageStore.RequestPageStore;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
-import org.springframework.context.annotation.Bean;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.NativeDetector;
+import org.wicketstuff.annotation.scan.AnnotatedMountScanner;
+
+import java.util.Arrays;
+import java.util.Set;
 
 /**
  * The initializr application.
  */
 @SpringBootApplication
+@ImportRuntimeHints(InitializrRuntimeHints.class)
 public class InitializrApplication extends WicketBootStandardWebApplication {
 
     /**
@@ -43,6 +64,17 @@ public class InitializrApplication extends WicketBootStandardWebApplication {
         new SpringApplicationBuilder().sources(InitializrApplication.class).run(args);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The home page is given explicitly: the candidates annotated with {@code @WicketHomePage} are found by scanning
+     * the classpath, which finds nothing in a native image.
+     */
+    @Override
+    public Class<? extends Page> getHomePage() {
+        return HomePage.class;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -50,6 +82,11 @@ public class InitializrApplication extends WicketBootStandardWebApplication {
     protected void init() {
         super.init();
 
+        // The pages are mounted by scanning the classpath for their @MountPath, except in a native image
+        if (NativeDetector.inNativeImage()) {
+            new AnnotatedMountScanner().scanClass(HomePage.class).mount(this);
+        }
+
         // Add the CSP rules for the Google Fonts
         getCspSettings().blocking().add(CSPDirective.STYLE_SRC, "'self'", "fonts.googleapis.com");
         getCspSettings().blocking().add(CSPDirective.FONT_SRC, "fonts.gstatic.com");
@@ -62,13 +99,33 @@ public class InitializrApplication extends WicketBootStandardWebApplication {
         final BootstrapSettings settings = new BootstrapSettings();
         settings.setThemeProvider(new BootswatchThemeProvider(BootswatchTheme.Zephyr));
         Bootstrap.install(this, settings);
-    }
 
-    /**
-     * The template for the REST calls to Maven Central.
-     */
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+        // The messages of the home page are resolved once for each locale, and the descriptions of the packagings must
+        // be there for all of them
+        IndexedStringResourceLoader.install(this, HomePage.class)
+                .getIndex()
+                .requireKeys(Arrays.stream(Packaging.values()).map(Packaging::getKey).toList());
+
+        // The pages are stateless: nothing is kept between the requests, so no session and no page store are needed
+        setPageManagerProvider(() -> new PageManager(new RequestPageStore(new NoopPageStore())));
+        getComponentPostOnBeforeRenderListeners().add(new StatelessPageGuard(Set.of(HomePage.class)));
+
+        // Mount the resource streaming the generated projects
+        mountResource(ProjectArchiveResourceReference.MOUNT_PATH, ProjectArchiveResourceReference.get());
+        mountResource(GenerationJobResourceReference.MOUNT_PATH, GenerationJobResourceReference.get());
+
+        // Mount the API generating the batches of projects
+        mountResource(BatchGenerationResourceReference.MOUNT_PATH, BatchGenerationResourceReference.get());
+
+        // Mount the resource previewing the projects next to the form
+        mountResource(ProjectPreviewResourceReference.MOUNT_PATH, ProjectPreviewResourceReference.get());
+
+        // Mount the resource searching the versions as they are typed
+        mountResource(VersionSearchResourceReference.MOUNT_PATH, VersionSearchResourceReference.get());
+
+        // Mount the resource serving the static assets prepared at build time, loaded now so a build without them fails
+        // at startup instead of at the first page
+        StaticAssets.get();
+        mountResource(StaticAssetResourceReference.MOUNT_PATH, StaticAssetResourceReference.get());
     }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.archives;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * The content of a ZIP entry, already compressed and with its CRC-32, ready to be written as is by
+ * {@link ZipArchiveWriter}. The content is stored instead of deflated when the compression doesn't make it smaller.
+ */
+public final class CompressedContent implements Serializable {
+
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The ZIP method of the stored contents.
+     */
+    static final int STORED = 0;
+
+    /**
+     * The ZIP method of the deflated contents.
+     */
+    static final int DEFLATED = 8;
+
+    /**
+     * The size of the buffer of the compression.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The ZIP method of the content.
+     */
+    private final int method;
+
+    /**
+     * The CRC-32 of the uncompressed content.
+     */
+    private final long crc;
+
+    /**
+     * The size of the uncompressed content.
+     */
+    private final long size;
+
+    /**
+     * The compressed content.
+     */
+    private final byte[] data;
+
+    /**
+     * Constructor.
+     *
+     * @param method The ZIP method of the content.
+     * @param crc    The CRC-32 of the uncompressed content.
+     * @param size   The size of the uncompressed content.
+     * @param data   The compressed content.
+     */
+    private CompressedContent(int method, long crc, long size, byte[] data) {
+        this.method = method;
+        this.crc = crc;
+        this.size = size;
+        this.data = data;
+    }
+
+    /**
+     * Compress a content with the best compression, for the contents compressed once and written many times.
+     *
+     * @param content The uncompressed content, which must not be modified afterwards.
+     * @return The compressed content.
+     */
+    public static CompressedContent of(byte[] content) {
+        final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            return compress(content, deflater);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Compress a content.
+     *
+     * @param content  The uncompressed content, which must not be modified afterwards.
+     * @param deflater The deflater, without ZLIB header, reset before being used.
+     * @return The compressed content.
+     */
+    static CompressedContent compress(byte[] content, Deflater deflater) {
+        final CRC32 crc = new CRC32();
+        crc.update(content);
+
+        deflater.reset();
+        deflater.setInput(content);
+        deflater.finish();
+        final ByteArrayOutputStream deflated = new ByteArrayOutputStream(content.length / 2 + 64);
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        while (!deflater.finished()) {
+            deflated.write(buffer, 0, deflater.deflate(buffer));
+        }
+
+        if (deflated.size() >= content.length) {
+            return new CompressedContent(STORED, crc.getValue(), content.length, content);
+        }
+        return new CompressedContent(DEFLATED, crc.getValue(), content.length, deflated.toByteArray());
+    }
+
+    /**
+     * Get the ZIP method of the content.
+     *
+     * @return The ZIP method of the content.
+     */
+    int getMethod() {
+        return method;
+    }
+
+    /**
+     * Get the CRC-32 of the uncompressed content.
+     *
+     * @return The CRC-32 of the uncompressed content.
+     */
+    long getCrc() {
+        return crc;
+    }
+
+    /**
+     * Get the size of the uncompressed content.
+     *
+     * @return The size of the uncompressed content.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Get the size of the compressed content.
+     *
+     * @return The size of the compressed content.
+     */
+    public int getCompressedSize() {
+        return data.length;
+    }
+
+    /**
+     * Get the compressed content, which must not be modified.
+     *
+     * @return The compressed content.
+     */
+    byte[] getData() {
+        return data;
+    }
+}
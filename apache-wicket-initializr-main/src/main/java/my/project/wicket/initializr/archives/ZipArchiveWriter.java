@@ -0,0 +1,314 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.archives;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.Deflater;
+import java.util.zip.ZipException;
+
+/**
+ * A writer of ZIP archives splicing compressed contents as is, instead of compressing every entry again as
+ * {@link java.util.zip.ZipOutputStream} does.
+ * <p>
+ * The contents compressed in advance, and the entries of other archives, are copied without being inflated or
+ * deflated. The other contents are compressed in memory before being written, so every local header has the sizes and
+ * the CRC-32 of its entry. The archives have no ZIP64 extension: they are limited to 65535 entries and 4 GB.
+ */
+public final class ZipArchiveWriter {
+
+    /**
+     * The signature of the local file headers.
+     */
+    private static final int LOCAL_HEADER = 0x04034b50;
+
+    /**
+     * The signature of the central directory headers.
+     */
+    private static final int CENTRAL_HEADER = 0x02014b50;
+
+    /**
+     * The signature of the end of the central directory.
+     */
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+
+    /**
+     * The size of a local file header, without the name and the extra field.
+     */
+    private static final int LOCAL_HEADER_SIZE = 30;
+
+    /**
+     * The size of a central directory header, without the name, the extra field and the comment.
+     */
+    private static final int CENTRAL_HEADER_SIZE = 46;
+
+    /**
+     * The size of the end of the central directory, without the comment.
+     */
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+
+    /**
+     * The flag of the names encoded in UTF-8.
+     */
+    private static final int UTF8_FLAG = 0x0800;
+
+    /**
+     * The largest value of the 16 bits fields.
+     */
+    private static final int MAX_SHORT = 0xffff;
+
+    /**
+     * The largest value of the 32 bits fields.
+     */
+    private static final long MAX_INT = 0xffffffffL;
+
+    /**
+     * The output stream of the archive.
+     */
+    private final OutputStream outputStream;
+
+    /**
+     * The time of the entries, in MS-DOS format.
+     */
+    private final int dosTime;
+
+    /**
+     * The date of the entries, in MS-DOS format.
+     */
+    private final int dosDate;
+
+    /**
+     * The deflater of the contents not compressed in advance, created on the first use.
+     */
+    private Deflater deflater;
+
+    /**
+     * The headers of the central directory, written at the end of the archive.
+     */
+    private final ByteArrayOutputStream centralDirectory = new ByteArrayOutputStream();
+
+    /**
+     * The number of entries.
+     */
+    private int entries;
+
+    /**
+     * The number of bytes written.
+     */
+    private long offset;
+
+    /**
+     * True once the central directory is written.
+     */
+    private boolean finished;
+
+    /**
+     * Constructor.
+     *
+     * @param outputStream The output stream of the archive, which is neither flushed nor closed by the writer.
+     * @param time         The time of the entries, from 1980.
+     */
+    public ZipArchiveWriter(OutputStream outputStream, LocalDateTime time) {
+        if (time.getYear() < 1980) {
+            throw new IllegalArgumentException("The ZIP archives can't have entries before 1980: " + time);
+        }
+        this.outputStream = outputStream;
+        this.dosTime = time.getHour() << 11 | time.getMinute() << 5 | time.getSecond() >> 1;
+        this.dosDate = (time.getYear() - 1980) << 9 | time.getMonthValue() << 5 | time.getDayOfMonth();
+    }
+
+    /**
+     * Write an entry, compressed with the default compression.
+     *
+     * @param name    The name of the entry.
+     * @param content The uncompressed content, which must not be modified afterwards.
+     * @throws IOException If the entry can't be written.
+     */
+    public void write(String name, byte[] content) throws IOException {
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        }
+        write(name, CompressedContent.compress(content, deflater));
+    }
+
+    /**
+     * Write an entry compressed in advance, without compressing it again.
+     *
+     * @param name    The name of the entry.
+     * @param content The compressed content.
+     * @throws IOException If the entry can't be written.
+     */
+    public void write(String name, CompressedContent content) throws IOException {
+        writeEntry(name.getBytes(StandardCharsets.UTF_8), content.getMethod(), dosTime, dosDate, content.getCrc(),
+                content.getSize(), content.getData(), 0, content.getCompressedSize());
+    }
+
+    /**
+     * Copy the entries of another archive, without inflating them. The entries keep their names, their times and
+     * their compressions.
+     *
+     * @param archive The other archive, without ZIP64 extension.
+     * @throws IOException If the other archive is invalid or if the entries can't be written.
+     */
+    public void copy(byte[] archive) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(archive).order(ByteOrder.LITTLE_ENDIAN);
+        int end = archive.length - END_OF_CENTRAL_DIRECTORY_SIZE;
+        while (end >= 0 && buffer.getInt(end) != END_OF_CENTRAL_DIRECTORY) {
+            end--;
+        }
+        if (end < 0) {
+            throw new ZipException("End of the central directory not found");
+        }
+
+        final int count = Short.toUnsignedInt(buffer.getShort(end + 10));
+        int header = buffer.getInt(end + 16);
+        for (int i = 0; i < count; i++) {
+            if (header < 0 || header > archive.length - CENTRAL_HEADER_SIZE || buffer.getInt(header) != CENTRAL_HEADER) {
+                throw new ZipException("Invalid central directory header at " + header);
+            }
+            final int method = Short.toUnsignedInt(buffer.getShort(header + 10));
+            final int time = Short.toUnsignedInt(buffer.getShort(header + 12));
+            final int date = Short.toUnsignedInt(buffer.getShort(header + 14));
+            final long crc = Integer.toUnsignedLong(buffer.getInt(header + 16));
+            final int compressedSize = buffer.getInt(header + 20);
+            final long size = Integer.toUnsignedLong(buffer.getInt(header + 24));
+            final int nameLength = Short.toUnsignedInt(buffer.getShort(header + 28));
+            final int extraLength = Short.toUnsignedInt(buffer.getShort(header + 30));
+            final int commentLength = Short.toUnsignedInt(buffer.getShort(header + 32));
+            final int local = buffer.getInt(header + 42);
+            final byte[] name = new byte[nameLength];
+            buffer.get(header + CENTRAL_HEADER_SIZE, name);
+
+            if (local < 0 || local > archive.length - LOCAL_HEADER_SIZE || buffer.getInt(local) != LOCAL_HEADER) {
+                throw new ZipException("Invalid local file header at " + local);
+            }
+            final int data = local + LOCAL_HEADER_SIZE + Short.toUnsignedInt(buffer.getShort(local + 26))
+                    + Short.toUnsignedInt(buffer.getShort(local + 28));
+            if (compressedSize < 0 || data > archive.length - compressedSize) {
+                throw new ZipException("Invalid size of the entry " + new String(name, StandardCharsets.UTF_8));
+            }
+            writeEntry(name, method, time, date, crc, size, archive, data, compressedSize);
+            header += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+    }
+
+    /**
+     * Write the central directory. The output stream is left open.
+     *
+     * @throws IOException If the central directory can't be written.
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (deflater != null) {
+            deflater.end();
+        }
+        final ByteBuffer end = newBuffer(END_OF_CENTRAL_DIRECTORY_SIZE)
+                .putInt(END_OF_CENTRAL_DIRECTORY)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putShort((short) entries)
+                .putShort((short) entries)
+                .putInt(centralDirectory.size())
+                .putInt((int) offset)
+                .putShort((short) 0);
+        centralDirectory.writeTo(outputStream);
+        outputStream.write(end.array());
+    }
+
+    /**
+     * Write an entry and keep its header for the central directory.
+     *
+     * @param name           The name of the entry, in UTF-8.
+     * @param method         The ZIP method of the content.
+     * @param time           The time of the entry, in MS-DOS format.
+     * @param date           The date of the entry, in MS-DOS format.
+     * @param crc            The CRC-32 of the uncompressed content.
+     * @param size           The size of the uncompressed content.
+     * @param data           The bytes containing the compressed content.
+     * @param start          The offset of the compressed content in the bytes.
+     * @param compressedSize The size of the compressed content.
+     * @throws IOException If the entry can't be written.
+     */
+    private void writeEntry(byte[] name, int method, int time, int date, long crc, long size,
+                            byte[] data, int start, int compressedSize) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("The archive is finished");
+        }
+        if (entries == MAX_SHORT || name.length > MAX_SHORT || size > MAX_INT
+                || offset + LOCAL_HEADER_SIZE + name.length + compressedSize > MAX_INT) {
+            throw new ZipException("The archive needs the ZIP64 extension");
+        }
+        final int version = method == CompressedContent.STORED ? 10 : 20;
+
+        final ByteBuffer local = newBuffer(LOCAL_HEADER_SIZE)
+                .putInt(LOCAL_HEADER)
+                .putShort((short) version)
+                .putShort((short) UTF8_FLAG)
+                .putShort((short) method)
+                .putShort((short) time)
+                .putShort((short) date)
+                .putInt((int) crc)
+                .putInt(compressedSize)
+                .putInt((int) size)
+                .putShort((short) name.length)
+                .putShort((short) 0);
+        outputStream.write(local.array());
+        outputStream.write(name);
+        outputStream.write(data, start, compressedSize);
+
+        final ByteBuffer central = newBuffer(CENTRAL_HEADER_SIZE)
+                .putInt(CENTRAL_HEADER)
+                .putShort((short) 20)
+                .putShort((short) version)
+                .putShort((short) UTF8_FLAG)
+                .putShort((short) method)
+                .putShort((short) time)
+                .putShort((short) date)
+                .putInt((int) crc)
+                .putInt(compressedSize)
+                .putInt((int) size)
+                .putShort((short) name.length)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putInt(0)
+                .putInt((int) offset);
+        centralDirectory.write(central.array());
+        centralDirectory.write(name);
+
+        entries++;
+        offset += LOCAL_HEADER_SIZE + name.length + compressedSize;
+    }
+
+    /**
+     * Create a little-endian buffer.
+     *
+     * @param size The size of the buffer.
+     * @return The buffer.
+     */
+    private static ByteBuffer newBuffer(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.assets;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The build step preparing the static assets. Each asset is minified, named after the hash of its content and
+ * compressed, so the server only has to copy bytes and the browsers can keep the assets forever. The step is run by
+ * Maven after the compilation, with the directory of the sources and the directory of the output as arguments.
+ */
+public final class AssetBuilder {
+
+    /**
+     * The name of the manifest mapping the names of the assets to their fingerprinted names.
+     */
+    public static final String MANIFEST = "manifest.properties";
+
+    /**
+     * The extension of the compressed assets.
+     */
+    public static final String GZIP_EXTENSION = ".gz";
+
+    /**
+     * The number of hexadecimal digits of the hash kept in the names.
+     */
+    private static final int FINGERPRINT_LENGTH = 16;
+
+    /**
+     * Constructor.
+     */
+    private AssetBuilder() {
+    }
+
+    /**
+     * The main method.
+     *
+     * @param args The directory of the sources and the directory of the output.
+     * @throws IOException If an asset can't be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: AssetBuilder <source directory> <output directory>");
+        }
+        build(Path.of(args[0]), Path.of(args[1]));
+    }
+
+    /**
+     * Prepare all the assets of a directory.
+     *
+     * @param sourceDirectory The directory of the sources.
+     * @param outputDirectory The directory of the output.
+     * @throws IOException If an asset can't be read or written.
+     */
+    public static void build(Path sourceDirectory, Path outputDirectory) throws IOException {
+        final List<Path> sources;
+        try (Stream<Path> files = Files.list(sourceDirectory)) {
+            sources = files.filter(Files::isRegularFile).sorted().toList();
+        }
+
+        Files.createDirectories(outputDirectory);
+        final TreeMap<String, String> manifest = new TreeMap<>();
+        for (Path source : sources) {
+            final String name = source.getFileName().toString();
+            final String content = Files.readString(source, StandardCharsets.UTF_8);
+            final byte[] minified = AssetMinifier.minify(name, content).getBytes(StandardCharsets.UTF_8);
+            final String fingerprintedName = fingerprint(name, minified);
+            Files.write(outputDirectory.resolve(fingerprintedName), minified);
+
+            // The compressed variant is only kept when it saves something
+            final byte[] compressed = gzip(minified);
+            if (compressed.length < minified.length) {
+                Files.write(outputDirectory.resolve(fingerprintedName + GZIP_EXTENSION), compressed);
+            }
+            manifest.put(name, fingerprintedName);
+            System.out.printf("%s -> %s (%d -> %d bytes, %d gzipped)%n", name, fingerprintedName,
+                    content.getBytes(StandardCharsets.UTF_8).length, minified.length, compressed.length);
+        }
+
+        final Properties properties = new Properties();
+        properties.putAll(manifest);
+        try (OutputStream out = Files.newOutputStream(outputDirectory.resolve(MANIFEST))) {
+            properties.store(out, "Generated by " + AssetBuilder.class.getSimpleName());
+        }
+    }
+
+    /**
+     * Insert the hash of the content of an asset in its name: "style.css" becomes "style.0123456789abcdef.css".
+     *
+     * @param name    The name of the asset.
+     * @param content The content of the asset.
+     * @return The fingerprinted name.
+     */
+    static String fingerprint(String name, byte[] content) {
+        final String hash;
+        try {
+            hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content))
+                    .substring(0, FINGERPRINT_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        final int dot = name.lastIndexOf('.');
+        return dot < 0 ? name + '.' + hash : name.substring(0, dot) + '.' + hash + name.substring(dot);
+    }
+
+    /**
+     * Compress some bytes with the best compression level, the cost is only paid once at build time.
+     *
+     * @param content The bytes.
+     * @return The compressed bytes.
+     */
+    private static byte[] gzip(byte[] content) {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.assets;
+
+import java.util.regex.Pattern;
+
+/**
+ * The minifier of the static assets. It only removes what is safe to remove without parsing the documents: comments,
+ * indentation and, for the SVG images, the metadata written by the editors.
+ */
+public final class AssetMinifier {
+
+    /**
+     * The characters around which the spaces are useless in a style sheet.
+     */
+    private static final String CSS_SEPARATORS = "{};,>";
+
+    /**
+     * The comments of a SVG image.
+     */
+    private static final Pattern SVG_COMMENT = Pattern.compile("<!--.*?-->", Pattern.DOTALL);
+
+    /**
+     * The elements added by Inkscape to keep the state of its editor.
+     */
+    private static final Pattern SVG_EDITOR_ELEMENT = Pattern.compile("<sodipodi:namedview\\b[^>]*/>", Pattern.DOTALL);
+
+    /**
+     * The attributes added by Inkscape to keep the state of its editor.
+     */
+    private static final Pattern SVG_EDITOR_ATTRIBUTE = Pattern.compile("\\s+(?:inkscape|sodipodi):[\\w.-]+=\"[^\"]*\"");
+
+    /**
+     * The spaces inside the tags of a SVG image.
+     */
+    private static final Pattern SVG_TAG_SPACES = Pattern.compile("\\s+(?=[^<>]*>)");
+
+    /**
+     * The spaces before the end of a tag.
+     */
+    private static final Pattern SVG_TAG_END_SPACES = Pattern.compile("\\s+(/?>)");
+
+    /**
+     * Constructor.
+     */
+    private AssetMinifier() {
+    }
+
+    /**
+     * Minify an asset according to its name. The assets with an unknown extension are returned unchanged.
+     *
+     * @param name    The name of the asset.
+     * @param content The content of the asset.
+     * @return The minified content.
+     */
+    public static String minify(String name, String content) {
+        if (name.endsWith(".css")) {
+            return minifyCss(content);
+        }
+        if (name.endsWith(".svg")) {
+            return minifySvg(content);
+        }
+        return content;
+    }
+
+    /**
+     * Minify a style sheet. The comments are removed, the runs of spaces are collapsed and the spaces around the
+     * separators are removed. The strings are copied as is.
+     *
+     * @param css The style sheet.
+     * @return The minified style sheet.
+     */
+    public static String minifyCss(String css) {
+        final StringBuilder minified = new StringBuilder(css.length());
+        boolean pendingSpace = false;
+        int i = 0;
+        while (i < css.length()) {
+            final char c = css.charAt(i);
+            if (c == '/' && i + 1 < css.length() && css.charAt(i + 1) == '*') {
+                final int end = css.indexOf("*/", i + 2);
+                i = end < 0 ? css.length() : end + 2;
+                pendingSpace = true;
+            } else if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                i++;
+            } else {
+                if (pendingSpace && !minified.isEmpty() && !isCssSeparator(minified.charAt(minified.length() - 1))
+                        && !isCssSeparator(c)) {
+                    minified.append(' ');
+                }
+                pendingSpace = false;
+                if (c == '"' || c == '\'') {
+                    final int end = endOfString(css, i);
+                    minified.append(css, i, end);
+                    i = end;
+                } else {
+                    if (c == '}' && !minified.isEmpty() && minified.charAt(minified.length() - 1) == ';') {
+                        // The last declaration of a block does not need its semicolon
+                        minified.setLength(minified.length() - 1);
+                    }
+                    minified.append(c);
+                    i++;
+                }
+            }
+        }
+        return minified.toString();
+    }
+
+    /**
+     * Minify a SVG image. The comments and the metadata of the editors are removed and the spaces between the
+     * attributes are collapsed. The text of the elements is kept as is.
+     *
+     * @param svg The SVG image.
+     * @return The minified SVG image.
+     */
+    public static String minifySvg(String svg) {
+        String minified = SVG_COMMENT.matcher(svg).replaceAll("");
+        minified = SVG_EDITOR_ELEMENT.matcher(minified).replaceAll("");
+        minified = SVG_EDITOR_ATTRIBUTE.matcher(minified).replaceAll("");
+        minified = SVG_TAG_SPACES.matcher(minified).replaceAll(" ");
+        minified = SVG_TAG_END_SPACES.matcher(minified).replaceAll("$1");
+        // Only the spaces between the prolog and the root element remain outside the tags
+        return minified.replaceAll("\\?>\\s+<", "?><").strip();
+    }
+
+    /**
+     * Tell if the spaces around a character are useless in a style sheet.
+     *
+     * @param c The character.
+     * @return True if the spaces are useless.
+     */
+    private static boolean isCssSeparator(char c) {
+        return CSS_SEPARATORS.indexOf(c) >= 0;
+    }
+
+    /**
+     * Find the end of a string in a style sheet.
+     *
+     * @param css   The style sheet.
+     * @param start The index of the opening quote.
+     * @return The index after the closing quote.
+     */
+    private static int endOfString(String css, int start) {
+        final char quote = css.charAt(start);
+        int i = start + 1;
+        while (i < css.length()) {
+            final char c = css.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return css.length();
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.assets;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The static assets prepared by the {@link AssetBuilder}. They are loaded once from the classpath and kept in memory
+ * with their compressed variant.
+ */
+public final class StaticAssets {
+
+    /**
+     * The folder of the assets in the classpath.
+     */
+    private static final String FOLDER = "assets/";
+
+    /**
+     * The content types of the assets, by extension.
+     */
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "css", "text/css",
+            "svg", "image/svg+xml",
+            "js", "text/javascript");
+
+    /**
+     * The fingerprinted names of the assets, by name.
+     */
+    private final Map<String, String> fingerprintedNames;
+
+    /**
+     * The assets, by fingerprinted name.
+     */
+    private final Map<String, Asset> assets;
+
+    /**
+     * Constructor.
+     *
+     * @param fingerprintedNames The fingerprinted names of the assets, by name.
+     * @param assets             The assets, by fingerprinted name.
+     */
+    private StaticAssets(Map<String, String> fingerprintedNames, Map<String, Asset> assets) {
+        this.fingerprintedNames = fingerprintedNames;
+        this.assets = assets;
+    }
+
+    /**
+     * Get the static assets, loaded on the first call.
+     *
+     * @return The static assets.
+     */
+    public static StaticAssets get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Get the fingerprinted name of an asset.
+     *
+     * @param name The name of the asset, e.g. "style.css".
+     * @return The fingerprinted name of the asset, e.g. "style.0123456789abcdef.css".
+     * @throws IllegalArgumentException If the asset doesn't exist.
+     */
+    public String getFingerprintedName(String name) {
+        final String fingerprintedName = fingerprintedNames.get(name);
+        if (fingerprintedName == null) {
+            throw new IllegalArgumentException("Unknown asset: " + name);
+        }
+        return fingerprintedName;
+    }
+
+    /**
+     * Find an asset.
+     *
+     * @param fingerprintedName The fingerprinted name of the asset.
+     * @return The asset or null if it doesn't exist.
+     */
+    public Asset find(String fingerprintedName) {
+        return assets.get(fingerprintedName);
+    }
+
+    /**
+     * Load the assets listed in the manifest.
+     *
+     * @param classLoader The class loader of the assets.
+     * @return The assets.
+     */
+    static StaticAssets load(ClassLoader classLoader) {
+        final Properties manifest = new Properties();
+        try (InputStream in = classLoader.getResourceAsStream(FOLDER + AssetBuilder.MANIFEST)) {
+            if (in == null) {
+                // The assets are built by the exec-maven-plugin, which an IDE build alone doesn't run
+                throw new IllegalStateException("The static assets are missing: " + FOLDER + AssetBuilder.MANIFEST
+                        + " isn't in the classpath. They are built from src/main/assets at the Maven phase"
+                        + " 'process-classes', run 'mvn process-classes' (or a later phase like 'package') before"
+                        + " starting the application");
+            }
+            manifest.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final Map<String, String> fingerprintedNames = new HashMap<>();
+        final Map<String, Asset> assets = new HashMap<>();
+        for (String name : manifest.stringPropertyNames()) {
+            final String fingerprintedName = manifest.getProperty(name);
+            final byte[] content = read(classLoader, fingerprintedName);
+            if (content == null) {
+                throw new IllegalStateException("The static asset " + fingerprintedName + " is missing");
+            }
+            final byte[] gzippedContent = read(classLoader, fingerprintedName + AssetBuilder.GZIP_EXTENSION);
+            fingerprintedNames.put(name, fingerprintedName);
+            assets.put(fingerprintedName, new Asset(contentTypeOf(name), content, gzippedContent));
+        }
+        return new StaticAssets(Map.copyOf(fingerprintedNames), Map.copyOf(assets));
+    }
+
+    /**
+     * Read an asset from the classpath.
+     *
+     * @param classLoader The class loader of the assets.
+     * @param name        The name of the file.
+     * @return The content of the file or null if it doesn't exist.
+     */
+    private static byte[] read(ClassLoader classLoader, String name) {
+        try (InputStream in = classLoader.getResourceAsStream(FOLDER + name)) {
+            return in == null ? null : in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Get the content type of an asset.
+     *
+     * @param name The name of the asset.
+     * @return The content type.
+     */
+    private static String contentTypeOf(String name) {
+        final String extension = name.substring(name.lastIndexOf('.') + 1);
+        return CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+    }
+
+    /**
+     * A static asset.
+     */
+    public static final class Asset {
+
+        /**
+         * The content type.
+         */
+        private final String contentType;
+
+        /**
+         * The minified content.
+         */
+        private final byte[] content;
+
+        /**
+         * The gzipped content, null if compressing the asset doesn't save anything.
+         */
+        private final byte[] gzippedContent;
+
+        /**
+         * Constructor.
+         *
+         * @param contentType    The content type.
+         * @param content        The minified content.
+         * @param gzippedContent The gzipped content, may be null.
+         */
+        Asset(String contentType, byte[] content, byte[] gzippedContent) {
+            this.contentType = contentType;
+            this.content = content;
+            this.gzippedContent = gzippedContent;
+        }
+
+        /**
+         * Get the content type.
+         *
+         * @return The content type.
+         */
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * Get the minified content. The array is shared and must not be modified.
+         *
+         * @return The minified content.
+         */
+        public byte[] getContent() {
+            return content;
+        }
+
+        /**
+         * Get the gzipped content. The array is shared and must not be modified.
+         *
+         * @return The gzipped content or null if the asset isn't compressed.
+         */
+        public byte[] getGzippedContent() {
+            return gzippedContent;
+        }
+    }
+
+    /**
+     * The holder of the unique instance, so the assets are loaded on first use.
+     */
+    private static final class Holder {
+
+        /**
+         * The unique instance.
+         */
+        private static final StaticAssets INSTANCE = load(StaticAssets.class.getClassLoader());
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.beans;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The coordinates of an artifact in Maven Central, without the version.
+ */
+public final class ArtifactCoordinates implements Serializable {
+
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Apache Wicket core.
+     */
+    public static final ArtifactCoordinates WICKET_CORE = new ArtifactCoordinates("org.apache.wicket", "wicket-core");
+
+    /**
+     * Spring Boot.
+     */
+    public static final ArtifactCoordinates SPRING_BOOT = new ArtifactCoordinates("org.springframework.boot", "spring-boot");
+
+    /**
+     * The Wicket Spring Boot starter.
+     */
+    public static final ArtifactCoordinates WICKET_SPRING_BOOT_STARTER = new ArtifactCoordinates("com.giffing.wicket.spring.boot.starter", "wicket-spring-boot-starter");
+
+    /**
+     * The Jakarta Servlet API.
+     */
+    public static final ArtifactCoordinates SERVLET_API = new ArtifactCoordinates("jakarta.servlet", "jakarta.servlet-api");
+
+    /**
+     * The Maven war plugin.
+     */
+    public static final ArtifactCoordinates MAVEN_WAR_PLUGIN = new ArtifactCoordinates("org.apache.maven.plugins", "maven-war-plugin");
+
+    /**
+     * The group id.
+     */
+    private final String groupId;
+
+    /**
+     * The artifact id.
+     */
+    private final String artifactId;
+
+    /**
+     * Constructor.
+     *
+     * @param groupId    The group id.
+     * @param artifactId The artifact id.
+     */
+    public ArtifactCoordinates(String groupId, String artifactId) {
+        this.groupId = Objects.requireNonNull(groupId, "groupId");
+        this.artifactId = Objects.requireNonNull(artifactId, "artifactId");
+    }
+
+    /**
+     * Parse coordinates written as 'groupId:artifactId'.
+     *
+     * @param coordinates The coordinates.
+     * @return The parsed coordinates.
+     */
+    public static ArtifactCoordinates parse(String coordinates) {
+        final int separator = coordinates.indexOf(':');
+        if (separator <= 0 || separator == coordinates.length() - 1 || coordinates.indexOf(':', separator + 1) >= 0) {
+            throw new IllegalArgumentException("Invalid coordinates, 'groupId:artifactId' expected: " + coordinates);
+        }
+        return new ArtifactCoordinates(coordinates.substring(0, separator), coordinates.substring(separator + 1));
+    }
+
+    /**
+     * Get the group id.
+     *
+     * @return The group id.
+     */
+    public String getGroupId() {
+        return groupId;
+    }
+
+    /**
+     * Get the artifact id.
+     *
+     * @return The artifact id.
+     */
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ArtifactCoordinates)) {
+            return false;
+        }
+        final ArtifactCoordinates other = (ArtifactCoordinates) o;
+        return groupId.equals(other.groupId) && artifactId.equals(other.artifactId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return 31 * groupId.hashCode() + artifactId.hashCode();
+    }
+
+    /**
+     * Get the coordinates as 'groupId:artifactId'.
+     *
+     * @return The coordinates.
+     */
+    @Override
+    public String toString() {
+        return groupId + ":" + artifactId;
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.beans;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The index of the versions of an artifact, built once for each refresh of the catalog and never modified, so it is
+ * read by the requests without lock and without sorting or filtering the versions again.
+ * <p>
+ * The versions are sorted from the newest to the oldest, in the order of {@link ArtifactVersionKey}, and the lookups
+ * by major and minor version, by exact version and by prefix are binary searches.
+ */
+public final class ArtifactVersionIndex {
+
+    /**
+     * The index of an artifact without version.
+     */
+    public static final ArtifactVersionIndex EMPTY = new ArtifactVersionIndex(List.of());
+
+    /**
+     * Any minor version.
+     */
+    private static final int ANY = -1;
+
+    /**
+     * The order of the versions, from the newest to the oldest.
+     */
+    private static final Comparator<ArtifactVersionViewBean> NEWEST_FIRST = (version1, version2) ->
+            version2.getKey().compareTo(version1.getKey());
+
+    /**
+     * The versions, from the newest to the oldest.
+     */
+    private final List<ArtifactVersionViewBean> versions;
+
+    /**
+     * The versions without the pre-releases, from the newest to the oldest.
+     */
+    private final List<ArtifactVersionViewBean> releases;
+
+    /**
+     * The newest release of each major version, from the newest major version.
+     */
+    private final List<ArtifactVersionViewBean> latestReleases;
+
+    /**
+     * The raw versions, in alphabetical order.
+     */
+    private final String[] sortedVersions;
+
+    /**
+     * The position in {@link #versions} of each raw version of {@link #sortedVersions}.
+     */
+    private final int[] positions;
+
+    /**
+     * Build the index of versions.
+     *
+     * @param versions The versions, in any order.
+     */
+    public ArtifactVersionIndex(List<ArtifactVersionViewBean> versions) {
+        final List<ArtifactVersionViewBean> sorted = new ArrayList<>(versions);
+        sorted.sort(NEWEST_FIRST);
+        this.versions = List.copyOf(sorted);
+
+        final List<ArtifactVersionViewBean> releases = new ArrayList<>();
+        final List<ArtifactVersionViewBean> latestReleases = new ArrayList<>();
+        for (ArtifactVersionViewBean version : this.versions) {
+            if (!version.getKey().isPreRelease()) {
+                if (releases.isEmpty() || releases.get(releases.size() - 1).getMajor() != version.getMajor()) {
+                    latestReleases.add(version);
+                }
+                releases.add(version);
+            }
+        }
+        this.releases = List.copyOf(releases);
+        this.latestReleases = List.copyOf(latestReleases);
+
+        final Integer[] order = new Integer[this.versions.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(position -> this.versions.get(position).getVersion()));
+        this.sortedVersions = new String[order.length];
+        this.positions = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            positions[i] = order[i];
+            sortedVersions[i] = this.versions.get(order[i]).getVersion();
+        }
+    }
+
+    /**
+     * Get all the versions.
+     *
+     * @return The versions, from the newest to the oldest. The list never changes.
+     */
+    public List<ArtifactVersionViewBean> getVersions() {
+        return versions;
+    }
+
+    /**
+     * Get the versions which are not pre-releases (alpha, beta, milestone, release candidate or unknown qualifier).
+     *
+     * @return The releases, from the newest to the oldest.
+     */
+    public List<ArtifactVersionViewBean> getReleases() {
+        return releases;
+    }
+
+    /**
+     * Get the versions of a major version.
+     *
+     * @param major The major version.
+     * @return The versions, from the newest to the oldest, empty if there is none.
+     */
+    public List<ArtifactVersionViewBean> getVersions(int major) {
+        return range(versions, major, ANY);
+    }
+
+    /**
+     * Get the versions of a minor version.
+     *
+     * @param major The major version.
+     * @param minor The minor version.
+     * @return The versions, from the newest to the oldest, empty if there is none.
+     */
+    public List<ArtifactVersionViewBean> getVersions(int major, int minor) {
+        return range(versions, major, minor);
+    }
+
+    /**
+     * Get the newest release of each major version.
+     *
+     * @return The releases, from the newest major version.
+     */
+    public List<ArtifactVersionViewBean> getLatestReleases() {
+        return latestReleases;
+    }
+
+    /**
+     * Get the newest version.
+     *
+     * @return The newest version, pre-releases included, or null if there is none.
+     */
+    public ArtifactVersionViewBean getLatest() {
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+
+    /**
+     * Get the newest release.
+     *
+     * @return The newest release, or null if there is none.
+     */
+    public ArtifactVersionViewBean getLatestRelease() {
+        return latestReleases.isEmpty() ? null : latestReleases.get(0);
+    }
+
+    /**
+     * Get the newest release of a major version.
+     *
+     * @param major The major version.
+     * @return The newest release, or null if there is none.
+     */
+    public ArtifactVersionViewBean getLatestRelease(int major) {
+        final List<ArtifactVersionViewBean> majorReleases = range(latestReleases, major, ANY);
+        return majorReleases.isEmpty() ? null : majorReleases.get(0);
+    }
+
+    /**
+     * Get the version proposed by default: the newest release, or the newest pre-release if there is no release yet.
+     *
+     * @return The default version, or null if there is none.
+     */
+    public ArtifactVersionViewBean getDefault() {
+        final ArtifactVersionViewBean latestRelease = getLatestRelease();
+        return latestRelease != null ? latestRelease : getLatest();
+    }
+
+    /**
+     * Find a version.
+     *
+     * @param version The raw version.
+     * @return The version, or null if it isn't in the index.
+     */
+    public ArtifactVersionViewBean find(String version) {
+        final int index = Arrays.binarySearch(sortedVersions, version);
+        return index < 0 ? null : versions.get(positions[index]);
+    }
+
+    /**
+     * Search the versions starting with a prefix, like '10.' or '9.0.0-M'.
+     *
+     * @param prefix      The prefix of the raw versions.
+     * @param preReleases True to include the pre-releases.
+     * @param limit       The maximum number of versions.
+     * @return The versions, from the newest to the oldest.
+     */
+    public List<ArtifactVersionViewBean> search(String prefix, boolean preReleases, int limit) {
+        if (prefix.isEmpty()) {
+            final List<ArtifactVersionViewBean> candidates = preReleases ? versions : releases;
+            return candidates.subList(0, Math.min(limit, candidates.size()));
+        }
+
+        // The versions with the prefix are contiguous in alphabetical order, from the first one not before the prefix
+        int start = 0;
+        int high = sortedVersions.length;
+        while (start < high) {
+            final int middle = (start + high) >>> 1;
+            if (sortedVersions[middle].compareTo(prefix) < 0) {
+                start = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        int end = start;
+        while (end < sortedVersions.length && sortedVersions[end].startsWith(prefix)) {
+            end++;
+        }
+        final int[] matches = Arrays.copyOfRange(positions, start, end);
+        Arrays.sort(matches);
+
+        final List<ArtifactVersionViewBean> result = new ArrayList<>(Math.min(limit, matches.length));
+        for (int i = 0; i < matches.length && result.size() < limit; i++) {
+            final ArtifactVersionViewBean version = versions.get(matches[i]);
+            if (preReleases || !version.getKey().isPreRelease()) {
+                result.add(version);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Check if the index has no version.
+     *
+     * @return True if the index has no version.
+     */
+    public boolean isEmpty() {
+        return versions.isEmpty();
+    }
+
+    /**
+     * Get the versions of a major or minor version in a list sorted from the newest to the oldest.
+     *
+     * @param sorted The versions, from the newest to the oldest.
+     * @param major  The major version.
+     * @param minor  The minor version, or {@link #ANY}.
+     * @return The versions, a view of the list.
+     */
+    private static List<ArtifactVersionViewBean> range(List<ArtifactVersionViewBean> sorted, int major, int minor) {
+        return sorted.subList(search(sorted, major, minor, false), search(sorted, major, minor, true));
+    }
+
+    /**
+     * Find the bound of the versions of a major or minor version in a list sorted from the newest to the oldest.
+     *
+     * @param sorted    The versions, from the newest to the oldest.
+     * @param major     The major version.
+     * @param minor     The minor version, or {@link #ANY}.
+     * @param inclusive False for the first version of the major or minor version, true for the first version after.
+     * @return The position of the bound.
+     */
+    private static int search(List<ArtifactVersionViewBean> sorted, int major, int minor, boolean inclusive) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final ArtifactVersionKey key = sorted.get(middle).getKey();
+            int comparison = Integer.compare(key.getNumber(0), major);
+            if (comparison == 0 && minor != ANY) {
+                comparison = Integer.compare(key.getNumber(1), minor);
+            }
+            if (comparison > 0 || (inclusive && comparison == 0)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
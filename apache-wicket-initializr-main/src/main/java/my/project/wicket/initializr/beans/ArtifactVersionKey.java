@@ -0,0 +1,254 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.beans;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The key of an artifact version, parsed once from the raw version. The numeric components and the qualifier are
+ * kept as primitives so two keys are compared without allocation.
+ */
+public final class ArtifactVersionKey implements Comparable<ArtifactVersionKey>, Serializable {
+
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The rank of an alpha version.
+     */
+    public static final int ALPHA = 0;
+
+    /**
+     * The rank of a beta version.
+     */
+    public static final int BETA = 1;
+
+    /**
+     * The rank of a milestone version.
+     */
+    public static final int MILESTONE = 2;
+
+    /**
+     * The rank of a release candidate.
+     */
+    public static final int RELEASE_CANDIDATE = 3;
+
+    /**
+     * The rank of a version with an unknown qualifier, after the known pre-releases.
+     */
+    public static final int UNKNOWN = 4;
+
+    /**
+     * The rank of a release.
+     */
+    public static final int RELEASE = 5;
+
+    /**
+     * The empty numeric components.
+     */
+    private static final int[] NO_NUMBERS = new int[0];
+
+    /**
+     * The numeric components of the version, before the qualifier.
+     */
+    private final int[] numbers;
+
+    /**
+     * The rank of the qualifier.
+     */
+    private final int qualifierRank;
+
+    /**
+     * The number following the qualifier, like 2 in 'RC2'.
+     */
+    private final int qualifierNumber;
+
+    /**
+     * The qualifier in lower case, only used to compare the unknown qualifiers.
+     */
+    private final String qualifier;
+
+    /**
+     * Constructor.
+     *
+     * @param numbers         The numeric components of the version.
+     * @param qualifierRank   The rank of the qualifier.
+     * @param qualifierNumber The number following the qualifier.
+     * @param qualifier       The qualifier in lower case.
+     */
+    private ArtifactVersionKey(int[] numbers, int qualifierRank, int qualifierNumber, String qualifier) {
+        this.numbers = numbers;
+        this.qualifierRank = qualifierRank;
+        this.qualifierNumber = qualifierNumber;
+        this.qualifier = qualifier;
+    }
+
+    /**
+     * Parse a raw version like '10.2.0', '9.0.0-M5' or '1.5-RC1'.
+     *
+     * @param version The raw version.
+     * @return The key of the version.
+     */
+    public static ArtifactVersionKey parse(String version) {
+        final int length = version.length();
+        int[] numbers = new int[4];
+        int count = 0;
+        int index = 0;
+
+        // The numeric components, separated by dots
+        while (index < length && isDigit(version.charAt(index))) {
+            int number = 0;
+            while (index < length && isDigit(version.charAt(index))) {
+                number = number * 10 + (version.charAt(index++) - '0');
+            }
+            if (count == numbers.length) {
+                numbers = Arrays.copyOf(numbers, count * 2);
+            }
+            numbers[count++] = number;
+            if (index + 1 < length && version.charAt(index) == '.' && isDigit(version.charAt(index + 1))) {
+                index++;
+            } else {
+                break;
+            }
+        }
+
+        // The qualifier, like '-RC1', '.M2' or 'beta3'
+        while (index < length && !Character.isLetterOrDigit(version.charAt(index))) {
+            index++;
+        }
+        final int qualifierStart = index;
+        while (index < length && Character.isLetter(version.charAt(index))) {
+            index++;
+        }
+        final String qualifier = version.substring(qualifierStart, index).toLowerCase();
+        while (index < length && !isDigit(version.charAt(index))) {
+            index++;
+        }
+        int qualifierNumber = 0;
+        while (index < length && isDigit(version.charAt(index))) {
+            qualifierNumber = qualifierNumber * 10 + (version.charAt(index++) - '0');
+        }
+
+        final int rank = rankOf(qualifier);
+        return new ArtifactVersionKey(count == 0 ? NO_NUMBERS : Arrays.copyOf(numbers, count), rank, qualifierNumber,
+                rank == UNKNOWN ? qualifier : "");
+    }
+
+    /**
+     * Get the rank of a qualifier.
+     *
+     * @param qualifier The qualifier in lower case.
+     * @return The rank of the qualifier.
+     */
+    private static int rankOf(String qualifier) {
+        switch (qualifier) {
+            case "":
+            case "final":
+            case "ga":
+            case "release":
+                return RELEASE;
+            case "alpha":
+            case "a":
+                return ALPHA;
+            case "beta":
+            case "b":
+                return BETA;
+            case "m":
+            case "milestone":
+                return MILESTONE;
+            case "rc":
+            case "cr":
+                return RELEASE_CANDIDATE;
+            default:
+                return UNKNOWN;
+        }
+    }
+
+    /**
+     * Check if a character is an ASCII digit.
+     *
+     * @param c The character.
+     * @return true if the character is a digit, false otherwise.
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Get a numeric component of the version. The missing components are 0.
+     *
+     * @param index The index of the component.
+     * @return The numeric component.
+     */
+    public int getNumber(int index) {
+        return index < numbers.length ? numbers[index] : 0;
+    }
+
+    /**
+     * Get the number of numeric components.
+     *
+     * @return The number of numeric components.
+     */
+    public int getNumberCount() {
+        return numbers.length;
+    }
+
+    /**
+     * Get the rank of the qualifier, from {@link #ALPHA} to {@link #RELEASE}.
+     *
+     * @return The rank of the qualifier.
+     */
+    public int getQualifierRank() {
+        return qualifierRank;
+    }
+
+    /**
+     * Check if the version is a pre-release (alpha, beta, milestone, release candidate or unknown qualifier).
+     *
+     * @return true if the version is a pre-release, false otherwise.
+     */
+    public boolean isPreRelease() {
+        return qualifierRank != RELEASE;
+    }
+
+    /**
+     * Compare with another key, from the oldest to the newest version.
+     *
+     * @param other The other key.
+     * @return A negative number, zero or a positive number if this version is older, equal or newer.
+     */
+    @Override
+    public int compareTo(ArtifactVersionKey other) {
+        final int count = Math.max(numbers.length, other.numbers.length);
+        for (int i = 0; i < count; i++) {
+            final int comparison = Integer.compare(getNumber(i), other.getNumber(i));
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        int comparison = Integer.compare(qualifierRank, other.qualifierRank);
+        if (comparison == 0 && qualifierRank == UNKNOWN) {
+            comparison = qualifier.compareTo(other.qualifier);
+        }
+        if (comparison == 0) {
+            comparison = Integer.compare(qualifierNumber, other.qualifierNumber);
+        }
+        return comparison;
+    }
+}
@@ -12,6 +12,11 @@ public class ArtifactVersionViewBean implements Serializable {
      */
     private final String version;
 
+    /**
+     * The key of the version, parsed once.
+     */
+    private final ArtifactVersionKey key;
+
     /**
      * Constructor.
      *
@@ -19,6 +24,7 @@ public class ArtifactVersionViewBean implements Serializable {
      */
     public ArtifactVersionViewBean(String version) {
         this.version = version;
+        this.key = ArtifactVersionKey.parse(version);
     }
 
     /**
@@ -27,7 +33,16 @@ public class ArtifactVersionViewBean implements Serializable {
      * @return The major version.
      */
     public int getMajor() {
-        return Integer.parseInt(version.split("\\.")[0]);
+        return key.getNumber(0);
+    }
+
+    /**
+     * Get the key of the version, to compare the versions.
+     *
+     * @return The key of the version.
+     */
+    public ArtifactVersionKey getKey() {
+        return key;
     }
 
     /**
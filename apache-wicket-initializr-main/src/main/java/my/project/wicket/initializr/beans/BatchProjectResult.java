@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.beans;
+
+/**
+ * The result of the generation of one project of a batch: its archive, or the reason of its failure.
+ */
+public final class BatchProjectResult {
+
+    /**
+     * The index of the project in the batch.
+     */
+    private final int index;
+
+    /**
+     * The project.
+     */
+    private final ProjectViewBean project;
+
+    /**
+     * The archive, null if the generation failed.
+     */
+    private final byte[] archive;
+
+    /**
+     * The reason of the failure, null if the generation succeeded.
+     */
+    private final String error;
+
+    /**
+     * The duration of the generation, in milliseconds.
+     */
+    private final long durationMillis;
+
+    /**
+     * Constructor.
+     *
+     * @param index          The index of the project in the batch.
+     * @param project        The project.
+     * @param archive        The archive, null if the generation failed.
+     * @param error          The reason of the failure, null if the generation succeeded.
+     * @param durationMillis The duration of the generation, in milliseconds.
+     */
+    public BatchProjectResult(int index, ProjectViewBean project, byte[] archive, String error, long durationMillis) {
+        this.index = index;
+        this.project = project;
+        this.archive = archive;
+        this.error = error;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Get the index of the project in the batch.
+     *
+     * @return The index of the project in the batch.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Get the project.
+     *
+     * @return The project.
+     */
+    public ProjectViewBean getProject() {
+        return project;
+    }
+
+    /**
+     * Get the archive.
+     *
+     * @return The archive, null if the generation failed.
+     */
+    public byte[] getArchive() {
+        return archive;
+    }
+
+    /**
+     * Get the reason of the failure.
+     *
+     * @return The reason of the failure, null if the generation succeeded.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Get the duration of the generation.
+     *
+     * @return The duration of the generation, in milliseconds.
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Tell if the generation succeeded.
+     *
+     * @return True if the archive was generated.
+     */
+    public boolean isSuccess() {
+        return archive != null;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.beans;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A generation of a project scheduled on the workers.
+ * <p>
+ * A job submitted while a worker is idle is streamed: the worker generates the archive in a pipe, and the request
+ * copies the pipe in its response, so the archive is never held in memory and the request thread doesn't generate
+ * it. A job submitted while all the workers are busy is polled: it waits in the queue, then the worker generates the
+ * archive in memory and the job keeps it until it is downloaded or expires.
+ */
+public final class GenerationJob {
+
+    /**
+     * The size of the pipe of a streamed job.
+     */
+    private static final int PIPE_SIZE = 64 * 1024;
+
+    /**
+     * The identifier of the job.
+     */
+    private final String id;
+
+    /**
+     * The identifier of the client which submitted the job.
+     */
+    private final String clientId;
+
+    /**
+     * The name of the file of the archive.
+     */
+    private final String fileName;
+
+    /**
+     * The archive read by the request, null for a polled job.
+     */
+    private final ArchiveInputStream input;
+
+    /**
+     * The archive written by the worker, null for a polled job.
+     */
+    private final PipedOutputStream output;
+
+    /**
+     * The archive of a polled job, completed by the worker. A streamed job completes it with null, or with the
+     * failure of the generation.
+     */
+    private final CompletableFuture<byte[]> archive = new CompletableFuture<>();
+
+    /**
+     * The failure of the generation, null while it is running or if it succeeded.
+     */
+    private volatile Throwable failure;
+
+    /**
+     * The instant the job finished, null while it is running.
+     */
+    private volatile Instant finished;
+
+    /**
+     * Constructor.
+     *
+     * @param id       The identifier of the job.
+     * @param clientId The identifier of the client which submitted the job.
+     * @param fileName The name of the file of the archive.
+     * @param streamed True if the archive is streamed to the request, false if it is kept for the polling client.
+     */
+    public GenerationJob(String id, String clientId, String fileName, boolean streamed) {
+        this.id = id;
+        this.clientId = clientId;
+        this.fileName = fileName;
+        if (streamed) {
+            this.input = new ArchiveInputStream();
+            try {
+                this.output = new PipedOutputStream(input);
+            } catch (IOException e) {
+                // A new pipe is never already connected
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            this.input = null;
+            this.output = null;
+        }
+    }
+
+    /**
+     * Get the identifier of the job.
+     *
+     * @return The identifier of the job.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Get the identifier of the client which submitted the job.
+     *
+     * @return The identifier of the client.
+     */
+    public String getClientId() {
+        return clientId;
+    }
+
+    /**
+     * Get the name of the file of the archive.
+     *
+     * @return The name of the file.
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Tell if the archive is streamed to the request.
+     *
+     * @return True if the archive is streamed, false if the client polls the job.
+     */
+    public boolean isStreamed() {
+        return input != null;
+    }
+
+    /**
+     * Get the archive of a streamed job, read by the request while the worker generates it. The stream fails at its
+     * end if the generation failed, and closing it stops the generation.
+     *
+     * @return The archive.
+     */
+    public InputStream getInput() {
+        return input;
+    }
+
+    /**
+     * Get the stream receiving the archive of a streamed job, written by the worker. Writing blocks while the request
+     * hasn't read the previous bytes, and fails once the request has closed the archive.
+     *
+     * @return The stream receiving the archive.
+     */
+    public OutputStream getOutput() {
+        return output;
+    }
+
+    /**
+     * Get the archive of a polled job, completed once the project is generated.
+     *
+     * @return The archive.
+     */
+    public CompletableFuture<byte[]> getArchive() {
+        return archive;
+    }
+
+    /**
+     * Get the instant the job finished.
+     *
+     * @return The instant the job finished, null while it is running.
+     */
+    public Instant getFinished() {
+        return finished;
+    }
+
+    /**
+     * Complete the job: a polled job with its archive, a streamed job with null.
+     *
+     * @param bytes The archive.
+     */
+    public void complete(byte[] bytes) {
+        finished = Instant.now();
+        archive.complete(bytes);
+    }
+
+    /**
+     * Complete the job with a failure. A streamed job must fail before its output is closed, so the request knows
+     * its archive is truncated.
+     *
+     * @param failure The failure.
+     */
+    public void fail(Throwable failure) {
+        this.failure = failure;
+        finished = Instant.now();
+        archive.completeExceptionally(failure);
+    }
+
+    /**
+     * The archive of a streamed job, failing at its end if the generation failed.
+     */
+    private final class ArchiveInputStream extends PipedInputStream {
+
+        /**
+         * Constructor.
+         */
+        private ArchiveInputStream() {
+            super(PIPE_SIZE);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public synchronized int read() throws IOException {
+            final int b = super.read();
+            if (b < 0) {
+                checkGenerated();
+            }
+            return b;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public synchronized int read(byte[] b, int off, int len) throws IOException {
+            final int count = super.read(b, off, len);
+            if (count < 0) {
+                checkGenerated();
+            }
+            return count;
+        }
+
+        /**
+         * Fail at the end of the archive if the generation failed, instead of ending a truncated archive.
+         *
+         * @throws IOException If the generation failed.
+         */
+        private void checkGenerated() throws IOException {
+            if (failure != null) {
+                throw new IOException("The generation of " + fileName + " failed", failure);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.beans;
+
+/**
+ * A file of the preview of a generated project.
+ */
+public final class ProjectPreviewFile {
+
+    /**
+     * The path of the file in the archive.
+     */
+    private final String path;
+
+    /**
+     * The tag of the content of the file, which changes only when the content changes.
+     */
+    private final String etag;
+
+    /**
+     * Constructor.
+     *
+     * @param path The path of the file in the archive.
+     * @param etag The tag of the content of the file.
+     */
+    public ProjectPreviewFile(String path, String etag) {
+        this.path = path;
+        this.etag = etag;
+    }
+
+    /**
+     * Get the path of the file in the archive.
+     *
+     * @return The path of the file in the archive.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Get the tag of the content of the file.
+     *
+     * @return The tag of the content of the file, which changes only when the content changes.
+     */
+    public String getEtag() {
+        return etag;
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.beans;
+
+import my.project.wicket.initializr.pages.Packaging;
+import my.project.wicket.initializr.pages.ProjectType;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The description of a project to generate.
+ */
+public class ProjectViewBean implements Serializable {
+
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The pattern of the group.
+     */
+    public static final String GROUP_PATTERN = "^[a-zA-Z_][a-zA-Z0-9_]*(\\.[a-zA-Z_][a-zA-Z0-9_]*)*$";
+
+    /**
+     * The pattern of the artifact. The artifact is the root folder of the generated archive, so it can't start with a
+     * dot: '.' and '..' would put the entries outside of the folder where the archive is extracted.
+     */
+    public static final String ARTIFACT_PATTERN = "^[a-zA-Z0-9_\\-][a-zA-Z0-9_\\-\\.]*$";
+
+    /**
+     * The pattern of the package name.
+     */
+    public static final String PACKAGE_NAME_PATTERN = "^[a-z]+(\\.[a-z][a-z0-9_]*)*$";
+
+    /**
+     * The compiled pattern of the group.
+     */
+    private static final Pattern GROUP = Pattern.compile(GROUP_PATTERN);
+
+    /**
+     * The compiled pattern of the artifact.
+     */
+    private static final Pattern ARTIFACT = Pattern.compile(ARTIFACT_PATTERN);
+
+    /**
+     * The compiled pattern of the package name.
+     */
+    private static final Pattern PACKAGE_NAME = Pattern.compile(PACKAGE_NAME_PATTERN);
+
+    /**
+     * The group of the project.
+     */
+    private final String group;
+
+    /**
+     * The artifact of the project.
+     */
+    private final String artifact;
+
+    /**
+     * The name of the project.
+     */
+    private final String name;
+
+    /**
+     * The description of the project.
+     */
+    private final String description;
+
+    /**
+     * The package name of the project.
+     */
+    private final String packageName;
+
+    /**
+     * The type of the project.
+     */
+    private final ProjectType projectType;
+
+    /**
+     * The packaging of the project.
+     */
+    private final Packaging packaging;
+
+    /**
+     * The version of Apache Wicket.
+     */
+    private final String wicketVersion;
+
+    /**
+     * Constructor.
+     *
+     * @param group         The group of the project.
+     * @param artifact      The artifact of the project.
+     * @param name          The name of the project.
+     * @param description   The description of the project.
+     * @param packageName   The package name of the project.
+     * @param projectType   The type of the project.
+     * @param packaging     The packaging of the project.
+     * @param wicketVersion The version of Apache Wicket.
+     */
+    public ProjectViewBean(String group, String artifact, String name, String description, String packageName,
+                           ProjectType projectType, Packaging packaging, String wicketVersion) {
+        this.group = group;
+        this.artifact = artifact;
+        this.name = name == null || name.isBlank() ? artifact : name;
+        this.description = description == null ? "" : description;
+        this.packageName = packageName;
+        this.projectType = projectType;
+        this.packaging = packaging;
+        this.wicketVersion = wicketVersion;
+    }
+
+    /**
+     * Validate the project description with the same rules as the home page form. The version of Apache Wicket must
+     * be one of the versions proposed by the form.
+     *
+     * @param wicketVersions The index of the known versions of Apache Wicket.
+     * @return The list of errors, empty if the project description is valid.
+     */
+    public List<String> validate(ArtifactVersionIndex wicketVersions) {
+        final List<String> errors = new ArrayList<>();
+        if (group == null || !GROUP.matcher(group).matches()) {
+            errors.add("Invalid group: " + group);
+        }
+        if (artifact == null || !ARTIFACT.matcher(artifact).matches()) {
+            errors.add("Invalid artifact: " + artifact);
+        }
+        if (packageName == null || !PACKAGE_NAME.matcher(packageName).matches()) {
+            errors.add("Invalid package name: " + packageName);
+        }
+        if (projectType == null) {
+            errors.add("Invalid project type");
+        }
+        if (packaging == null) {
+            errors.add("Invalid packaging");
+        }
+        if (wicketVersion == null || wicketVersion.isBlank()) {
+            errors.add("Invalid Wicket version");
+        } else if (wicketVersions.find(wicketVersion) == null) {
+            errors.add("Unknown Wicket version: " + wicketVersion);
+        }
+        return errors;
+    }
+
+    /**
+     * Get the group of the project.
+     *
+     * @return The group of the project.
+     */
+    public String getGroup() {
+        return group;
+    }
+
+    /**
+     * Get the artifact of the project.
+     *
+     * @return The artifact of the project.
+     */
+    public String getArtifact() {
+        return artifact;
+    }
+
+    /**
+     * Get the name of the project.
+     *
+     * @return The name of the project.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the description of the project.
+     *
+     * @return The description of the project.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Get the package name of the project.
+     *
+     * @return The package name of the project.
+     */
+    public String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * Get the type of the project.
+     *
+     * @return The type of the project.
+     */
+    public ProjectType getProjectType() {
+        return projectType;
+    }
+
+    /**
+     * Get the packaging of the project.
+     *
+     * @return The packaging of the project.
+     */
+    public Packaging getPackaging() {
+        return packaging;
+    }
+
+    /**
+     * Get the version of Apache Wicket.
+     *
+     * @return The version of Apache Wicket.
+     */
+    public String getWicketVersion() {
+        return wicketVersion;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.beans;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A snapshot of the catalog of the versions, persisted to start without the network.
+ */
+public final class VersionCatalogSnapshot {
+
+    /**
+     * The instant of the refresh which produced the versions.
+     */
+    private final Instant refreshed;
+
+    /**
+     * The sorted versions by artifact.
+     */
+    private final Map<String, List<ArtifactVersionViewBean>> versions;
+
+    /**
+     * Constructor.
+     *
+     * @param refreshed The instant of the refresh which produced the versions.
+     * @param versions  The sorted versions by artifact.
+     */
+    public VersionCatalogSnapshot(Instant refreshed, Map<String, List<ArtifactVersionViewBean>> versions) {
+        this.refreshed = refreshed;
+        this.versions = Map.copyOf(versions);
+    }
+
+    /**
+     * Get the instant of the refresh which produced the versions.
+     *
+     * @return The instant of the refresh.
+     */
+    public Instant getRefreshed() {
+        return refreshed;
+    }
+
+    /**
+     * Get the sorted versions by artifact.
+     *
+     * @return The sorted versions by artifact.
+     */
+    public Map<String, List<ArtifactVersionViewBean>> getVersions() {
+        return versions;
+    }
+
+    /**
+     * Get the sorted versions of an artifact.
+     *
+     * @param artifact The artifact, as 'groupId:artifactId'.
+     * @return The sorted versions, empty if the artifact is unknown.
+     */
+    public List<ArtifactVersionViewBean> getVersions(String artifact) {
+        return versions.getOrDefault(artifact, List.of());
+    }
+}
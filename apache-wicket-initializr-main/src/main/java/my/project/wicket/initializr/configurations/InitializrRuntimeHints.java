@@ -0,0 +1,146 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.configurations;
+
+import my.project.wicket.initializr.pages.HomePage;
+import my.project.wicket.initializr.resources.BatchGenerationResource;
+import my.project.wicket.initializr.resources.GenerationJobResource;
+import my.project.wicket.initializr.resources.ProjectArchiveResource;
+import my.project.wicket.initializr.resources.ProjectPreviewResource;
+import my.project.wicket.initializr.services.IBatchGenerationService;
+import my.project.wicket.initializr.services.IGenerationSchedulerService;
+import my.project.wicket.initializr.services.IProjectGeneratorService;
+import my.project.wicket.initializr.services.IProjectPreviewService;
+import my.project.wicket.initializr.services.IVersionCatalogService;
+import org.apache.wicket.proxy.ILazyInitProxy;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The hints of the native image: what Wicket reaches by reflection, and the resources it loads from the classpath.
+ * Spring finds the beans at build time by itself, but not the pages, the markups and the bundles of Wicket.
+ * <p>
+ * Wicket creates the pages by reflection, resolves the property models and injects the {@code @SpringBean} fields
+ * through JDK proxies of their interfaces. The scopes of the package resources are loaded by name from their URLs.
+ */
+public class InitializrRuntimeHints implements RuntimeHintsRegistrar {
+
+    /**
+     * The pages, created by reflection and holding property models.
+     */
+    private static final List<Class<?>> PAGES = List.of(HomePage.class);
+
+    /**
+     * The resources with {@code @SpringBean} fields.
+     */
+    private static final List<Class<?>> INJECTED_RESOURCES = List.of(
+            ProjectArchiveResource.class,
+            GenerationJobResource.class,
+            BatchGenerationResource.class,
+            ProjectPreviewResource.class);
+
+    /**
+     * The types of the {@code @SpringBean} fields.
+     */
+    private static final List<Class<?>> INJECTED_SERVICES = List.of(
+            IVersionCatalogService.class,
+            IProjectGeneratorService.class,
+            IGenerationSchedulerService.class,
+            IBatchGenerationService.class,
+            IProjectPreviewService.class);
+
+    /**
+     * The interfaces added by Wicket to the proxies of the {@code @SpringBean} fields.
+     */
+    private static final List<TypeReference> PROXY_INTERFACES = List.of(
+            TypeReference.of(Serializable.class),
+            TypeReference.of(ILazyInitProxy.class),
+            TypeReference.of("org.apache.wicket.proxy.LazyInitProxyFactory$IWriteReplace"));
+
+    /**
+     * The scopes of the package resources linked from the pages, loaded by name when they are requested.
+     */
+    private static final List<String> RESOURCE_SCOPES = List.of(
+            "org.apache.wicket.resource.JQueryResourceReference",
+            "org.apache.wicket.ajax.AbstractDefaultAjaxBehavior",
+            "de.agilecoders.wicket.themes.markup.html.bootswatch.BootswatchCssReference",
+            "de.agilecoders.wicket.webjars.request.resource.WebjarsCssResourceReference",
+            "de.agilecoders.wicket.webjars.request.resource.WebjarsJavaScriptResourceReference");
+
+    /**
+     * The packages of the application and of the Wicket libraries, with their markups, bundles and package resources.
+     */
+    private static final List<String> PACKAGES = List.of(
+            "my/project/wicket/initializr",
+            "org/apache/wicket",
+            "de/agilecoders/wicket");
+
+    /**
+     * The extensions of the markups, bundles and package resources.
+     */
+    private static final List<String> PACKAGE_EXTENSIONS = List.of("html", "properties", "js", "css");
+
+    /**
+     * The other resources loaded from the classpath: the webjars with their versions, the templates of the projects,
+     * the assets and the cache configurations.
+     */
+    private static final List<String> RESOURCE_PATTERNS = List.of(
+            "META-INF/resources/webjars/**",
+            "META-INF/maven/org.webjars*/**/pom.properties",
+            "templates/**",
+            "assets/*",
+            "ehcache*.xml");
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> page : PAGES) {
+            hints.reflection().registerType(page,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+        for (Class<?> resource : INJECTED_RESOURCES) {
+            hints.reflection().registerType(resource, MemberCategory.DECLARED_FIELDS);
+        }
+        for (Class<?> service : INJECTED_SERVICES) {
+            final List<TypeReference> proxyInterfaces = new ArrayList<>();
+            proxyInterfaces.add(TypeReference.of(service));
+            proxyInterfaces.addAll(PROXY_INTERFACES);
+            hints.proxies().registerJdkProxy(proxyInterfaces.toArray(new TypeReference[0]));
+        }
+        for (String scope : RESOURCE_SCOPES) {
+            hints.reflection().registerType(TypeReference.of(scope));
+        }
+        for (String root : PACKAGES) {
+            for (String extension : PACKAGE_EXTENSIONS) {
+                hints.resources().registerPattern(root + "/*." + extension);
+                hints.resources().registerPattern(root + "/**/*." + extension);
+            }
+        }
+        for (String pattern : RESOURCE_PATTERNS) {
+            hints.resources().registerPattern(pattern);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.configurations;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import my.project.wicket.initializr.http.CircuitBreaker;
+import my.project.wicket.initializr.http.ResilientClientHttpRequestInterceptor;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * The configuration of the HTTP client calling Maven Central. The connections are pooled and kept alive, every step
+ * of a call has a timeout, and the calls go through a bulkhead and a circuit breaker, so a slow Maven Central can't
+ * hold the threads of the application.
+ */
+@Configuration
+public class MavenCentralClientConfiguration {
+
+    /**
+     * The name of Maven Central in the metrics.
+     */
+    private static final String SERVICE = "maven-central";
+
+    /**
+     * The pooled HTTP client.
+     *
+     * @param maxConnections           The maximum number of pooled connections.
+     * @param connectTimeout           The timeout to open a connection.
+     * @param readTimeout              The timeout between two packets of a response.
+     * @param connectionRequestTimeout The timeout to get a connection from the pool.
+     * @param idleTimeout              The time after which an idle connection is closed.
+     * @return The HTTP client.
+     */
+    @Bean
+    public CloseableHttpClient mavenCentralHttpClient(@Value("${initializr.maven-central.max-connections:10}") int maxConnections,
+                                                      @Value("${initializr.maven-central.connect-timeout:PT2S}") Duration connectTimeout,
+                                                      @Value("${initializr.maven-central.read-timeout:PT5S}") Duration readTimeout,
+                                                      @Value("${initializr.maven-central.connection-request-timeout:PT1S}") Duration connectionRequestTimeout,
+                                                      @Value("${initializr.maven-central.idle-timeout:PT1M}") Duration idleTimeout) {
+        final ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(readTimeout))
+                .build();
+        final RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                .setResponseTimeout(Timeout.of(readTimeout))
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(maxConnections)
+                        .setMaxConnPerRoute(maxConnections)
+                        .setDefaultConnectionConfig(connectionConfig)
+                        .build())
+                .setDefaultRequestConfig(requestConfig)
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build();
+    }
+
+    /**
+     * The circuit breaker of the calls to Maven Central.
+     *
+     * @param failureThreshold The number of consecutive failures opening the circuit.
+     * @param openDuration     The time during which the circuit stays open.
+     * @return The circuit breaker.
+     */
+    @Bean
+    public CircuitBreaker mavenCentralCircuitBreaker(@Value("${initializr.maven-central.circuit.failure-threshold:5}") int failureThreshold,
+                                                     @Value("${initializr.maven-central.circuit.open-duration:PT1M}") Duration openDuration) {
+        return new CircuitBreaker(failureThreshold, openDuration, Clock.systemUTC());
+    }
+
+    /**
+     * The template for the REST calls to Maven Central.
+     *
+     * @param builder               The builder of the template.
+     * @param httpClient            The pooled HTTP client.
+     * @param circuitBreaker        The circuit breaker of the calls.
+     * @param meterRegistry         The registry of the metrics.
+     * @param maxConcurrentRequests The maximum number of calls in progress.
+     * @param bulkheadWait          The maximum time to wait when all the calls are in progress.
+     * @return The template.
+     */
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient, CircuitBreaker circuitBreaker, MeterRegistry meterRegistry,
+                                     @Value("${initializr.maven-central.max-concurrent-requests:8}") int maxConcurrentRequests,
+                                     @Value("${initializr.maven-central.bulkhead-wait:PT0.5S}") Duration bulkheadWait) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .additionalInterceptors(new ResilientClientHttpRequestInterceptor(SERVICE, maxConcurrentRequests, bulkheadWait, circuitBreaker, meterRegistry))
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.configurations;
+
+import com.giffing.wicket.spring.boot.context.extensions.ApplicationInitExtension;
+import com.giffing.wicket.spring.boot.context.extensions.WicketApplicationInitConfiguration;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import my.project.wicket.initializr.metrics.RequestCycleMetricsListener;
+import my.project.wicket.initializr.services.IVersionCatalogService;
+import org.apache.wicket.protocol.http.WebApplication;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * The metrics of the application which are not provided by Spring Boot: the Wicket request cycles and the state of
+ * the catalog of versions. The outbound calls are timed by {@link MavenCentralClientConfiguration} and the caches by
+ * the JCache statistics.
+ */
+@ApplicationInitExtension
+public class MetricsConfiguration implements WicketApplicationInitConfiguration {
+
+    /**
+     * The registry of the metrics.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor.
+     *
+     * @param meterRegistry The registry of the metrics.
+     */
+    public MetricsConfiguration(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void init(WebApplication webApplication) {
+        webApplication.getRequestCycleListeners().add(new RequestCycleMetricsListener(meterRegistry));
+    }
+
+    /**
+     * The metrics of the catalog of versions.
+     *
+     * @param versionCatalogService The service providing the versions.
+     * @return The binder of the metrics.
+     */
+    @Bean
+    public MeterBinder versionCatalogMetrics(IVersionCatalogService versionCatalogService) {
+        return registry -> {
+            Gauge.builder("initializr.catalog.age", versionCatalogService, MetricsConfiguration::refreshAgeSeconds)
+                    .description("The time since the last successful refresh of the catalog")
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("initializr.catalog.revision", versionCatalogService, IVersionCatalogService::getRevision)
+                    .description("The revision of the catalog, increased when the versions change")
+                    .register(registry);
+            Gauge.builder("initializr.catalog.consecutive.failures", versionCatalogService, IVersionCatalogService::getConsecutiveFailureCount)
+                    .description("The number of refreshes failed since the last successful one")
+                    .register(registry);
+            FunctionCounter.builder("initializr.catalog.failures", versionCatalogService, IVersionCatalogService::getFailureCount)
+                    .description("The number of failed refreshes")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Get the time since the last successful refresh of the catalog.
+     *
+     * @param versionCatalogService The service providing the versions.
+     * @return The time in seconds, or NaN if the catalog was never refreshed.
+     */
+    private static double refreshAgeSeconds(IVersionCatalogService versionCatalogService) {
+        final Duration age = versionCatalogService.getRefreshAge();
+        return age == null ? Double.NaN : age.toMillis() / 1000.0;
+    }
+}
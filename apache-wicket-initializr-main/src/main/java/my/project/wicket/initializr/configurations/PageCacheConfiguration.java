@@ -0,0 +1,54 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.configurations;
+
+import my.project.wicket.initializr.filters.PageCacheFilter;
+import my.project.wicket.initializr.services.IVersionCatalogService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * The configuration of the cache of the rendered home page. The cache is disabled by default, it is enabled with the
+ * property 'initializr.page-cache.enabled'.
+ */
+@Configuration
+@ConditionalOnProperty(name = "initializr.page-cache.enabled", havingValue = "true")
+public class PageCacheConfiguration {
+
+    /**
+     * The filter serving the cached home page, before the Wicket filter.
+     *
+     * @param versionCatalogService The catalog of the versions.
+     * @param maxEntries            The maximum number of cached pages.
+     * @param maxPageSize           The maximum size of a cached page.
+     * @return The registration of the filter.
+     */
+    @Bean
+    public FilterRegistrationBean<PageCacheFilter> pageCacheFilter(IVersionCatalogService versionCatalogService,
+                                                                   @Value("${initializr.page-cache.max-entries:32}") int maxEntries,
+                                                                   @Value("${initializr.page-cache.max-page-size:256KB}") DataSize maxPageSize) {
+        final FilterRegistrationBean<PageCacheFilter> registration = new FilterRegistrationBean<>(
+                new PageCacheFilter(versionCatalogService, "/", maxEntries, (int) maxPageSize.toBytes()));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return registration;
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.filters;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A rendered page kept compressed, without its CSP nonce.
+ * <p>
+ * The body is split around the occurrences of the nonce and each part is compressed as raw deflate data, flushed to a
+ * byte boundary. A response is a gzip stream made of the compressed parts, with a new nonce between them as stored
+ * blocks, and a CRC-32 combined from the CRC-32 of the parts: the page is never compressed again.
+ */
+final class CachedPage {
+
+    /**
+     * The header of a gzip stream: deflate, no flag, no time, unknown OS.
+     */
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    /**
+     * An empty final stored block, ending a deflate stream.
+     */
+    private static final byte[] FINAL_BLOCK = {1, 0, 0, (byte) 0xff, (byte) 0xff};
+
+    /**
+     * The size of the header of a stored block.
+     */
+    private static final int STORED_BLOCK_HEADER = 5;
+
+    /**
+     * The size of the trailer of a gzip stream.
+     */
+    private static final int GZIP_TRAILER = 8;
+
+    /**
+     * The content type.
+     */
+    private final String contentType;
+
+    /**
+     * The headers, each value split around the nonce.
+     */
+    private final Map<String, List<String[]>> headers;
+
+    /**
+     * The compressed parts of the body, between the nonces.
+     */
+    private final byte[][] parts;
+
+    /**
+     * The uncompressed length of the parts.
+     */
+    private final long[] lengths;
+
+    /**
+     * The CRC-32 of the parts.
+     */
+    private final long[] crcs;
+
+    /**
+     * Constructor.
+     *
+     * @param contentType The content type.
+     * @param headers     The headers, each value split around the nonce.
+     * @param parts       The compressed parts of the body.
+     * @param lengths     The uncompressed length of the parts.
+     * @param crcs        The CRC-32 of the parts.
+     */
+    private CachedPage(String contentType, Map<String, List<String[]>> headers, byte[][] parts, long[] lengths, long[] crcs) {
+        this.contentType = contentType;
+        this.headers = headers;
+        this.parts = parts;
+        this.lengths = lengths;
+        this.crcs = crcs;
+    }
+
+    /**
+     * Keep a rendered page.
+     *
+     * @param contentType The content type.
+     * @param headers     The headers to replay.
+     * @param body        The body.
+     * @param nonce       The CSP nonce of the page, null if it has none.
+     * @return The kept page.
+     */
+    static CachedPage of(String contentType, Map<String, List<String>> headers, byte[] body, String nonce) {
+        final Map<String, List<String[]>> splitHeaders = new LinkedHashMap<>();
+        headers.forEach((name, values) -> {
+            final List<String[]> splitValues = new ArrayList<>(values.size());
+            for (String value : values) {
+                splitValues.add(nonce == null ? new String[]{value} : value.split(Pattern.quote(nonce), -1));
+            }
+            splitHeaders.put(name, splitValues);
+        });
+
+        final List<byte[]> bodyParts = split(body, nonce == null ? null : nonce.getBytes(StandardCharsets.US_ASCII));
+        final byte[][] parts = new byte[bodyParts.size()][];
+        final long[] lengths = new long[parts.length];
+        final long[] crcs = new long[parts.length];
+        final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                final byte[] part = bodyParts.get(i);
+                final CRC32 crc = new CRC32();
+                crc.update(part);
+                crcs[i] = crc.getValue();
+                lengths[i] = part.length;
+                parts[i] = deflate(deflater, part);
+            }
+        } finally {
+            deflater.end();
+        }
+        return new CachedPage(contentType, splitHeaders, parts, lengths, crcs);
+    }
+
+    /**
+     * Write the page in a response.
+     *
+     * @param response The response.
+     * @param gzip     True to write the body compressed with gzip.
+     * @param nonce    The CSP nonce of this response.
+     * @throws IOException If the page can't be written.
+     */
+    void write(HttpServletResponse response, boolean gzip, String nonce) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(contentType);
+        headers.forEach((name, values) -> {
+            for (String[] value : values) {
+                response.addHeader(name, String.join(nonce, value));
+            }
+        });
+
+        final byte[] nonceBytes = nonce.getBytes(StandardCharsets.US_ASCII);
+        final OutputStream outputStream = response.getOutputStream();
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+            response.setContentLengthLong(getGzipLength(nonceBytes.length));
+            writeGzip(outputStream, nonceBytes);
+        } else {
+            response.setContentLengthLong(getLength(nonceBytes.length));
+            writeInflated(outputStream, nonceBytes);
+        }
+    }
+
+    /**
+     * Write the body as a gzip stream.
+     *
+     * @param outputStream The output stream.
+     * @param nonce        The nonce.
+     * @throws IOException If the body can't be written.
+     */
+    private void writeGzip(OutputStream outputStream, byte[] nonce) throws IOException {
+        final CRC32 nonceCrc = new CRC32();
+        nonceCrc.update(nonce);
+
+        outputStream.write(GZIP_HEADER);
+        long crc = crcs[0];
+        outputStream.write(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            // The nonce as a stored block, then the next part
+            outputStream.write(new byte[]{0, (byte) nonce.length, (byte) (nonce.length >>> 8), (byte) ~nonce.length, (byte) (~nonce.length >>> 8)});
+            outputStream.write(nonce);
+            crc = Crc32Combiner.combine(crc, nonceCrc.getValue(), nonce.length);
+            outputStream.write(parts[i]);
+            crc = Crc32Combiner.combine(crc, crcs[i], lengths[i]);
+        }
+        outputStream.write(FINAL_BLOCK);
+
+        final long length = getLength(nonce.length);
+        outputStream.write(new byte[]{(byte) crc, (byte) (crc >>> 8), (byte) (crc >>> 16), (byte) (crc >>> 24),
+                (byte) length, (byte) (length >>> 8), (byte) (length >>> 16), (byte) (length >>> 24)});
+    }
+
+    /**
+     * Write the body uncompressed.
+     *
+     * @param outputStream The output stream.
+     * @param nonce        The nonce.
+     * @throws IOException If the body can't be written.
+     */
+    private void writeInflated(OutputStream outputStream, byte[] nonce) throws IOException {
+        final Inflater inflater = new Inflater(true);
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) {
+                    outputStream.write(nonce);
+                }
+                inflater.reset();
+                inflater.setInput(parts[i]);
+                final byte[] part = new byte[(int) lengths[i]];
+                int inflated = 0;
+                while (inflated < part.length) {
+                    final int count = inflater.inflate(part, inflated, part.length - inflated);
+                    if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new IOException("Truncated cached page");
+                    }
+                    inflated += count;
+                }
+                outputStream.write(part);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted cached page", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Get the uncompressed length of the body.
+     *
+     * @param nonceLength The length of the nonce.
+     * @return The uncompressed length of the body.
+     */
+    private long getLength(int nonceLength) {
+        return Arrays.stream(lengths).sum() + (long) (parts.length - 1) * nonceLength;
+    }
+
+    /**
+     * Get the length of the body as a gzip stream.
+     *
+     * @param nonceLength The length of the nonce.
+     * @return The length of the gzip stream.
+     */
+    private long getGzipLength(int nonceLength) {
+        long length = GZIP_HEADER.length + FINAL_BLOCK.length + GZIP_TRAILER;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        return length + (long) (parts.length - 1) * (STORED_BLOCK_HEADER + nonceLength);
+    }
+
+    /**
+     * Split the body around the occurrences of the nonce.
+     *
+     * @param body  The body.
+     * @param nonce The nonce, null if the page has none.
+     * @return The parts of the body.
+     */
+    private static List<byte[]> split(byte[] body, byte[] nonce) {
+        final List<byte[]> parts = new ArrayList<>();
+        int start = 0;
+        if (nonce != null && nonce.length > 0) {
+            for (int i = 0; i <= body.length - nonce.length; i++) {
+                if (Arrays.equals(body, i, i + nonce.length, nonce, 0, nonce.length)) {
+                    parts.add(Arrays.copyOfRange(body, start, i));
+                    start = i + nonce.length;
+                    i = start - 1;
+                }
+            }
+        }
+        parts.add(Arrays.copyOfRange(body, start, body.length));
+        return parts;
+    }
+
+    /**
+     * Compress a part of the body as raw deflate data, flushed to a byte boundary but not finished.
+     *
+     * @param deflater The deflater.
+     * @param part     The part of the body.
+     * @return The compressed part.
+     */
+    private static byte[] deflate(Deflater deflater, byte[] part) {
+        deflater.reset();
+        deflater.setInput(part);
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(part.length / 4 + 16);
+        final byte[] buffer = new byte[8192];
+        int count;
+        do {
+            count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+            compressed.write(buffer, 0, count);
+        } while (count == buffer.length || !deflater.needsInput());
+        return compressed.toByteArray();
+    }
+}
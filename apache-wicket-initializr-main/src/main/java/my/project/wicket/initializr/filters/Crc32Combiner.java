@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.filters;
+
+/**
+ * The CRC-32 of concatenated data, computed from the CRC-32 of the parts, as zlib's crc32_combine().
+ */
+final class Crc32Combiner {
+
+    /**
+     * The CRC-32 polynomial, reversed.
+     */
+    private static final long POLYNOMIAL = 0xedb88320L;
+
+    /**
+     * The number of bits of a CRC-32.
+     */
+    private static final int BITS = 32;
+
+    /**
+     * Constructor.
+     */
+    private Crc32Combiner() {
+    }
+
+    /**
+     * Combine the CRC-32 of two parts.
+     *
+     * @param crc1    The CRC-32 of the first part.
+     * @param crc2    The CRC-32 of the second part.
+     * @param length2 The length of the second part.
+     * @return The CRC-32 of the first part followed by the second part.
+     */
+    static long combine(long crc1, long crc2, long length2) {
+        if (length2 <= 0) {
+            return crc1;
+        }
+
+        // The operator for one zero bit, then for two and four zero bits
+        final long[] odd = new long[BITS];
+        final long[] even = new long[BITS];
+        odd[0] = POLYNOMIAL;
+        long row = 1;
+        for (int n = 1; n < BITS; n++) {
+            odd[n] = row;
+            row <<= 1;
+        }
+        square(even, odd);
+        square(odd, even);
+
+        // Apply the zero bytes of the second part to the first CRC, one bit of the length at a time
+        long crc = crc1;
+        long length = length2;
+        do {
+            square(even, odd);
+            if ((length & 1) != 0) {
+                crc = times(even, crc);
+            }
+            length >>>= 1;
+            if (length == 0) {
+                break;
+            }
+            square(odd, even);
+            if ((length & 1) != 0) {
+                crc = times(odd, crc);
+            }
+            length >>>= 1;
+        } while (length != 0);
+        return crc ^ crc2;
+    }
+
+    /**
+     * Multiply a vector by a matrix over GF(2).
+     *
+     * @param matrix The matrix.
+     * @param vector The vector.
+     * @return The product.
+     */
+    private static long times(long[] matrix, long vector) {
+        long sum = 0;
+        long remaining = vector;
+        for (int i = 0; remaining != 0; i++, remaining >>>= 1) {
+            if ((remaining & 1) != 0) {
+                sum ^= matrix[i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Square a matrix over GF(2).
+     *
+     * @param square The square of the matrix.
+     * @param matrix The matrix.
+     */
+    private static void square(long[] square, long[] matrix) {
+        for (int n = 0; n < BITS; n++) {
+            square[n] = times(matrix, matrix[n]);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import my.project.wicket.initializr.services.IVersionCatalogService;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A cache of the rendered home page for the anonymous visitors.
+ * <p>
+ * The home page only depends on the locale and on the version catalog, so it is kept by locale and revision of the
+ * catalog, compressed. The locale is reduced to its language and country, the only parts the messages depend on (see
+ * {@link my.project.wicket.initializr.localization.MessageIndex}), and the least recently used page is dropped when
+ * the cache is full, so the variations of the Accept-Language header can't fill the memory. A cached page is written
+ * without going through Wicket: its CSP nonce is replaced by a new one in the headers and in the body, so each
+ * response still has its own nonce. The cache is emptied when the catalog changes.
+ */
+public class PageCacheFilter extends OncePerRequestFilter {
+
+    /**
+     * The headers which are not replayed from a rendered page.
+     */
+    private static final Set<String> EXCLUDED_HEADERS = Set.of("content-type", "content-length", "content-encoding",
+            "transfer-encoding", "date", "set-cookie", "vary");
+
+    /**
+     * The nonce in the CSP header.
+     */
+    private static final Pattern NONCE = Pattern.compile("'nonce-([A-Za-z0-9+/_=-]+)'");
+
+    /**
+     * The variations of the cached pages.
+     */
+    private static final String VARY = "Accept-Encoding, Accept-Language";
+
+    /**
+     * The size of the nonces, in bytes.
+     */
+    private static final int NONCE_SIZE = 18;
+
+    /**
+     * The generator of the nonces.
+     */
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * The catalog of the versions.
+     */
+    private final IVersionCatalogService versionCatalogService;
+
+    /**
+     * The path of the cached page, relative to the context.
+     */
+    private final String path;
+
+    /**
+     * The maximum size of a cached page.
+     */
+    private final int maxPageSize;
+
+    /**
+     * The cached pages, by locale and revision of the catalog.
+     */
+    private final Map<String, CachedPage> pages;
+
+    /**
+     * The revision of the catalog of the cached pages.
+     */
+    private volatile long revision = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param versionCatalogService The catalog of the versions.
+     * @param path                  The path of the cached page, relative to the context.
+     * @param maxEntries            The maximum number of cached pages.
+     * @param maxPageSize           The maximum size of a cached page.
+     */
+    public PageCacheFilter(IVersionCatalogService versionCatalogService, String path, int maxEntries, int maxPageSize) {
+        this.versionCatalogService = versionCatalogService;
+        this.path = path;
+        this.maxPageSize = maxPageSize;
+        this.pages = Collections.synchronizedMap(new LeastRecentlyUsedPages(maxEntries));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Only the anonymous visits of the page itself, a form submission has parameters
+        return !"GET".equals(request.getMethod())
+                || request.getQueryString() != null
+                || request.getRequestedSessionId() != null
+                || !path.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        final long currentRevision = versionCatalogService.getRevision();
+        if (currentRevision != revision) {
+            pages.clear();
+            revision = currentRevision;
+        }
+        final Locale locale = request.getLocale();
+        final String key = locale.getLanguage() + "_" + locale.getCountry() + "@" + currentRevision;
+        response.setHeader("Vary", VARY);
+
+        final CachedPage cachedPage = pages.get(key);
+        if (cachedPage != null) {
+            cachedPage.write(response, acceptsGzip(request), newNonce());
+            return;
+        }
+
+        final ContentCachingResponseWrapper capture = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, capture);
+        try {
+            final CachedPage renderedPage = toCachedPage(capture);
+            if (renderedPage != null && currentRevision == versionCatalogService.getRevision()) {
+                pages.putIfAbsent(key, renderedPage);
+            }
+        } finally {
+            capture.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Keep a rendered page, if it can be served to any anonymous visitor.
+     *
+     * @param capture The rendered page.
+     * @return The kept page, or null.
+     */
+    private CachedPage toCachedPage(ContentCachingResponseWrapper capture) {
+        final String contentType = capture.getContentType();
+        if (capture.getStatus() != HttpServletResponse.SC_OK || contentType == null || !contentType.startsWith("text/html")
+                || capture.getHeader("Set-Cookie") != null || capture.getContentSize() > maxPageSize) {
+            return null;
+        }
+
+        String nonce = null;
+        final Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : capture.getHeaderNames()) {
+            if (!EXCLUDED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                final List<String> values = new ArrayList<>(capture.getHeaders(name));
+                headers.put(name, values);
+                for (String value : values) {
+                    final Matcher matcher = NONCE.matcher(value);
+                    if (nonce == null && matcher.find()) {
+                        nonce = matcher.group(1);
+                    }
+                }
+            }
+        }
+        return CachedPage.of(contentType, headers, capture.getContentAsByteArray(), nonce);
+    }
+
+    /**
+     * Tell if the client accepts a gzip body.
+     *
+     * @param request The request.
+     * @return True if the client accepts gzip.
+     */
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        final String acceptEncoding = request.getHeader("Accept-Encoding");
+        return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+    }
+
+    /**
+     * Create a new nonce.
+     *
+     * @return The nonce.
+     */
+    private String newNonce() {
+        final byte[] bytes = new byte[NONCE_SIZE];
+        random.nextBytes(bytes);
+        return new String(Base64.getUrlEncoder().encode(bytes), StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * The cached pages in the order of their last use, dropping the least recently used page beyond a maximum number.
+     */
+    private static final class LeastRecentlyUsedPages extends LinkedHashMap<String, CachedPage> {
+
+        /**
+         * The version of the serialized form.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The maximum number of pages.
+         */
+        private final int maxEntries;
+
+        /**
+         * Constructor.
+         *
+         * @param maxEntries The maximum number of pages.
+         */
+        private LeastRecentlyUsedPages(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedPage> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.http;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A circuit breaker. After a number of consecutive failures the circuit opens and the calls fail fast; once the open
+ * duration has elapsed, a single trial call is allowed to decide if the circuit closes again.
+ * <p>
+ * The state is guarded by a lock rather than by synchronized methods, so the virtual threads calling Maven Central
+ * never pin their carrier thread.
+ */
+public class CircuitBreaker {
+
+    /**
+     * The states of the circuit.
+     */
+    public enum State {
+
+        /**
+         * The calls are allowed.
+         */
+        CLOSED,
+
+        /**
+         * A trial call is allowed.
+         */
+        HALF_OPEN,
+
+        /**
+         * The calls fail fast.
+         */
+        OPEN
+    }
+
+    /**
+     * The number of consecutive failures opening the circuit.
+     */
+    private final int failureThreshold;
+
+    /**
+     * The time during which the circuit stays open.
+     */
+    private final Duration openDuration;
+
+    /**
+     * The clock.
+     */
+    private final Clock clock;
+
+    /**
+     * The lock guarding the state.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * The state of the circuit.
+     */
+    private State state = State.CLOSED;
+
+    /**
+     * The number of consecutive failures.
+     */
+    private int consecutiveFailures;
+
+    /**
+     * The instant the circuit opened.
+     */
+    private Instant openedAt;
+
+    /**
+     * True while the trial call of the half-open circuit is running.
+     */
+    private boolean trialInProgress;
+
+    /**
+     * Constructor.
+     *
+     * @param failureThreshold The number of consecutive failures opening the circuit.
+     * @param openDuration     The time during which the circuit stays open.
+     * @param clock            The clock.
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("The failure threshold must be positive: " + failureThreshold);
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Ask the permission to make a call. When it is given, the call must be followed by {@link #onSuccess()} or
+     * {@link #onFailure()}.
+     *
+     * @return True if the call is allowed.
+     */
+    public boolean tryAcquirePermission() {
+        lock.lock();
+        try {
+            switch (state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+                        return false;
+                    }
+                    state = State.HALF_OPEN;
+                    trialInProgress = true;
+                    return true;
+                default:
+                    if (trialInProgress) {
+                        return false;
+                    }
+                    trialInProgress = true;
+                    return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record a successful call.
+     */
+    public void onSuccess() {
+        lock.lock();
+        try {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            trialInProgress = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record a failed call.
+     */
+    public void onFailure() {
+        lock.lock();
+        try {
+            consecutiveFailures++;
+            trialInProgress = false;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                state = State.OPEN;
+                openedAt = clock.instant();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the state of the circuit.
+     *
+     * @return The state of the circuit.
+     */
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.http;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Thrown when a call to a remote service is refused without being made, because its circuit is open or too many calls
+ * are in progress.
+ */
+public class RemoteServiceUnavailableException extends RestClientException {
+
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor.
+     *
+     * @param message The message.
+     */
+    public RemoteServiceUnavailableException(String message) {
+        super(message);
+    }
+}
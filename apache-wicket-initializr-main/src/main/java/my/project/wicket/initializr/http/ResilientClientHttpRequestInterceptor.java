@@ -0,0 +1,295 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An interceptor protecting the application from a slow or failing remote service.
+ * <p>
+ * A bulkhead bounds the number of calls in progress, and a circuit breaker makes the calls fail fast while the remote
+ * service is failing. A call holds its permit until its response is closed, so reading the body is included. The
+ * state of the circuit, the permits and the latencies are published as metrics named after the remote service.
+ */
+public class ResilientClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    /**
+     * The name of the remote service.
+     */
+    private final String service;
+
+    /**
+     * The bulkhead.
+     */
+    private final Semaphore bulkhead;
+
+    /**
+     * The maximum time to wait for a permit of the bulkhead.
+     */
+    private final Duration bulkheadWait;
+
+    /**
+     * The circuit breaker.
+     */
+    private final CircuitBreaker circuitBreaker;
+
+    /**
+     * The latencies of the successful calls.
+     */
+    private final Timer successTimer;
+
+    /**
+     * The latencies of the failed calls.
+     */
+    private final Timer failureTimer;
+
+    /**
+     * The calls refused by the open circuit.
+     */
+    private final Counter circuitRejections;
+
+    /**
+     * The calls refused by the full bulkhead.
+     */
+    private final Counter bulkheadRejections;
+
+    /**
+     * Constructor.
+     *
+     * @param service               The name of the remote service, used in the messages and the metrics.
+     * @param maxConcurrentRequests The maximum number of calls in progress.
+     * @param bulkheadWait          The maximum time to wait for a permit of the bulkhead.
+     * @param circuitBreaker        The circuit breaker.
+     * @param meterRegistry         The registry of the metrics.
+     */
+    public ResilientClientHttpRequestInterceptor(String service, int maxConcurrentRequests, Duration bulkheadWait,
+                                                 CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        this.service = service;
+        this.bulkhead = new Semaphore(maxConcurrentRequests);
+        this.bulkheadWait = bulkheadWait;
+        this.circuitBreaker = circuitBreaker;
+
+        this.successTimer = newTimer("success", meterRegistry);
+        this.failureTimer = newTimer("failure", meterRegistry);
+        this.circuitRejections = newRejectionCounter("circuit-open", meterRegistry);
+        this.bulkheadRejections = newRejectionCounter("bulkhead-full", meterRegistry);
+        Gauge.builder("initializr.remote.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("The state of the circuit: 0 closed, 1 half-open, 2 open")
+                .tag("service", service)
+                .register(meterRegistry);
+        Gauge.builder("initializr.remote.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("The number of calls which can start without waiting")
+                .tag("service", service)
+                .register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (!acquireBulkhead()) {
+            bulkheadRejections.increment();
+            throw new RemoteServiceUnavailableException("Too many calls in progress to " + service);
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            circuitRejections.increment();
+            throw new RemoteServiceUnavailableException("The circuit of " + service + " is open");
+        }
+
+        final long start = System.nanoTime();
+        final ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            bulkhead.release();
+            circuitBreaker.onFailure();
+            failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+
+        boolean resolved = false;
+        try {
+            final HttpStatusCode status = response.getStatusCode();
+            final boolean failed = status.is5xxServerError() || status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+            if (failed) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            resolved = true;
+            return new GuardedResponse(response, start, failed ? failureTimer : successTimer);
+        } finally {
+            if (!resolved) {
+                // The status can't be read: the permit is released and a half-open trial counts as failed
+                response.close();
+                bulkhead.release();
+                circuitBreaker.onFailure();
+                failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Acquire a permit of the bulkhead.
+     *
+     * @return True if the permit was acquired.
+     * @throws IOException If the thread is interrupted while waiting.
+     */
+    private boolean acquireBulkhead() throws IOException {
+        try {
+            return bulkhead.tryAcquire(bulkheadWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a call to " + service, e);
+        }
+    }
+
+    /**
+     * Create the timer of the calls with an outcome.
+     *
+     * @param outcome       The outcome of the calls.
+     * @param meterRegistry The registry of the metrics.
+     * @return The timer.
+     */
+    private Timer newTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("initializr.remote.requests")
+                .description("The latency of the calls, until their response is closed")
+                .tag("service", service)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Create the counter of the calls refused for a reason.
+     *
+     * @param reason        The reason of the refusal.
+     * @param meterRegistry The registry of the metrics.
+     * @return The counter.
+     */
+    private Counter newRejectionCounter(String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("initializr.remote.rejections")
+                .description("The calls refused without being made")
+                .tag("service", service)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A response releasing the permit of the bulkhead and recording the latency when it is closed.
+     */
+    private final class GuardedResponse implements ClientHttpResponse {
+
+        /**
+         * The response.
+         */
+        private final ClientHttpResponse response;
+
+        /**
+         * The start of the call, in nanoseconds.
+         */
+        private final long start;
+
+        /**
+         * The timer recording the latency.
+         */
+        private final Timer timer;
+
+        /**
+         * True once the response is closed.
+         */
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        /**
+         * Constructor.
+         *
+         * @param response The response.
+         * @param start    The start of the call, in nanoseconds.
+         * @param timer    The timer recording the latency.
+         */
+        private GuardedResponse(ClientHttpResponse response, long start, Timer timer) {
+            this.response = response;
+            this.start = start;
+            this.timer = timer;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                if (closed.compareAndSet(false, true)) {
+                    bulkhead.release();
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+}
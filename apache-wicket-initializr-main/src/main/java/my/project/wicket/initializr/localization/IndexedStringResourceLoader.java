@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.localization;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.Page;
+import org.apache.wicket.resource.IPropertiesFactory;
+import org.apache.wicket.resource.loader.ComponentStringResourceLoader;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The loader of the messages of the components, reading the messages of a page from its {@link MessageIndex}.
+ * <p>
+ * The search is the one of Wicket: the messages of the components are looked for in the properties files of the page,
+ * then in the ones of the components down to the component. Only the properties files of the indexed page are read
+ * from the index, for the indexed locales and without style or variation. The index is built again when Wicket
+ * reloads a modified properties file, in development.
+ */
+public class IndexedStringResourceLoader extends ComponentStringResourceLoader {
+
+    /**
+     * The indexed page.
+     */
+    private final Class<? extends Page> page;
+
+    /**
+     * The messages of the page.
+     */
+    private volatile MessageIndex index;
+
+    /**
+     * Constructor.
+     *
+     * @param page              The indexed page.
+     * @param propertiesFactory The properties factory of the application.
+     */
+    public IndexedStringResourceLoader(Class<? extends Page> page, IPropertiesFactory propertiesFactory) {
+        this.page = page;
+        this.index = MessageIndex.load(page, propertiesFactory);
+        propertiesFactory.addListener(key -> index = MessageIndex.load(page, propertiesFactory));
+    }
+
+    /**
+     * Replace the loader of the messages of the components of an application.
+     *
+     * @param application The application.
+     * @param page        The indexed page.
+     * @return The loader.
+     */
+    public static IndexedStringResourceLoader install(Application application, Class<? extends Page> page) {
+        final IndexedStringResourceLoader loader = new IndexedStringResourceLoader(page,
+                application.getResourceSettings().getPropertiesFactory());
+        application.getResourceSettings().getStringResourceLoaders().replaceAll(candidate ->
+                candidate.getClass() == ComponentStringResourceLoader.class ? loader : candidate);
+        return loader;
+    }
+
+    /**
+     * Get the messages of the page.
+     *
+     * @return The messages of the page.
+     */
+    public MessageIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String loadStringResource(Class<?> clazz, String key, Locale locale, String style, String variation) {
+        if (clazz == page && style == null && variation == null) {
+            final Map<String, String> messages = index.getMessages(locale);
+            if (messages != null) {
+                final String message = messages.get(key);
+                return message != null ? message
+                        : super.loadStringResource(clazz.getSuperclass(), key, locale, style, variation);
+            }
+        }
+        return super.loadStringResource(clazz, key, locale, style, variation);
+    }
+}
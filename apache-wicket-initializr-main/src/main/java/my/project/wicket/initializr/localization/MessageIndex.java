@@ -0,0 +1,150 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.localization;
+
+import org.apache.wicket.resource.IPropertiesFactory;
+import org.apache.wicket.resource.Properties;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The messages of a class, resolved once for each locale known by the JVM.
+ * <p>
+ * Wicket looks for a message in the properties files of the class from the most specific locale to the default file
+ * ({@code _fr_FR}, then {@code _fr}, then no suffix), and does it again for each message of each render. The index
+ * merges these files once for each language and country, so a message is found with two lookups. The locales with a
+ * script, a variant or extensions aren't indexed and are left to Wicket.
+ */
+public final class MessageIndex {
+
+    /**
+     * The messages by locale. The locales with the same messages share the same table.
+     */
+    private final Map<Locale, Map<String, String>> messages;
+
+    /**
+     * Constructor.
+     *
+     * @param messages The messages by locale.
+     */
+    private MessageIndex(Map<Locale, Map<String, String>> messages) {
+        this.messages = messages;
+    }
+
+    /**
+     * Load the messages of a class with the properties factory of Wicket, which keeps the files in its cache.
+     *
+     * @param scope             The class of the properties files.
+     * @param propertiesFactory The properties factory of the application.
+     * @return The index.
+     */
+    public static MessageIndex load(Class<?> scope, IPropertiesFactory propertiesFactory) {
+        final String path = scope.getName().replace('.', '/');
+        final Map<String, String> defaults = Map.copyOf(read(propertiesFactory, scope, path));
+
+        // The languages and the countries known by the JVM; the same messages are shared by the locales
+        final Map<Map<String, String>, Map<String, String>> tables = new HashMap<>();
+        tables.put(defaults, defaults);
+        final Map<Locale, Map<String, String>> messages = new HashMap<>();
+        for (Locale available : Locale.getAvailableLocales()) {
+            if (available.getLanguage().isEmpty()) {
+                continue;
+            }
+            final Locale language = new Locale(available.getLanguage());
+            final Map<String, String> languageMessages = messages.computeIfAbsent(language,
+                    key -> merge(tables, defaults, read(propertiesFactory, scope, path + "_" + key)));
+            final Locale country = new Locale(available.getLanguage(), available.getCountry());
+            messages.computeIfAbsent(country,
+                    key -> merge(tables, languageMessages, read(propertiesFactory, scope, path + "_" + key)));
+        }
+        return new MessageIndex(Map.copyOf(messages));
+    }
+
+    /**
+     * Override the messages of a less specific locale.
+     *
+     * @param tables   The tables already created, to share the same messages.
+     * @param parent   The messages of the less specific locale.
+     * @param messages The messages of the locale.
+     * @return The merged messages.
+     */
+    private static Map<String, String> merge(Map<Map<String, String>, Map<String, String>> tables,
+                                             Map<String, String> parent, Map<String, String> messages) {
+        if (messages.isEmpty()) {
+            return parent;
+        }
+        final Map<String, String> merged = new HashMap<>(parent);
+        merged.putAll(messages);
+        return tables.computeIfAbsent(Map.copyOf(merged), table -> table);
+    }
+
+    /**
+     * Read a properties file.
+     *
+     * @param propertiesFactory The properties factory.
+     * @param scope             The class of the properties file.
+     * @param path              The path of the properties file, without its extension.
+     * @return The messages, empty if there is no such file.
+     */
+    private static Map<String, String> read(IPropertiesFactory propertiesFactory, Class<?> scope, String path) {
+        final Properties properties = propertiesFactory.load(scope, path);
+        if (properties == null) {
+            return Map.of();
+        }
+        final Map<String, String> messages = new HashMap<>();
+        properties.getAll().forEach((key, value) -> {
+            if (value != null) {
+                messages.put(key, value.toString());
+            }
+        });
+        return messages;
+    }
+
+    /**
+     * Get the messages for a locale.
+     *
+     * @param locale The locale.
+     * @return The messages, or null if the locale isn't indexed.
+     */
+    public Map<String, String> getMessages(Locale locale) {
+        return locale == null ? null : messages.get(locale);
+    }
+
+    /**
+     * Check that messages are translated for all the locales.
+     *
+     * @param keys The keys of the messages.
+     * @throws IllegalStateException If a message is missing.
+     */
+    public void requireKeys(Collection<String> keys) {
+        final TreeSet<String> missing = new TreeSet<>();
+        for (Map<String, String> table : messages.values()) {
+            for (String key : keys) {
+                if (!table.containsKey(key)) {
+                    missing.add(key);
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Messages not found: " + List.copyOf(missing));
+        }
+    }
+}
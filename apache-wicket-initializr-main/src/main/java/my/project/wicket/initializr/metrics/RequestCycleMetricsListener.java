@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.wicket.MetaDataKey;
+import org.apache.wicket.core.request.handler.IPageClassRequestHandler;
+import org.apache.wicket.request.IRequestHandler;
+import org.apache.wicket.request.cycle.IRequestCycleListener;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.request.handler.resource.ResourceReferenceRequestHandler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The listener timing the Wicket request cycles. The timings are tagged by the first handler of the cycle, i.e. the
+ * class of the page or of the resource reference, and by the status of the response.
+ */
+public class RequestCycleMetricsListener implements IRequestCycleListener {
+
+    /**
+     * The key of the start time of a request cycle.
+     */
+    private static final MetaDataKey<Long> START = new MetaDataKey<>() {
+    };
+
+    /**
+     * The key of the name of the first handler of a request cycle.
+     */
+    private static final MetaDataKey<String> HANDLER = new MetaDataKey<>() {
+    };
+
+    /**
+     * The timers of the request cycles.
+     */
+    private final Meter.MeterProvider<Timer> timers;
+
+    /**
+     * Constructor.
+     *
+     * @param meterRegistry The registry of the metrics.
+     */
+    public RequestCycleMetricsListener(MeterRegistry meterRegistry) {
+        this.timers = Timer.builder("initializr.wicket.requests")
+                .description("The duration of the Wicket request cycles")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onBeginRequest(RequestCycle cycle) {
+        cycle.setMetaData(START, System.nanoTime());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onRequestHandlerResolved(RequestCycle cycle, IRequestHandler handler) {
+        // The redirects and the error pages are timed with the request which caused them
+        if (cycle.getMetaData(HANDLER) == null) {
+            cycle.setMetaData(HANDLER, nameOf(handler));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onEndRequest(RequestCycle cycle) {
+        final Long start = cycle.getMetaData(START);
+        final String handler = cycle.getMetaData(HANDLER);
+        if (start == null || handler == null) {
+            return;
+        }
+        final Object containerResponse = cycle.getResponse().getContainerResponse();
+        final String status = containerResponse instanceof HttpServletResponse response
+                ? Integer.toString(response.getStatus())
+                : "UNKNOWN";
+        timers.withTags(Tags.of("handler", handler, "status", status))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the name of a handler used in the tags. The names are bounded by the number of pages and resources.
+     *
+     * @param handler The handler.
+     * @return The name of the handler.
+     */
+    private static String nameOf(IRequestHandler handler) {
+        if (handler instanceof IPageClassRequestHandler pageHandler) {
+            return pageHandler.getPageClass().getSimpleName();
+        }
+        if (handler instanceof ResourceReferenceRequestHandler resourceHandler) {
+            final String name = resourceHandler.getResourceReference().getClass().getSimpleName();
+            return name.isEmpty() ? "ResourceReference" : name;
+        }
+        return handler.getClass().getSimpleName();
+    }
+}
@@ -17,16 +17,24 @@ package my.project.wicket.initializr.pages;
 
 import com.giffing.wicket.spring.boot.context.scan.WicketHomePage;
 import de.agilecoders.wicket.extensions.markup.html.bootstrap.icon.FontAwesome6CssReference;
+import my.project.wicket.initializr.beans.ArtifactCoordinates;
+import my.project.wicket.initializr.beans.ArtifactVersionIndex;
 import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
+import my.project.wicket.initializr.beans.ProjectViewBean;
 import my.project.wicket.initializr.behavors.BootstrapTextFieldValidatorBehavior;
 import my.project.wicket.initializr.panels.ArtifactVersionDropDownChoice;
-import my.project.wicket.initializr.services.IMavenCentralQueryService;
+import my.project.wicket.initializr.panels.StatelessRadio;
+import my.project.wicket.initializr.resources.ProjectArchiveResource;
+import my.project.wicket.initializr.resources.ProjectArchiveResourceReference;
+import my.project.wicket.initializr.resources.ProjectPreviewResourceReference;
+import my.project.wicket.initializr.resources.StaticAssetResourceReference;
+import my.project.wicket.initializr.services.IVersionCatalogService;
 import org.apache.wicket.AttributeModifier;
 import org.apache.wicket.Component;
 import org.apache.wicket.behavior.AttributeAppender;
-import org.apache.wicket.markup.head.CssContentHeaderItem;
 import org.apache.wicket.markup.head.CssHeaderItem;
 import org.apache.wicket.markup.head.IHeaderResponse;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
 import org.apache.wicket.markup.head.OnDomReadyHeaderItem;
 import org.apache.wicket.markup.html.WebMarkupContainer;
 import org.apache.wicket.markup.html.WebPage;
@@ -41,18 +49,16 @@ import org.apache.wicket.markup.html.image.Image;
 import org.apache.wicket.markup.html.list.ListItem;
 import org.apache.wicket.markup.html.list.ListView;
 import org.apache.wicket.model.Model;
+import org.apache.wicket.model.PropertyModel;
 import org.apache.wicket.model.StringResourceModel;
-import org.apache.wicket.request.resource.CssResourceReference;
-import org.apache.wicket.request.resource.IResource;
-import org.apache.wicket.request.resource.PackageResourceReference;
-import org.apache.wicket.request.resource.ResourceReference;
+import org.apache.wicket.request.flow.RedirectToUrlException;
+import org.apache.wicket.request.mapper.parameter.PageParameters;
 import org.apache.wicket.spring.injection.annot.SpringBean;
 import org.apache.wicket.validation.validator.PatternValidator;
 import org.wicketstuff.annotation.mount.MountPath;
 
 import java.util.Arrays;
 import java.util.LinkedHashSet;
-import java.util.List;
 
 /**
  * The home page.
@@ -62,16 +68,51 @@ import java.util.List;
 public class HomePage extends WebPage {
 
     /**
-     * The Maven Central query service to get the version of Apache Wicket.
+     * The catalog of the versions of Apache Wicket.
      */
     @SpringBean
-    private IMavenCentralQueryService mavenCentralQueryService;
+    private IVersionCatalogService versionCatalogService;
 
     /**
      * The selected version of Apache Wicket.
      */
     private ArtifactVersionViewBean wicketVersion;
 
+    /**
+     * The selected project type.
+     */
+    private ProjectType projectType = ProjectType.MAVEN;
+
+    /**
+     * The selected packaging.
+     */
+    private Packaging packaging = Packaging.EXECUTABLE_JAR;
+
+    /**
+     * The group of the project.
+     */
+    private String group = "";
+
+    /**
+     * The artifact of the project.
+     */
+    private String artifact = "";
+
+    /**
+     * The name of the project.
+     */
+    private String name = "";
+
+    /**
+     * The description of the project.
+     */
+    private String description = "";
+
+    /**
+     * The package name of the project.
+     */
+    private String packageName = "";
+
     /**
      * Constructor.
      */
@@ -89,7 +130,13 @@ public class HomePage extends WebPage {
         add(newApacheWicketLogo());
 
         // The form
-        final Form<Void> form = new StatelessForm<>("form");
+        final Form<Void> form = new StatelessForm<>("form") {
+            @Override
+            protected void onSubmit() {
+                super.onSubmit();
+                onGenerate();
+            }
+        };
         form.add(newProject());
         form.add(newWicketVersion());
         form.add(newPackaging());
@@ -98,17 +145,28 @@ public class HomePage extends WebPage {
         form.add(newProjectMetadataName());
         form.add(newProjectMetadataDescription());
         form.add(newProjectMetadataPackageName());
+        form.add(newPreview());
         add(form);
     }
 
+    /**
+     * Called when the form is submitted to download the generated project.
+     */
+    protected void onGenerate() {
+        final ProjectViewBean project = new ProjectViewBean(group, artifact, name, description, packageName,
+                projectType, packaging, wicketVersion == null ? null : wicketVersion.getVersion());
+        final PageParameters parameters = ProjectArchiveResource.toPageParameters(project);
+        throw new RedirectToUrlException(urlFor(ProjectArchiveResourceReference.get(), parameters).toString());
+    }
+
     /**
      * Create the project metadata group.
      *
      * @return The new project metadata group.
      */
     private Component newProjectMetadataGroup() {
-        final String PATTERN = "^[a-zA-Z_][a-zA-Z0-9_]*(\\.[a-zA-Z_][a-zA-Z0-9_]*)*$";
-        final TextField<String> group = new TextField<>("group", Model.of(""));
+        final String PATTERN = ProjectViewBean.GROUP_PATTERN;
+        final TextField<String> group = new TextField<>("group", new PropertyModel<>(this, "group"));
         group.setRequired(true);
         group.validate();
         group.add(new AttributeModifier("pattern", PATTERN));
@@ -123,8 +181,8 @@ public class HomePage extends WebPage {
      * @return The new project metadata artifact.
      */
     private Component newProjectMetadataArtifact() {
-        final String PATTERN = "^[a-zA-Z0-9_\\-\\.]+$";
-        final TextField<String> artifact = new TextField<>("artifact", Model.of(""));
+        final String PATTERN = ProjectViewBean.ARTIFACT_PATTERN;
+        final TextField<String> artifact = new TextField<>("artifact", new PropertyModel<>(this, "artifact"));
         artifact.setRequired(true);
         artifact.validate();
         artifact.add(new AttributeModifier("pattern", PATTERN));
@@ -139,8 +197,8 @@ public class HomePage extends WebPage {
      * @return The new project metadata package name.
      */
     private Component newProjectMetadataPackageName() {
-        final String PATTERN = "^[a-z]+(\\.[a-z][a-z0-9_]*)*$";
-        final TextField<String> packageName = new TextField<>("packageName", Model.of(""));
+        final String PATTERN = ProjectViewBean.PACKAGE_NAME_PATTERN;
+        final TextField<String> packageName = new TextField<>("packageName", new PropertyModel<>(this, "packageName"));
         packageName.setRequired(true);
         packageName.validate();
         packageName.add(new AttributeModifier("pattern", PATTERN));
@@ -155,7 +213,7 @@ public class HomePage extends WebPage {
      * @return The new project metadata name.
      */
     private Component newProjectMetadataName() {
-        return new TextField<>("name", Model.of(""));
+        return new TextField<>("name", new PropertyModel<>(this, "name"));
     }
 
     /**
@@ -164,20 +222,20 @@ public class HomePage extends WebPage {
      * @return The new project metadata description.
      */
     private Component newProjectMetadataDescription() {
-        return new TextArea<>("description", Model.of(""));
+        return new TextArea<>("description", new PropertyModel<>(this, "description"));
     }
 
     /**
-     * Create the Wicket version component.
+     * Create the Wicket version component. The newest release is selected by default.
      *
      * @return The new Wicket version component.
      */
     protected Component newWicketVersion() {
-        final List<ArtifactVersionViewBean> versions = mavenCentralQueryService.fetchWicketCoreVersions();
+        final ArtifactVersionIndex index = versionCatalogService.getIndex(ArtifactCoordinates.WICKET_CORE);
         if (wicketVersion == null) {
-            wicketVersion = versions.stream().findFirst().orElse(null);
+            wicketVersion = index.getDefault();
         }
-        return new ArtifactVersionDropDownChoice("wicketVersions", Model.of(wicketVersion), versions);
+        return new ArtifactVersionDropDownChoice("wicketVersions", new PropertyModel<>(this, "wicketVersion"), index.getVersions());
     }
 
     /**
@@ -188,16 +246,16 @@ public class HomePage extends WebPage {
     protected Component newProject() {
         // Prepare the project types
         final LinkedHashSet<ProjectType> options = new LinkedHashSet<>(Arrays.stream(ProjectType.values()).toList());
-        final Model<ProjectType> selectedOption = Model.of(options.stream().findFirst().orElse(null));
-        final RadioGroup<ProjectType> radioGroup = new RadioGroup<>("projectRadioGroup", selectedOption);
+        final RadioGroup<ProjectType> radioGroup = new RadioGroup<>("projectRadioGroup", new PropertyModel<>(this, "projectType"));
         final ListView<ProjectType> radioList = new ListView<>("projectRadios", options.stream().toList()) {
             @Override
             protected void populateItem(ListItem<ProjectType> item) {
                 final ProjectType projectType = item.getModelObject();
-                final Radio<ProjectType> projectRadio = new Radio<>("projectRadio", Model.of(projectType));
+                final Radio<ProjectType> projectRadio = new StatelessRadio<>("projectRadio", Model.of(projectType));
                 if (projectType.isDisabled()) {
                     projectRadio.add(AttributeModifier.append("disabled", "disabled"));
                 }
+                projectRadio.add(AttributeModifier.replace("data-value", projectType.getValue()));
                 projectRadio.setOutputMarkupId(true);
                 final Label projectLabel = new Label("projectLabel", projectType.getLabel());
                 projectLabel.add(AttributeModifier.append("for", projectRadio.getMarkupId()));
@@ -216,13 +274,13 @@ public class HomePage extends WebPage {
     protected Component newPackaging() {
         // Prepare the project types
         final LinkedHashSet<Packaging> options = new LinkedHashSet<>(Arrays.stream(Packaging.values()).toList());
-        final Model<Packaging> selectedOption = Model.of(options.stream().findFirst().orElse(null));
-        final RadioGroup<Packaging> radioGroup = new RadioGroup<>("packagingRadioGroup", selectedOption);
+        final RadioGroup<Packaging> radioGroup = new RadioGroup<>("packagingRadioGroup", new PropertyModel<>(this, "packaging"));
         final ListView<Packaging> radioList = new ListView<>("packagingRadios", options.stream().toList()) {
             @Override
             protected void populateItem(ListItem<Packaging> item) {
                 final Packaging packaging = item.getModelObject();
-                final Radio<Packaging> packagingRadio = new Radio<>("packagingRadio", Model.of(packaging));
+                final Radio<Packaging> packagingRadio = new StatelessRadio<>("packagingRadio", Model.of(packaging));
+                packagingRadio.add(AttributeModifier.replace("data-value", packaging.getValue()));
                 packagingRadio.setOutputMarkupId(true);
                 final Label packagingLabel = new Label("packagingLabel", packaging.getLabel());
                 packagingLabel.add(AttributeModifier.append("for", packagingRadio.getMarkupId()));
@@ -235,18 +293,25 @@ public class HomePage extends WebPage {
         return radioGroup;
     }
 
+    /**
+     * Create the preview of the project. The preview is filled by a script from the fields of the form.
+     *
+     * @return The new preview.
+     */
+    protected Component newPreview() {
+        final WebMarkupContainer preview = new WebMarkupContainer("preview");
+        preview.add(AttributeModifier.replace("data-url", urlFor(ProjectPreviewResourceReference.get(), null).toString()));
+        return preview;
+    }
+
     /**
      * Create the Apache Wicket logo in the header.
      *
      * @return The Apache Wicket logo.
      */
     protected Image newApacheWicketLogo() {
-        return new Image("apacheWicketLogo", new ResourceReference("apache-wicket-logo") {
-            @Override
-            public IResource getResource() {
-                return new PackageResourceReference(HomePage.class, "wicket-logo.svg").getResource();
-            }
-        });
+        return new Image("apacheWicketLogo", StaticAssetResourceReference.get(),
+                StaticAssetResourceReference.parametersOf("wicket-logo.svg"));
     }
 
     /**
@@ -255,8 +320,11 @@ public class HomePage extends WebPage {
     @Override
     public void renderHead(IHeaderResponse response) {
         super.renderHead(response);
-        response.render(CssContentHeaderItem.forReference(new CssResourceReference(HomePage.class, "style.css")));
+        response.render(CssHeaderItem.forReference(StaticAssetResourceReference.get(),
+                StaticAssetResourceReference.parametersOf("style.css"), null));
         response.render(CssHeaderItem.forReference(FontAwesome6CssReference.instance()));
+        response.render(JavaScriptHeaderItem.forReference(StaticAssetResourceReference.get(),
+                StaticAssetResourceReference.parametersOf("preview.js"), "preview-script").setDefer(true));
         response.render(OnDomReadyHeaderItem.forScript("const popoverTriggerList = document.querySelectorAll('[data-bs-toggle=\"popover\"]');const popoverList = [...popoverTriggerList].map(popoverTriggerEl => new bootstrap.Popover(popoverTriggerEl, {trigger:'focus'}));"));
     }
 }
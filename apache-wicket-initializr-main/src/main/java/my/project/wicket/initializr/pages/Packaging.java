@@ -63,4 +63,19 @@ public enum Packaging {
     public String getKey() {
         return key;
     }
+
+    /**
+     * Get the packaging from its value.
+     *
+     * @param value The value of the packaging.
+     * @return The packaging or null if the value is unknown.
+     */
+    public static Packaging fromValue(String value) {
+        for (Packaging candidate : values()) {
+            if (candidate.value.equals(value)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
 }
@@ -60,4 +60,19 @@ public enum ProjectType {
     public boolean isDisabled() {
         return disabled;
     }
+
+    /**
+     * Get the project type from its value.
+     *
+     * @param value The value of the project type.
+     * @return The project type or null if the value is unknown.
+     */
+    public static ProjectType fromValue(String value) {
+        for (ProjectType candidate : values()) {
+            if (candidate.value.equals(value)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.panels;
+
+import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
+import org.apache.wicket.markup.html.form.IChoiceRenderer;
+import org.apache.wicket.util.string.Strings;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The pre-rendered options of a list of versions, grouped by major version. The HTML is rendered once for a list, and
+ * only the selected option is marked when it is written.
+ */
+final class ArtifactVersionOptions {
+
+    /**
+     * The attribute of the selected option.
+     */
+    private static final String SELECTED = "selected=\"selected\" ";
+
+    /**
+     * The list of versions the options were rendered from.
+     */
+    private final List<? extends ArtifactVersionViewBean> versions;
+
+    /**
+     * The rendered options.
+     */
+    private final String html;
+
+    /**
+     * The position in the HTML where the selected attribute goes, by value of option.
+     */
+    private final Map<String, Integer> selectionOffsets;
+
+    /**
+     * Render the options of a list of versions.
+     *
+     * @param versions The versions, sorted by major version. The list must not change, as the catalog lists.
+     * @param renderer The renderer of the values of the options.
+     */
+    ArtifactVersionOptions(List<? extends ArtifactVersionViewBean> versions, IChoiceRenderer<? super ArtifactVersionViewBean> renderer) {
+        this.versions = versions;
+        this.selectionOffsets = new HashMap<>(versions.size() * 2);
+
+        final StringBuilder buffer = new StringBuilder(versions.size() * 48);
+        int previousMajor = -1;
+        for (int index = 0; index < versions.size(); index++) {
+            final ArtifactVersionViewBean version = versions.get(index);
+
+            // Start a new <optgroup> with the first version of each major version
+            final int major = version.getMajor();
+            if (index == 0 || major != previousMajor) {
+                if (index > 0) {
+                    buffer.append("</optgroup>");
+                }
+                buffer.append("<optgroup label=\"").append(major).append(".x\">");
+                previousMajor = major;
+            }
+
+            final String value = renderer.getIdValue(version, index);
+            buffer.append("\n<option ");
+            selectionOffsets.putIfAbsent(value, buffer.length());
+            buffer.append("value=\"").append(Strings.escapeMarkup(value)).append("\">");
+            final Object display = renderer.getDisplayValue(version);
+            buffer.append(Strings.escapeMarkup(display == null ? "" : display.toString())).append("</option>");
+        }
+        if (!versions.isEmpty()) {
+            buffer.append("</optgroup>");
+        }
+        buffer.append('\n');
+        this.html = buffer.toString();
+    }
+
+    /**
+     * Tell if the options were rendered from a list of versions.
+     *
+     * @param choices The list of versions.
+     * @return True if the options were rendered from this very list.
+     */
+    boolean isRenderedFrom(List<? extends ArtifactVersionViewBean> choices) {
+        return versions == choices;
+    }
+
+    /**
+     * Get the HTML of the options.
+     *
+     * @param selectedValue The value of the selected option, may be null.
+     * @return The HTML of the options.
+     */
+    CharSequence toHtml(String selectedValue) {
+        final Integer offset = selectedValue == null ? null : selectionOffsets.get(selectedValue);
+        if (offset == null) {
+            return html;
+        }
+        return new StringBuilder(html.length() + SELECTED.length())
+                .append(html, 0, offset)
+                .append(SELECTED)
+                .append(html, offset, html.length());
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.panels;
+
+import org.apache.wicket.markup.html.form.Radio;
+import org.apache.wicket.model.IModel;
+
+/**
+ * A radio for an enumeration which keeps its page stateless. The values of the standard radios are numbers given by
+ * the page, so the page must be stored to match the submitted value; here the value is the name of the constant, which
+ * is the same in every instance of the page.
+ *
+ * @param <T> The type of the enumeration.
+ */
+public class StatelessRadio<T extends Enum<T>> extends Radio<T> {
+
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor.
+     *
+     * @param id    The component id.
+     * @param model The model of the constant.
+     */
+    public StatelessRadio(String id, IModel<T> model) {
+        super(id, model);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getValue() {
+        return getModelObject().name();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean getStatelessHint() {
+        return true;
+    }
+}
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.resources;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import my.project.wicket.initializr.archives.ZipArchiveWriter;
+import my.project.wicket.initializr.beans.ArtifactCoordinates;
+import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
+import my.project.wicket.initializr.beans.BatchProjectResult;
+import my.project.wicket.initializr.beans.ProjectViewBean;
+import my.project.wicket.initializr.pages.Packaging;
+import my.project.wicket.initializr.pages.ProjectType;
+import my.project.wicket.initializr.services.GenerationRejectedException;
+import my.project.wicket.initializr.services.IBatchGenerationService;
+import my.project.wicket.initializr.services.IVersionCatalogService;
+import org.apache.wicket.injection.Injector;
+import org.apache.wicket.request.http.WebResponse;
+import org.apache.wicket.request.resource.AbstractResource;
+import org.apache.wicket.request.resource.ContentDisposition;
+import org.apache.wicket.spring.injection.annot.SpringBean;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * The resource generating a batch of projects, for the scripts and the CI pipelines. The batch is posted as JSON:
+ * <pre>
+ * {"projects": [{"group": "com.example", "artifact": "demo", "packageName": "com.example.demo"}, ...]}
+ * </pre>
+ * The fields of a project are the parameters of {@link ProjectArchiveResource}, the missing type and packaging are
+ * the defaults of the home page and the missing version of Apache Wicket is the newest known release.
+ * <p>
+ * The response is streamed while the projects are generated: a single archive with a folder per project and a
+ * report of the batch, or, when the client accepts {@value #NDJSON}, one JSON line per project as soon as it is
+ * generated, with its archive in base 64.
+ */
+public class BatchGenerationResource extends AbstractResource {
+
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The field of the projects of a batch.
+     */
+    public static final String PROJECTS = "projects";
+
+    /**
+     * The content type of the results streamed one JSON line per project.
+     */
+    public static final String NDJSON = "application/x-ndjson";
+
+    /**
+     * The name of the report of the batch, at the end of the archive of the batch.
+     */
+    public static final String REPORT = "batch.ndjson";
+
+    /**
+     * The name of the file of the archive of the batch.
+     */
+    private static final String FILE_NAME = "batch.zip";
+
+    /**
+     * The maximum size of the body of a request, far above the size of the largest batch.
+     */
+    private static final int MAX_REQUEST_SIZE = 256 * 1024;
+
+    /**
+     * The header of the delay after which a rejected client should try again.
+     */
+    private static final String RETRY_AFTER = "Retry-After";
+
+    /**
+     * The status of a client sending too many requests.
+     */
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    /**
+     * The JSON mapper. The JSON is read and written as trees only, so the settings of the Spring mapper don't matter,
+     * and an injected class would need a proxy generated at runtime, which a native image can't do.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * The service generating the batches of projects.
+     */
+    @SpringBean
+    private IBatchGenerationService batchGenerationService;
+
+    /**
+     * The catalog of the versions.
+     */
+    @SpringBean
+    private IVersionCatalogService versionCatalogService;
+
+    /**
+     * Constructor.
+     */
+    public BatchGenerationResource() {
+        Injector.get().inject(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ResourceResponse newResourceResponse(Attributes attributes) {
+        final ResourceResponse response = new ResourceResponse();
+        final HttpServletRequest request = (HttpServletRequest) attributes.getRequest().getContainerRequest();
+        if (!"POST".equals(request.getMethod())) {
+            response.getHeaders().addHeader("Allow", "POST");
+            return response.setStatusCode(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+        }
+
+        final List<ProjectViewBean> projects;
+        try {
+            final byte[] body = request.getInputStream().readNBytes(MAX_REQUEST_SIZE + 1);
+            if (body.length > MAX_REQUEST_SIZE) {
+                return response.setError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "The batch is larger than " + MAX_REQUEST_SIZE + " bytes");
+            }
+            projects = toProjects(OBJECT_MAPPER.readTree(body));
+        } catch (JsonProcessingException e) {
+            return response.setError(HttpServletResponse.SC_BAD_REQUEST, "Invalid batch: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            return response.setError(HttpServletResponse.SC_BAD_REQUEST, "Invalid batch: " + e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final List<String> errors = batchGenerationService.validate(projects);
+        if (!errors.isEmpty()) {
+            return response.setError(HttpServletResponse.SC_BAD_REQUEST, String.join(", ", errors));
+        }
+
+        final List<CompletableFuture<BatchProjectResult>> results;
+        try {
+            results = batchGenerationService.submit(projects, ProjectArchiveResource.getClientId(attributes));
+        } catch (GenerationRejectedException e) {
+            response.getHeaders().addHeader(RETRY_AFTER, Long.toString(Math.max(1, e.getRetryAfter().toSeconds())));
+            return response.setStatusCode(e.getReason() == GenerationRejectedException.Reason.SATURATED
+                    ? HttpServletResponse.SC_SERVICE_UNAVAILABLE
+                    : TOO_MANY_REQUESTS);
+        }
+
+        final String accept = request.getHeader("Accept");
+        if (accept != null && accept.contains(NDJSON)) {
+            response.setContentType(NDJSON);
+            response.setTextEncoding(StandardCharsets.UTF_8.name());
+            response.setWriteCallback(new WriteCallback() {
+                @Override
+                public void writeData(Attributes attributes) throws IOException {
+                    writeLines(results, attributes.getResponse().getOutputStream());
+                }
+            });
+        } else {
+            response.setContentType("application/zip");
+            response.setContentDisposition(ContentDisposition.ATTACHMENT);
+            response.setFileName(FILE_NAME);
+            response.setWriteCallback(new WriteCallback() {
+                @Override
+                public void writeData(Attributes attributes) throws IOException {
+                    writeArchive(results, attributes.getResponse().getOutputStream());
+                }
+            });
+        }
+        return response;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void configureCache(ResourceResponse data, Attributes attributes) {
+        ((WebResponse) attributes.getResponse()).setHeader("Cache-Control", "no-store");
+    }
+
+    /**
+     * Write the results of a batch as JSON lines, in the order the projects are generated.
+     *
+     * @param results      The results of the projects.
+     * @param outputStream The output stream of the response.
+     * @throws IOException If the results can't be written.
+     */
+    private void writeLines(List<CompletableFuture<BatchProjectResult>> results, OutputStream outputStream) throws IOException {
+        final BlockingQueue<BatchProjectResult> generated = new LinkedBlockingQueue<>();
+        results.forEach(result -> result.thenAccept(generated::add));
+        for (int i = 0; i < results.size(); i++) {
+            final BatchProjectResult result;
+            try {
+                result = generated.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the batch", e);
+            }
+            final ObjectNode line = toJson(result);
+            if (result.isSuccess()) {
+                line.put("archive", Base64.getEncoder().encodeToString(result.getArchive()));
+            }
+            writeLine(line, outputStream);
+            outputStream.flush();
+        }
+    }
+
+    /**
+     * Write the archive of a batch: the folders of the projects, in the order of the batch, then the report of the
+     * batch.
+     *
+     * @param results      The results of the projects.
+     * @param outputStream The output stream of the response.
+     * @throws IOException If the archive can't be written.
+     */
+    private void writeArchive(List<CompletableFuture<BatchProjectResult>> results, OutputStream outputStream) throws IOException {
+        final ZipArchiveWriter zip = new ZipArchiveWriter(outputStream, LocalDateTime.now());
+        final List<BatchProjectResult> report = new ArrayList<>(results.size());
+        for (CompletableFuture<BatchProjectResult> future : results) {
+            final BatchProjectResult result = future.join();
+            report.add(result);
+            if (result.isSuccess()) {
+                // The entries of a project are already in the folder of its artifact, and stay compressed
+                zip.copy(result.getArchive());
+                outputStream.flush();
+            }
+        }
+
+        final ByteArrayOutputStream reportContent = new ByteArrayOutputStream();
+        for (BatchProjectResult result : report) {
+            writeLine(toJson(result), reportContent);
+        }
+        zip.write(REPORT, reportContent.toByteArray());
+
+        // Only finish the archive, the output stream belongs to the container
+        zip.finish();
+        outputStream.flush();
+    }
+
+    /**
+     * Write a JSON line.
+     *
+     * @param line         The JSON object.
+     * @param outputStream The output stream.
+     * @throws IOException If the line can't be written.
+     */
+    private void writeLine(ObjectNode line, OutputStream outputStream) throws IOException {
+        outputStream.write(OBJECT_MAPPER.writeValueAsBytes(line));
+        outputStream.write('\n');
+    }
+
+    /**
+     * Convert the result of a project to JSON, without its archive.
+     *
+     * @param result The result of the project.
+     * @return The JSON object.
+     */
+    private ObjectNode toJson(BatchProjectResult result) {
+        final ObjectNode json = OBJECT_MAPPER.createObjectNode();
+        json.put("index", result.getIndex());
+        json.put(ProjectArchiveResource.ARTIFACT, result.getProject().getArtifact());
+        json.put("status", result.isSuccess() ? "success" : "failure");
+        json.put("durationMillis", result.getDurationMillis());
+        if (result.isSuccess()) {
+            json.put("size", result.getArchive().length);
+        } else {
+            json.put("error", result.getError());
+        }
+        return json;
+    }
+
+    /**
+     * Convert a batch to its projects.
+     *
+     * @param batch The batch.
+     * @return The projects of the batch.
+     * @throws IllegalArgumentException If the batch has no list of projects.
+     */
+    private List<ProjectViewBean> toProjects(JsonNode batch) {
+        final JsonNode projects = batch == null ? null : batch.get(PROJECTS);
+        if (projects == null || !projects.isArray()) {
+            throw new IllegalArgumentException("'" + PROJECTS + "' must be a list of projects");
+        }
+
+        // The batch is generated with the newest release of Apache Wicket when the version isn't given
+        final ArtifactVersionViewBean defaultVersion = versionCatalogService.getIndex(ArtifactCoordinates.WICKET_CORE).getDefault();
+        final String defaultWicketVersion = defaultVersion == null ? null : defaultVersion.getVersion();
+        final List<ProjectViewBean> result = new ArrayList<>(projects.size());
+        for (JsonNode project : projects) {
+            if (!project.isObject()) {
+                throw new IllegalArgumentException("A project must be an object");
+            }
+            final String wicketVersion = text(project, ProjectArchiveResource.WICKET_VERSION);
+            result.add(new ProjectViewBean(
+                    text(project, ProjectArchiveResource.GROUP),
+                    text(project, ProjectArchiveResource.ARTIFACT),
+                    text(project, ProjectArchiveResource.NAME),
+                    text(project, ProjectArchiveResource.DESCRIPTION),
+                    text(project, ProjectArchiveResource.PACKAGE_NAME),
+                    ProjectType.fromValue(textOrDefault(project, ProjectArchiveResource.PROJECT_TYPE, ProjectType.MAVEN.getValue())),
+                    Packaging.fromValue(textOrDefault(project, ProjectArchiveResource.PACKAGING, Packaging.EXECUTABLE_JAR.getValue())),
+                    wicketVersion == null ? defaultWicketVersion : wicketVersion));
+        }
+        return result;
+    }
+
+    /**
+     * Get a text field of a project.
+     *
+     * @param project The project.
+     * @param field   The name of the field.
+     * @return The text, or null if the field is missing.
+     */
+    private static String text(JsonNode project, String field) {
+        final JsonNode value = project.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    /**
+     * Get a text field of a project, with a default value.
+     *
+     * @param project      The project.
+     * @param field        The name of the field.
+     * @param defaultValue The value of a missing field.
+     * @return The text, or the default value if the field is missing.
+     */
+    private static String textOrDefault(JsonNode project, String field, String defaultValue) {
+        final String value = text(project, field);
+        return value == null ? defaultValue : value;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.resources;
+
+import jakarta.servlet.http.HttpServletResponse;
+import my.project.wicket.initializr.beans.GenerationJob;
+import my.project.wicket.initializr.services.IGenerationSchedulerService;
+import org.apache.wicket.injection.Injector;
+import org.apache.wicket.request.Url;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.request.http.WebResponse;
+import org.apache.wicket.request.mapper.parameter.PageParameters;
+import org.apache.wicket.request.resource.AbstractResource;
+import org.apache.wicket.spring.injection.annot.SpringBean;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+
+/**
+ * The resource polled by the clients while a long generation runs. It answers 202 until the archive is ready, then
+ * sends the archive. The browsers follow the Refresh header, so they download the archive without a script. The
+ * archive is downloaded once: the job is forgotten as soon as its archive is sent.
+ */
+public class GenerationJobResource extends AbstractResource {
+
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The parameter of the identifier of the job.
+     */
+    public static final String ID = "id";
+
+    /**
+     * The delay between two polls, in seconds.
+     */
+    private static final int POLL_DELAY = 1;
+
+    /**
+     * The service scheduling the generations.
+     */
+    @SpringBean
+    private IGenerationSchedulerService generationSchedulerService;
+
+    /**
+     * Constructor.
+     */
+    public GenerationJobResource() {
+        Injector.get().inject(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ResourceResponse newResourceResponse(Attributes attributes) {
+        final ResourceResponse response = new ResourceResponse();
+        final String id = attributes.getParameters().get(ID).toOptionalString();
+        final GenerationJob job = id == null ? null : generationSchedulerService.findJob(id);
+        if (job == null) {
+            return response.setError(HttpServletResponse.SC_NOT_FOUND, "Unknown or expired job");
+        }
+        if (!job.getArchive().isDone()) {
+            return pending(response, job);
+        }
+        // The archive is sent once, the job is forgotten as soon as it is done
+        generationSchedulerService.forget(job);
+        try {
+            return ProjectArchiveResource.writeArchive(response, job.getFileName(), job.getArchive().join());
+        } catch (CompletionException e) {
+            return response.setError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "The generation failed");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void configureCache(ResourceResponse data, Attributes attributes) {
+        // The same URL answers 202 then the archive
+        ((WebResponse) attributes.getResponse()).setHeader("Cache-Control", "no-store");
+    }
+
+    /**
+     * Prepare the response of a job still running: a 202 response pointing to the job.
+     *
+     * @param response The response.
+     * @param job      The job.
+     * @return The response.
+     */
+    static ResourceResponse pending(ResourceResponse response, GenerationJob job) {
+        final RequestCycle cycle = RequestCycle.get();
+        final String url = cycle.getUrlRenderer().renderFullUrl(Url.parse(
+                cycle.urlFor(GenerationJobResourceReference.get(), new PageParameters().set(ID, job.getId()))));
+        response.getHeaders().addHeader("Location", url);
+        response.getHeaders().addHeader("Retry-After", Integer.toString(POLL_DELAY));
+        response.getHeaders().addHeader("Refresh", POLL_DELAY + "; url=" + url);
+        final String text = "The project is being generated, it will be available at " + url;
+        response.setStatusCode(HttpServletResponse.SC_ACCEPTED);
+        response.setContentType("text/plain");
+        response.setTextEncoding(StandardCharsets.UTF_8.name());
+        response.setWriteCallback(new WriteCallback() {
+            @Override
+            public void writeData(Attributes attributes) {
+                attributes.getResponse().write(text);
+            }
+        });
+        return response;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.resources;
+
+import org.apache.wicket.request.resource.IResource;
+import org.apache.wicket.request.resource.ResourceReference;
+
+/**
+ * The reference of the resource polled while a long generation runs.
+ */
+public class GenerationJobResourceReference extends ResourceReference {
+
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The mount path of the resource.
+     */
+    public static final String MOUNT_PATH = "/starter/jobs/${" + GenerationJobResource.ID + "}";
+
+    /**
+     * The unique instance.
+     */
+    private static final GenerationJobResourceReference INSTANCE = new GenerationJobResourceReference();
+
+    /**
+     * The resource, created on the first request.
+     */
+    private transient GenerationJobResource resource;
+
+    /**
+     * Constructor.
+     */
+    private GenerationJobResourceReference() {
+        super(GenerationJobResourceReference.class, "generation-job");
+    }
+
+    /**
+     * Get the unique instance.
+     *
+     * @return The unique instance.
+     */
+    public static GenerationJobResourceReference get() {
+        return INSTANCE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IResource getResource() {
+        if (resource == null) {
+            resource = new GenerationJobResource();
+        }
+        return resource;
+    }
+}
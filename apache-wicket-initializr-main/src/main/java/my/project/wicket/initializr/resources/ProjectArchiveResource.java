@@ -0,0 +1,339 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.resources;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import my.project.wicket.initializr.beans.ArtifactCoordinates;
+import my.project.wicket.initializr.beans.GenerationJob;
+import my.project.wicket.initializr.beans.ProjectViewBean;
+import my.project.wicket.initializr.pages.Packaging;
+import my.project.wicket.initializr.pages.ProjectType;
+import my.project.wicket.initializr.services.GenerationRejectedException;
+import my.project.wicket.initializr.services.IGenerationSchedulerService;
+import my.project.wicket.initializr.services.IProjectGeneratorService;
+import my.project.wicket.initializr.services.IVersionCatalogService;
+import org.apache.wicket.injection.Injector;
+import org.apache.wicket.request.cycle.IRequestCycleListener;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.request.http.WebRequest;
+import org.apache.wicket.request.http.WebResponse;
+import org.apache.wicket.request.mapper.parameter.PageParameters;
+import org.apache.wicket.request.resource.AbstractResource;
+import org.apache.wicket.request.resource.ContentDisposition;
+import org.apache.wicket.spring.injection.annot.SpringBean;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * The resource sending a generated project as a ZIP archive. The archive has a strong ETag derived from its key, so
+ * the browsers downloading the same project again get a 304 response without body.
+ * <p>
+ * The archives not yet cached are generated by the scheduler: the archive generated by the worker is streamed in the
+ * response when a worker is idle, the response is a 202 pointing to the job to poll when all the workers are busy, and
+ * a 503 or 429 response with a Retry-After header when the scheduler is saturated.
+ * <p>
+ * The generations are counted by client address. Behind a reverse proxy, the address is the one forwarded by the
+ * proxy in X-Forwarded-For ({@code server.forward-headers-strategy} in application.yml), not the proxy's own.
+ */
+public class ProjectArchiveResource extends AbstractResource {
+
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The parameter of the group.
+     */
+    public static final String GROUP = "group";
+
+    /**
+     * The parameter of the artifact.
+     */
+    public static final String ARTIFACT = "artifact";
+
+    /**
+     * The parameter of the name.
+     */
+    public static final String NAME = "name";
+
+    /**
+     * The parameter of the description.
+     */
+    public static final String DESCRIPTION = "description";
+
+    /**
+     * The parameter of the package name.
+     */
+    public static final String PACKAGE_NAME = "packageName";
+
+    /**
+     * The parameter of the project type.
+     */
+    public static final String PROJECT_TYPE = "type";
+
+    /**
+     * The parameter of the packaging.
+     */
+    public static final String PACKAGING = "packaging";
+
+    /**
+     * The parameter of the version of Apache Wicket.
+     */
+    public static final String WICKET_VERSION = "wicketVersion";
+
+    /**
+     * The content type of the archive.
+     */
+    private static final String CONTENT_TYPE = "application/zip";
+
+    /**
+     * The header of the ETag.
+     */
+    private static final String ETAG = "ETag";
+
+    /**
+     * The header of the ETags known by the client.
+     */
+    private static final String IF_NONE_MATCH = "If-None-Match";
+
+    /**
+     * The header of the delay after which a rejected client should try again.
+     */
+    private static final String RETRY_AFTER = "Retry-After";
+
+    /**
+     * The status of a client sending too many requests.
+     */
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    /**
+     * The service generating the projects.
+     */
+    @SpringBean
+    private IProjectGeneratorService projectGeneratorService;
+
+    /**
+     * The service scheduling the generations.
+     */
+    @SpringBean
+    private IGenerationSchedulerService generationSchedulerService;
+
+    /**
+     * The catalog of the versions.
+     */
+    @SpringBean
+    private IVersionCatalogService versionCatalogService;
+
+    /**
+     * Constructor.
+     */
+    public ProjectArchiveResource() {
+        Injector.get().inject(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ResourceResponse newResourceResponse(Attributes attributes) {
+        final ResourceResponse response = new ResourceResponse();
+        final ProjectViewBean project = toProject(attributes.getParameters());
+        final List<String> errors = project.validate(versionCatalogService.getIndex(ArtifactCoordinates.WICKET_CORE));
+        if (!errors.isEmpty()) {
+            return response.setError(HttpServletResponse.SC_BAD_REQUEST, String.join(", ", errors));
+        }
+
+        final String etag = '"' + projectGeneratorService.getArchiveKey(project) + '"';
+        if (matches(etag, ((WebRequest) attributes.getRequest()).getHeader(IF_NONE_MATCH))) {
+            response.getHeaders().addHeader(ETAG, etag);
+            return response.setStatusCode(HttpServletResponse.SC_NOT_MODIFIED);
+        }
+
+        // The archives already generated don't need a worker
+        final byte[] cached = projectGeneratorService.findCachedArchive(project);
+        if (cached != null) {
+            response.getHeaders().addHeader(ETAG, etag);
+            return writeArchive(response, project.getArtifact() + ".zip", cached);
+        }
+
+        final GenerationJob job;
+        try {
+            job = generationSchedulerService.submit(project, getClientId(attributes));
+        } catch (GenerationRejectedException e) {
+            response.getHeaders().addHeader(RETRY_AFTER, Long.toString(Math.max(1, e.getRetryAfter().toSeconds())));
+            final int status = e.getReason() == GenerationRejectedException.Reason.SATURATED
+                    ? HttpServletResponse.SC_SERVICE_UNAVAILABLE
+                    : TOO_MANY_REQUESTS;
+            // Wicket sends no body with a status above 300, the status and the header are enough for the clients
+            return response.setStatusCode(status);
+        }
+
+        if (!job.isStreamed()) {
+            // All the workers are busy, the client polls the job instead of holding the request
+            return GenerationJobResource.pending(response, job);
+        }
+
+        // Closing the pipe at the end of the request stops the worker, even when the archive is never written
+        RequestCycle.get().getListeners().add(new IRequestCycleListener() {
+            @Override
+            public void onDetach(RequestCycle cycle) {
+                closeInput(job);
+            }
+        });
+        response.getHeaders().addHeader(ETAG, etag);
+        prepareArchive(response, job.getFileName());
+        response.setWriteCallback(new WriteCallback() {
+            @Override
+            public void writeData(Attributes attributes) throws IOException {
+                // The archive is written in the response while the worker generates it
+                try (InputStream input = job.getInput()) {
+                    input.transferTo(attributes.getResponse().getOutputStream());
+                }
+            }
+        });
+        return response;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void configureCache(ResourceResponse data, Attributes attributes) {
+        // The browser may keep the archive, provided it checks the ETag before using it
+        ((WebResponse) attributes.getResponse()).setHeader("Cache-Control", "private, no-cache");
+    }
+
+    /**
+     * Prepare a response sending an archive.
+     *
+     * @param response The response.
+     * @param fileName The name of the file of the archive.
+     * @param archive  The archive.
+     * @return The response.
+     */
+    static ResourceResponse writeArchive(ResourceResponse response, String fileName, byte[] archive) {
+        prepareArchive(response, fileName);
+        response.setContentLength(archive.length);
+        response.setWriteCallback(new WriteCallback() {
+            @Override
+            public void writeData(Attributes attributes) {
+                attributes.getResponse().write(archive);
+            }
+        });
+        return response;
+    }
+
+    /**
+     * Set the headers of a response sending an archive.
+     *
+     * @param response The response.
+     * @param fileName The name of the file of the archive.
+     */
+    private static void prepareArchive(ResourceResponse response, String fileName) {
+        response.setContentType(CONTENT_TYPE);
+        response.setContentDisposition(ContentDisposition.ATTACHMENT);
+        response.setFileName(fileName);
+    }
+
+    /**
+     * Close the archive of a streamed job, so its worker stops writing in the pipe.
+     *
+     * @param job The job.
+     */
+    private static void closeInput(GenerationJob job) {
+        try {
+            job.getInput().close();
+        } catch (IOException e) {
+            // Closing a pipe never fails
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Get the identifier of the client counted by the scheduler: its address, as forwarded by the reverse proxy.
+     *
+     * @param attributes The attributes of the request.
+     * @return The identifier of the client.
+     */
+    static String getClientId(Attributes attributes) {
+        return ((HttpServletRequest) attributes.getRequest().getContainerRequest()).getRemoteAddr();
+    }
+
+    /**
+     * Tell if an ETag is one of the ETags known by the client.
+     *
+     * @param etag        The ETag.
+     * @param ifNoneMatch The value of the If-None-Match header, may be null.
+     * @return True if the client already has the archive.
+     */
+    private static boolean matches(String etag, String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Convert a project to the parameters of the resource.
+     *
+     * @param project The project.
+     * @return The parameters of the resource.
+     */
+    public static PageParameters toPageParameters(ProjectViewBean project) {
+        final PageParameters parameters = new PageParameters();
+        parameters.set(GROUP, project.getGroup());
+        parameters.set(ARTIFACT, project.getArtifact());
+        parameters.set(NAME, project.getName());
+        parameters.set(DESCRIPTION, project.getDescription());
+        parameters.set(PACKAGE_NAME, project.getPackageName());
+        parameters.set(PROJECT_TYPE, project.getProjectType().getValue());
+        parameters.set(PACKAGING, project.getPackaging().getValue());
+        parameters.set(WICKET_VERSION, project.getWicketVersion());
+        return parameters;
+    }
+
+    /**
+     * Convert the parameters of the resource to a project.
+     *
+     * @param parameters The parameters of the resource.
+     * @return The project.
+     */
+    public static ProjectViewBean toProject(PageParameters parameters) {
+        return new ProjectViewBean(
+                parameters.get(GROUP).toOptionalString(),
+                parameters.get(ARTIFACT).toOptionalString(),
+                parameters.get(NAME).toOptionalString(),
+                parameters.get(DESCRIPTION).toOptionalString(),
+                parameters.get(PACKAGE_NAME).toOptionalString(),
+                ProjectType.fromValue(parameters.get(PROJECT_TYPE).toString(ProjectType.MAVEN.getValue())),
+                Packaging.fromValue(parameters.get(PACKAGING).toString(Packaging.EXECUTABLE_JAR.getValue())),
+                parameters.get(WICKET_VERSION).toOptionalString());
+    }
+}
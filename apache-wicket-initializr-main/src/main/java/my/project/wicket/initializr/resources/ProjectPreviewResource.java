@@ -0,0 +1,148 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.resources;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.http.HttpServletResponse;
+import my.project.wicket.initializr.beans.ArtifactCoordinates;
+import my.project.wicket.initializr.beans.ProjectPreviewFile;
+import my.project.wicket.initializr.beans.ProjectViewBean;
+import my.project.wicket.initializr.services.IProjectPreviewService;
+import my.project.wicket.initializr.services.IVersionCatalogService;
+import org.apache.wicket.injection.Injector;
+import org.apache.wicket.request.http.WebResponse;
+import org.apache.wicket.request.resource.AbstractResource;
+import org.apache.wicket.spring.injection.annot.SpringBean;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The resource previewing a generated project, for the preview next to the form of the home page.
+ * <p>
+ * With the parameters of {@link ProjectArchiveResource}, the response lists the files of the project as JSON, each
+ * with the tag of its content. With the {@value #FILE} parameter, the response is the content of a file. The content
+ * of a tag never changes, so the browsers keep it and a file already seen for another configuration is never
+ * downloaded again.
+ */
+public class ProjectPreviewResource extends AbstractResource {
+
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The parameter of the tag of a file.
+     */
+    public static final String FILE = "file";
+
+    /**
+     * The JSON mapper, not injected for the same reason as in {@link BatchGenerationResource}.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * The service previewing the projects.
+     */
+    @SpringBean
+    private IProjectPreviewService projectPreviewService;
+
+    /**
+     * The catalog of the versions.
+     */
+    @SpringBean
+    private IVersionCatalogService versionCatalogService;
+
+    /**
+     * Constructor.
+     */
+    public ProjectPreviewResource() {
+        Injector.get().inject(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ResourceResponse newResourceResponse(Attributes attributes) {
+        final ResourceResponse response = new ResourceResponse();
+        final String etag = attributes.getParameters().get(FILE).toOptionalString();
+        if (etag != null) {
+            final String content = projectPreviewService.getContent(etag);
+            if (content == null) {
+                return response.setError(HttpServletResponse.SC_NOT_FOUND, "Unknown or expired file");
+            }
+            return write(response, "text/plain", content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        final ProjectViewBean project = ProjectArchiveResource.toProject(attributes.getParameters());
+        final List<String> errors = project.validate(versionCatalogService.getIndex(ArtifactCoordinates.WICKET_CORE));
+        if (!errors.isEmpty()) {
+            return response.setError(HttpServletResponse.SC_BAD_REQUEST, String.join(", ", errors));
+        }
+        final ObjectNode json = OBJECT_MAPPER.createObjectNode();
+        final ArrayNode files = json.putArray("files");
+        for (ProjectPreviewFile file : projectPreviewService.getFiles(project)) {
+            files.addObject()
+                    .put("path", file.getPath())
+                    .put("etag", file.getEtag());
+        }
+        try {
+            return write(response, "application/json", OBJECT_MAPPER.writeValueAsBytes(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to write the preview", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void configureCache(ResourceResponse data, Attributes attributes) {
+        final WebResponse response = (WebResponse) attributes.getResponse();
+        if (attributes.getParameters().get(FILE).isEmpty() || data.getErrorCode() != null) {
+            // The files of a configuration change with the catalog of the versions, and an expired file may come back
+            response.setHeader("Cache-Control", "no-store");
+        } else {
+            response.setHeader("Cache-Control", "public, max-age=31536000, immutable");
+        }
+    }
+
+    /**
+     * Prepare a response sending a text.
+     *
+     * @param response    The response.
+     * @param contentType The content type of the text.
+     * @param bytes       The text, in UTF-8.
+     * @return The response.
+     */
+    private static ResourceResponse write(ResourceResponse response, String contentType, byte[] bytes) {
+        response.setContentType(contentType);
+        response.setTextEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(bytes.length);
+        response.setWriteCallback(new WriteCallback() {
+            @Override
+            public void writeData(Attributes attributes) {
+                attributes.getResponse().write(bytes);
+            }
+        });
+        return response;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.resources;
+
+import jakarta.servlet.http.HttpServletResponse;
+import my.project.wicket.initializr.assets.StaticAssets;
+import org.apache.wicket.request.http.WebRequest;
+import org.apache.wicket.request.http.WebResponse;
+import org.apache.wicket.request.resource.AbstractResource;
+
+/**
+ * The resource serving the static assets prepared at build time. The names of the assets contain the hash of their
+ * content, so the browsers may keep them forever. The gzipped variant is sent to the browsers accepting it.
+ */
+public class StaticAssetResource extends AbstractResource {
+
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The parameter of the fingerprinted name of the asset.
+     */
+    public static final String NAME = "name";
+
+    /**
+     * The header of the encodings accepted by the client.
+     */
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+    /**
+     * The gzip encoding.
+     */
+    private static final String GZIP = "gzip";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ResourceResponse newResourceResponse(Attributes attributes) {
+        final ResourceResponse response = new ResourceResponse();
+        final String name = attributes.getParameters().get(NAME).toOptionalString();
+        final StaticAssets.Asset asset = name == null ? null : StaticAssets.get().find(name);
+        if (asset == null) {
+            return response.setError(HttpServletResponse.SC_NOT_FOUND);
+        }
+
+        byte[] body = asset.getContent();
+        if (asset.getGzippedContent() != null) {
+            response.getHeaders().addHeader("Vary", ACCEPT_ENCODING);
+            if (acceptsGzip(((WebRequest) attributes.getRequest()).getHeader(ACCEPT_ENCODING))) {
+                response.getHeaders().addHeader("Content-Encoding", GZIP);
+                body = asset.getGzippedContent();
+            }
+        }
+
+        final byte[] content = body;
+        response.setContentType(asset.getContentType());
+        response.setContentLength(content.length);
+        response.setWriteCallback(new WriteCallback() {
+            @Override
+            public void writeData(Attributes attributes) {
+                attributes.getResponse().write(content);
+            }
+        });
+        return response;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void configureCache(ResourceResponse data, Attributes attributes) {
+        final WebResponse response = (WebResponse) attributes.getResponse();
+        if (data.getErrorCode() != null) {
+            // An unknown name may be served by the next deployment
+            response.setHeader("Cache-Control", "no-store");
+        } else {
+            // A new content means a new name, so the browsers never have to check the assets again
+            response.setHeader("Cache-Control", "public, max-age=31536000, immutable");
+        }
+    }
+
+    /**
+     * Tell if a client accepts the gzip encoding.
+     *
+     * @param acceptEncoding The value of the Accept-Encoding header, may be null.
+     * @return True if the client accepts the gzip encoding.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String candidate : acceptEncoding.split(",")) {
+            final String[] parts = candidate.split(";");
+            final String coding = parts[0].trim();
+            if (coding.equalsIgnoreCase(GZIP) || coding.equals("*")) {
+                return parts.length < 2 || !isZeroQuality(parts[1]);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tell if a quality parameter refuses an encoding.
+     *
+     * @param parameter The parameter, e.g. "q=0.5".
+     * @return True if the quality is zero.
+     */
+    private static boolean isZeroQuality(String parameter) {
+        final String value = parameter.trim();
+        if (!value.startsWith("q=")) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(value.substring(2)) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.resources;
+
+import my.project.wicket.initializr.assets.StaticAssets;
+import org.apache.wicket.request.mapper.parameter.PageParameters;
+import org.apache.wicket.request.resource.IResource;
+import org.apache.wicket.request.resource.ResourceReference;
+
+/**
+ * The reference of the resource serving the static assets.
+ */
+public class StaticAssetResourceReference extends ResourceReference {
+
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The mount path of the resource.
+     */
+    public static final String MOUNT_PATH = "/assets/${" + StaticAssetResource.NAME + "}";
+
+    /**
+     * The unique instance.
+     */
+    private static final StaticAssetResourceReference INSTANCE = new StaticAssetResourceReference();
+
+    /**
+     * The resource, created on the first request.
+     */
+    private transient StaticAssetResource resource;
+
+    /**
+     * Constructor.
+     */
+    private StaticAssetResourceReference() {
+        super(StaticAssetResourceReference.class, "static-asset");
+    }
+
+    /**
+     * Get the unique instance.
+     *
+     * @return The unique instance.
+     */
+    public static StaticAssetResourceReference get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the parameters of the reference for an asset.
+     *
+     * @param name The name of the asset, e.g. "style.css".
+     * @return The parameters pointing to the current version of the asset.
+     */
+    public static PageParameters parametersOf(String name) {
+        return new PageParameters().set(StaticAssetResource.NAME, StaticAssets.get().getFingerprintedName(name));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IResource getResource() {
+        if (resource == null) {
+            resource = new StaticAssetResource();
+        }
+        return resource;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.resources;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.http.HttpServletResponse;
+import my.project.wicket.initializr.beans.ArtifactCoordinates;
+import my.project.wicket.initializr.beans.ArtifactVersionIndex;
+import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
+import my.project.wicket.initializr.services.IVersionCatalogService;
+import org.apache.wicket.injection.Injector;
+import org.apache.wicket.request.http.WebResponse;
+import org.apache.wicket.request.mapper.parameter.PageParameters;
+import org.apache.wicket.request.resource.AbstractResource;
+import org.apache.wicket.spring.injection.annot.SpringBean;
+import org.apache.wicket.util.string.StringValueConversionException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The resource searching the versions of an artifact as they are typed, answered from the index of the catalog:
+ * <pre>
+ * GET /api/versions?q=10.1&amp;preReleases=true&amp;limit=10
+ * </pre>
+ * The response lists the versions starting with {@value #QUERY}, from the newest to the oldest. The artifact is
+ * 'org.apache.wicket:wicket-core' unless {@value #ARTIFACT} gives another artifact of the catalog. The search never
+ * waits for Maven Central: the unknown artifacts have no version.
+ */
+public class VersionSearchResource extends AbstractResource {
+
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The parameter of the beginning of the versions.
+     */
+    public static final String QUERY = "q";
+
+    /**
+     * The parameter of the artifact, as 'groupId:artifactId'.
+     */
+    public static final String ARTIFACT = "artifact";
+
+    /**
+     * The parameter including the pre-releases, false by default.
+     */
+    public static final String PRE_RELEASES = "preReleases";
+
+    /**
+     * The parameter of the maximum number of versions.
+     */
+    public static final String LIMIT = "limit";
+
+    /**
+     * The default number of versions.
+     */
+    private static final int DEFAULT_LIMIT = 20;
+
+    /**
+     * The largest number of versions.
+     */
+    private static final int MAX_LIMIT = 100;
+
+    /**
+     * The time the browsers keep a response, in seconds. The versions change at most at each refresh of the catalog.
+     */
+    private static final int MAX_AGE = 60;
+
+    /**
+     * The JSON mapper, not injected for the same reason as in {@link BatchGenerationResource}.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * The catalog of the versions.
+     */
+    @SpringBean
+    private IVersionCatalogService versionCatalogService;
+
+    /**
+     * Constructor.
+     */
+    public VersionSearchResource() {
+        Injector.get().inject(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ResourceResponse newResourceResponse(Attributes attributes) {
+        final ResourceResponse response = new ResourceResponse();
+        final PageParameters parameters = attributes.getParameters();
+        final ArtifactCoordinates coordinates;
+        final boolean preReleases;
+        final int limit;
+        try {
+            final String artifact = parameters.get(ARTIFACT).toOptionalString();
+            coordinates = artifact == null ? ArtifactCoordinates.WICKET_CORE : ArtifactCoordinates.parse(artifact);
+            preReleases = parameters.get(PRE_RELEASES).toBoolean(false);
+            limit = parameters.get(LIMIT).toInt(DEFAULT_LIMIT);
+        } catch (IllegalArgumentException | StringValueConversionException e) {
+            return response.setError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return response.setError(HttpServletResponse.SC_BAD_REQUEST,
+                    "'" + LIMIT + "' must be between 1 and " + MAX_LIMIT);
+        }
+
+        final ArtifactVersionIndex index = versionCatalogService.getIndex(coordinates);
+        final String prefix = parameters.get(QUERY).toString("").trim();
+        final List<ArtifactVersionViewBean> versions = index.search(prefix, preReleases, limit);
+        final ObjectNode json = OBJECT_MAPPER.createObjectNode();
+        final ArrayNode array = json.putArray("versions");
+        for (ArtifactVersionViewBean version : versions) {
+            array.addObject()
+                    .put("version", version.getVersion())
+                    .put("major", version.getMajor())
+                    .put("preRelease", version.getKey().isPreRelease());
+        }
+        final ArtifactVersionViewBean latestRelease = index.getLatestRelease();
+        json.put("latestRelease", latestRelease == null ? null : latestRelease.getVersion());
+
+        final byte[] bytes;
+        try {
+            bytes = OBJECT_MAPPER.writeValueAsBytes(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to write the versions", e);
+        }
+        response.setContentType("application/json");
+        response.setTextEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(bytes.length);
+        response.setWriteCallback(new WriteCallback() {
+            @Override
+            public void writeData(Attributes attributes) {
+                attributes.getResponse().write(bytes);
+            }
+        });
+        return response;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void configureCache(ResourceResponse data, Attributes attributes) {
+        final WebResponse response = (WebResponse) attributes.getResponse();
+        if (data.getErrorCode() != null) {
+            response.setHeader("Cache-Control", "no-store");
+        } else {
+            response.setHeader("Cache-Control", "public, max-age=" + MAX_AGE);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import my.project.wicket.initializr.beans.ArtifactCoordinates;
+import my.project.wicket.initializr.beans.ArtifactVersionIndex;
+import my.project.wicket.initializr.beans.BatchProjectResult;
+import my.project.wicket.initializr.beans.ProjectViewBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The service generating the batches of projects.
+ * <p>
+ * The projects of a batch are scheduled on the workers of the interactive generations, with the same bounded queue
+ * and the same limit per client, a few projects of the batch at a time. A batch rejected from its first project is
+ * answered like a rejected download, the later projects rejected while the workers are busy are scheduled again
+ * after the Retry-After delay. The skeletons are prepared once per batch before the projects are
+ * generated, so the projects share the same templates and versions instead of preparing them concurrently. Only a
+ * few batches run at the same time, the others are rejected with a delay after which to try again.
+ */
+@Service
+public class BatchGenerationService implements IBatchGenerationService {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchGenerationService.class);
+
+    /**
+     * The service scheduling the generations.
+     */
+    private final IGenerationSchedulerService generationSchedulerService;
+
+    /**
+     * The service providing the skeletons of the projects.
+     */
+    private final IProjectSkeletonService projectSkeletonService;
+
+    /**
+     * The catalog of the versions.
+     */
+    private final IVersionCatalogService versionCatalogService;
+
+    /**
+     * The number of projects of a batch scheduled at the same time.
+     */
+    private final int parallelism;
+
+    /**
+     * The maximum number of projects in a batch.
+     */
+    private final int maxProjects;
+
+    /**
+     * The permits of the running batches.
+     */
+    private final Semaphore batches;
+
+    /**
+     * The delay after which a rejected client should try again.
+     */
+    private final Duration retryAfter;
+
+    /**
+     * The number of projects of the batches.
+     */
+    private final DistributionSummary batchSizes;
+
+    /**
+     * Create a new instance of the BatchGenerationService.
+     *
+     * @param generationSchedulerService The service scheduling the generations.
+     * @param projectSkeletonService     The service providing the skeletons of the projects.
+     * @param versionCatalogService      The catalog of the versions.
+     * @param parallelism                The number of projects of a batch scheduled at the same time.
+     * @param maxProjects                The maximum number of projects in a batch.
+     * @param maxConcurrentBatches       The maximum number of batches running at the same time.
+     * @param retryAfter                 The delay after which a rejected client should try again.
+     * @param meterRegistry              The registry of the metrics.
+     */
+    public BatchGenerationService(IGenerationSchedulerService generationSchedulerService,
+                                  IProjectSkeletonService projectSkeletonService,
+                                  IVersionCatalogService versionCatalogService,
+                                  @Value("${initializr.batch.parallelism:2}") int parallelism,
+                                  @Value("${initializr.batch.max-projects:50}") int maxProjects,
+                                  @Value("${initializr.batch.max-concurrent-batches:2}") int maxConcurrentBatches,
+                                  @Value("${initializr.generation.retry-after:PT5S}") Duration retryAfter,
+                                  MeterRegistry meterRegistry) {
+        this.generationSchedulerService = generationSchedulerService;
+        this.projectSkeletonService = projectSkeletonService;
+        this.versionCatalogService = versionCatalogService;
+        this.parallelism = Math.max(1, parallelism);
+        this.maxProjects = maxProjects;
+        this.batches = new Semaphore(maxConcurrentBatches);
+        this.retryAfter = retryAfter;
+
+        this.batchSizes = DistributionSummary.builder("initializr.batch.projects")
+                .description("The number of projects of the batches")
+                .register(meterRegistry);
+        Gauge.builder("initializr.batch.running", batches, permits -> maxConcurrentBatches - permits.availablePermits())
+                .description("The number of batches being generated")
+                .register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> validate(List<ProjectViewBean> projects) {
+        final List<String> errors = new ArrayList<>();
+        if (projects.isEmpty()) {
+            errors.add("The batch has no project");
+        } else if (projects.size() > maxProjects) {
+            errors.add("The batch has more than " + maxProjects + " projects");
+        }
+        final ArtifactVersionIndex wicketVersions = versionCatalogService.getIndex(ArtifactCoordinates.WICKET_CORE);
+        final Set<String> artifacts = new HashSet<>();
+        for (int i = 0; i < projects.size(); i++) {
+            final ProjectViewBean project = projects.get(i);
+            for (String error : project.validate(wicketVersions)) {
+                errors.add("Project " + i + ": " + error);
+            }
+            if (project.getArtifact() != null && !artifacts.add(project.getArtifact())) {
+                errors.add("Project " + i + ": Duplicate artifact: " + project.getArtifact());
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<CompletableFuture<BatchProjectResult>> submit(List<ProjectViewBean> projects, String clientId) {
+        if (!batches.tryAcquire()) {
+            throw new GenerationRejectedException(GenerationRejectedException.Reason.SATURATED, retryAfter);
+        }
+        try {
+            batchSizes.record(projects.size());
+            prepareSkeletons(projects);
+
+            final BatchRun batch = new BatchRun(projects, clientId);
+            batch.start();
+            CompletableFuture.allOf(batch.results.toArray(new CompletableFuture<?>[0])).whenComplete((done, failure) -> batches.release());
+            return batch.results;
+        } catch (RuntimeException e) {
+            batches.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Prepare the skeletons of a batch once, before the projects are generated in parallel: many projects of a batch
+     * share the same skeleton, which would otherwise be prepared by each of them at the same time.
+     *
+     * @param projects The projects of the batch.
+     */
+    private void prepareSkeletons(List<ProjectViewBean> projects) {
+        final Set<List<Object>> prepared = new HashSet<>();
+        for (ProjectViewBean project : projects) {
+            if (prepared.add(List.of(project.getProjectType(), project.getPackaging(), project.getWicketVersion()))) {
+                projectSkeletonService.getSkeleton(project.getProjectType(), project.getPackaging(), project.getWicketVersion());
+            }
+        }
+    }
+
+    /**
+     * Get the time elapsed since an instant.
+     *
+     * @param start The instant, from {@link System#nanoTime()}.
+     * @return The time elapsed, in milliseconds.
+     */
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * A batch being generated: its projects are scheduled in turn, with at most {@link #parallelism} of them
+     * scheduled at the same time.
+     */
+    private final class BatchRun {
+
+        /**
+         * The projects of the batch.
+         */
+        private final List<ProjectViewBean> projects;
+
+        /**
+         * The identifier of the client which posted the batch.
+         */
+        private final String clientId;
+
+        /**
+         * The results of the projects, in the order of the batch.
+         */
+        private final List<CompletableFuture<BatchProjectResult>> results;
+
+        /**
+         * The index of the next project to schedule.
+         */
+        private final AtomicInteger next = new AtomicInteger();
+
+        /**
+         * Constructor.
+         *
+         * @param projects The projects of the batch.
+         * @param clientId The identifier of the client which posted the batch.
+         */
+        private BatchRun(List<ProjectViewBean> projects, String clientId) {
+            this.projects = projects;
+            this.clientId = clientId;
+            this.results = new ArrayList<>(projects.size());
+            for (int i = 0; i < projects.size(); i++) {
+                results.add(new CompletableFuture<>());
+            }
+        }
+
+        /**
+         * Schedule the first projects of the batch.
+         *
+         * @throws GenerationRejectedException If the first project is rejected, nothing of the batch is scheduled.
+         */
+        private void start() {
+            final int first = next.getAndIncrement();
+            collect(first, System.nanoTime(), generationSchedulerService.schedule(projects.get(first), clientId));
+            for (int i = 1; i < parallelism; i++) {
+                scheduleNext();
+            }
+        }
+
+        /**
+         * Schedule the next project of the batch, if any.
+         */
+        private void scheduleNext() {
+            final int index = next.getAndIncrement();
+            if (index < projects.size()) {
+                trySchedule(index, System.nanoTime());
+            }
+        }
+
+        /**
+         * Schedule a project, or try again later if the workers are busy.
+         *
+         * @param index The index of the project.
+         * @param start The instant the project was first scheduled, from {@link System#nanoTime()}.
+         */
+        private void trySchedule(int index, long start) {
+            final CompletableFuture<byte[]> archive;
+            try {
+                archive = generationSchedulerService.schedule(projects.get(index), clientId);
+            } catch (GenerationRejectedException e) {
+                CompletableFuture.delayedExecutor(e.getRetryAfter().toMillis(), TimeUnit.MILLISECONDS)
+                        .execute(() -> trySchedule(index, start));
+                return;
+            }
+            collect(index, start, archive);
+        }
+
+        /**
+         * Complete the result of a scheduled project once generated, then schedule the next project.
+         *
+         * @param index   The index of the project.
+         * @param start   The instant the project was first scheduled, from {@link System#nanoTime()}.
+         * @param archive The archive of the project, completed by the worker.
+         */
+        private void collect(int index, long start, CompletableFuture<byte[]> archive) {
+            final ProjectViewBean project = projects.get(index);
+            archive.whenComplete((bytes, failure) -> {
+                if (failure == null) {
+                    results.get(index).complete(new BatchProjectResult(index, project, bytes, null, elapsedMillis(start)));
+                } else {
+                    LOGGER.warn("The generation of {} in a batch failed", project.getArtifact(), failure);
+                    results.get(index).complete(new BatchProjectResult(index, project, null, "The generation failed", elapsedMillis(start)));
+                }
+                scheduleNext();
+            });
+        }
+    }
+}
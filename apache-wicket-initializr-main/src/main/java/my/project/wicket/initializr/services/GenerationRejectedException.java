@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import java.time.Duration;
+
+/**
+ * The exception thrown when a generation can't be accepted now. The client should try again after a delay.
+ */
+public class GenerationRejectedException extends RuntimeException {
+
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The reasons of a rejection.
+     */
+    public enum Reason {
+
+        /**
+         * All the workers are busy and the queue is full.
+         */
+        SATURATED,
+
+        /**
+         * The client has too many generations queued or running.
+         */
+        CLIENT_LIMIT
+    }
+
+    /**
+     * The reason of the rejection.
+     */
+    private final Reason reason;
+
+    /**
+     * The delay after which the client should try again.
+     */
+    private final Duration retryAfter;
+
+    /**
+     * Constructor.
+     *
+     * @param reason     The reason of the rejection.
+     * @param retryAfter The delay after which the client should try again.
+     */
+    public GenerationRejectedException(Reason reason, Duration retryAfter) {
+        super(reason == Reason.SATURATED ? "Too many projects are being generated" : "Too many projects are being generated for this client");
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Get the reason of the rejection.
+     *
+     * @return The reason of the rejection.
+     */
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * Get the delay after which the client should try again.
+     *
+     * @return The delay.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
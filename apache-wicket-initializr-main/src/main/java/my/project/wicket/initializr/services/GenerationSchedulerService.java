@@ -0,0 +1,450 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import my.project.wicket.initializr.beans.GenerationJob;
+import my.project.wicket.initializr.beans.ProjectViewBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The service scheduling the generations of the projects.
+ * <p>
+ * The generations run on a fixed pool of workers fed by a bounded queue. When the queue is full, or when a client
+ * already has too many generations queued or running, the generation is rejected at once instead of waiting, so the
+ * clients are told to come back later. The limit by client is only a cap: it keeps a single client from filling the
+ * queue, but the workers are still taken in the order of the submissions, not shared between the clients.
+ * <p>
+ * A job submitted while a worker is idle is streamed: the worker generates the archive in a pipe read by the request,
+ * so the archive is never held in memory. Otherwise the job is polled: the request answers at once, and the worker
+ * generates the archive in a buffer capped by {@code max-polled-archive-size} once it takes the job. Only the polled
+ * jobs are kept, until they are downloaded or expire, so no request thread waits for a worker.
+ * <p>
+ * The projects of the batches are scheduled on the same workers, with the same limits.
+ */
+@Service
+public class GenerationSchedulerService implements IGenerationSchedulerService {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationSchedulerService.class);
+
+    /**
+     * The service generating the projects.
+     */
+    private final IProjectGeneratorService projectGeneratorService;
+
+    /**
+     * The workers and their queue.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * The number of workers.
+     */
+    private final int poolSize;
+
+    /**
+     * The number of generations queued or running, for all the clients.
+     */
+    private final AtomicInteger busy = new AtomicInteger();
+
+    /**
+     * The maximum number of generations queued or running for a client.
+     */
+    private final int maxJobsPerClient;
+
+    /**
+     * The maximum size of the archive of a polled job.
+     */
+    private final int maxPolledArchiveSize;
+
+    /**
+     * The delay after which a rejected client should try again.
+     */
+    private final Duration retryAfter;
+
+    /**
+     * The time the archive of a finished job is kept.
+     */
+    private final Duration resultTimeToLive;
+
+    /**
+     * The polled jobs, by identifier.
+     */
+    private final ConcurrentMap<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * The number of generations queued or running, by client.
+     */
+    private final ConcurrentMap<String, Integer> pendingJobs = new ConcurrentHashMap<>();
+
+    /**
+     * The counter of the generations rejected because the queue is full.
+     */
+    private final Counter saturatedRejections;
+
+    /**
+     * The counter of the generations rejected because of the limit of a client.
+     */
+    private final Counter clientLimitRejections;
+
+    /**
+     * Create a new instance of the GenerationSchedulerService.
+     *
+     * @param projectGeneratorService The service generating the projects.
+     * @param workers                 The number of workers, 0 for the number of processors.
+     * @param queueSize               The maximum number of generations waiting for a worker.
+     * @param maxJobsPerClient        The maximum number of generations queued or running for a client.
+     * @param maxPolledArchiveSize    The maximum size of the archive of a polled job.
+     * @param retryAfter              The delay after which a rejected client should try again.
+     * @param resultTimeToLive        The time the archive of a finished job is kept.
+     * @param meterRegistry           The registry of the metrics.
+     */
+    public GenerationSchedulerService(IProjectGeneratorService projectGeneratorService,
+                                      @Value("${initializr.generation.workers:0}") int workers,
+                                      @Value("${initializr.generation.queue-size:64}") int queueSize,
+                                      @Value("${initializr.generation.max-jobs-per-client:4}") int maxJobsPerClient,
+                                      @Value("${initializr.generation.max-polled-archive-size:4MB}")
+                                      DataSize maxPolledArchiveSize,
+                                      @Value("${initializr.generation.retry-after:PT5S}") Duration retryAfter,
+                                      @Value("${initializr.generation.result-ttl:PT2M}") Duration resultTimeToLive,
+                                      MeterRegistry meterRegistry) {
+        this.projectGeneratorService = projectGeneratorService;
+        this.maxJobsPerClient = maxJobsPerClient;
+        this.maxPolledArchiveSize = (int) Math.min(Integer.MAX_VALUE, maxPolledArchiveSize.toBytes());
+        this.retryAfter = retryAfter;
+        this.resultTimeToLive = resultTimeToLive;
+
+        this.poolSize = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), new CustomizableThreadFactory("generation-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("initializr.generation.queue", executor, pool -> pool.getQueue().size())
+                .description("The number of generations waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("initializr.generation.jobs", jobs, ConcurrentMap::size)
+                .description("The number of polled jobs running or waiting to be downloaded")
+                .register(meterRegistry);
+        this.saturatedRejections = newRejectionCounter(GenerationRejectedException.Reason.SATURATED, meterRegistry);
+        this.clientLimitRejections = newRejectionCounter(GenerationRejectedException.Reason.CLIENT_LIMIT, meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GenerationJob submit(ProjectViewBean project, String clientId) {
+        acquire(clientId);
+        final boolean streamed = reserveIdleWorker();
+        final GenerationJob job = new GenerationJob(UUID.randomUUID().toString(), clientId,
+                project.getArtifact() + ".zip", streamed);
+        enqueue(clientId, streamed, () -> run(job, project));
+        if (!streamed) {
+            jobs.put(job.getId(), job);
+        }
+        return job;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<byte[]> schedule(ProjectViewBean project, String clientId) {
+        acquire(clientId);
+        final CompletableFuture<byte[]> archive = new CompletableFuture<>();
+        enqueue(clientId, false, () -> {
+            try {
+                archive.complete(generateInMemory(project));
+            } catch (IOException | RuntimeException e) {
+                archive.completeExceptionally(e);
+            }
+        });
+        return archive;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GenerationJob findJob(String id) {
+        final GenerationJob job = jobs.get(id);
+        return job == null || isExpired(job, Instant.now()) ? null : job;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forget(GenerationJob job) {
+        jobs.remove(job.getId(), job);
+    }
+
+    /**
+     * Forget the finished jobs whose archive was kept long enough.
+     */
+    @Scheduled(fixedDelayString = "${initializr.generation.eviction-interval:PT10S}")
+    public void evictExpiredJobs() {
+        final Instant now = Instant.now();
+        jobs.values().removeIf(job -> isExpired(job, now));
+    }
+
+    /**
+     * Stop the workers.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Generate the archive of a job: in the pipe read by the request for a streamed job, in memory for a polled job.
+     *
+     * @param job     The job.
+     * @param project The project to generate.
+     */
+    private void run(GenerationJob job, ProjectViewBean project) {
+        if (!job.isStreamed()) {
+            try {
+                job.complete(generateInMemory(project));
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("The generation of {} failed", job.getFileName(), e);
+                job.fail(e);
+            }
+            return;
+        }
+        try (OutputStream output = job.getOutput()) {
+            try {
+                projectGeneratorService.generate(project, output);
+                job.complete(null);
+            } catch (IOException | RuntimeException e) {
+                // Failed before closing the pipe, so the request doesn't end a truncated archive
+                LOGGER.debug("The streamed generation of {} stopped", job.getFileName(), e);
+                job.fail(e);
+            }
+        } catch (IOException e) {
+            // The request closed the pipe first
+            LOGGER.debug("The pipe of {} is already closed", job.getFileName(), e);
+        }
+    }
+
+    /**
+     * Reserve a worker for a streamed job, when one is idle. The reserved worker takes the job as soon as it is
+     * enqueued, as there are never more generations queued or running than workers when a worker is reserved.
+     *
+     * @return True if a worker is reserved, false if all the workers are busy.
+     */
+    private boolean reserveIdleWorker() {
+        int current = busy.get();
+        while (current < poolSize) {
+            if (busy.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = busy.get();
+        }
+        return false;
+    }
+
+    /**
+     * Run a generation on a worker, counted for its client until it ends.
+     *
+     * @param clientId   The identifier of the client, already counted.
+     * @param reserved   True if a worker is already reserved for the generation.
+     * @param generation The generation.
+     * @throws GenerationRejectedException If the queue is full.
+     */
+    private void enqueue(String clientId, boolean reserved, Runnable generation) {
+        if (!reserved) {
+            busy.incrementAndGet();
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generation.run();
+                } finally {
+                    busy.decrementAndGet();
+                    release(clientId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            busy.decrementAndGet();
+            release(clientId);
+            saturatedRejections.increment();
+            throw new GenerationRejectedException(GenerationRejectedException.Reason.SATURATED, retryAfter);
+        }
+    }
+
+    /**
+     * Generate an archive in memory, up to the maximum size of a polled archive.
+     *
+     * @param project The project to generate.
+     * @return The archive.
+     * @throws IOException If the generation failed or if the archive is too large.
+     */
+    private byte[] generateInMemory(ProjectViewBean project) throws IOException {
+        final CappedOutputStream archive = new CappedOutputStream(maxPolledArchiveSize);
+        projectGeneratorService.generate(project, archive);
+        return archive.toByteArray();
+    }
+
+    /**
+     * Count a new generation for a client, unless the client has reached its limit.
+     *
+     * @param clientId The identifier of the client.
+     * @throws GenerationRejectedException If the client has too many pending generations.
+     */
+    private void acquire(String clientId) {
+        final boolean[] acquired = new boolean[1];
+        pendingJobs.compute(clientId, (id, pending) -> {
+            final int count = pending == null ? 0 : pending;
+            if (count >= maxJobsPerClient) {
+                return pending;
+            }
+            acquired[0] = true;
+            return count + 1;
+        });
+        if (!acquired[0]) {
+            clientLimitRejections.increment();
+            throw new GenerationRejectedException(GenerationRejectedException.Reason.CLIENT_LIMIT, retryAfter);
+        }
+    }
+
+    /**
+     * Count the end of a generation for a client.
+     *
+     * @param clientId The identifier of the client.
+     */
+    private void release(String clientId) {
+        pendingJobs.computeIfPresent(clientId, (id, pending) -> pending > 1 ? pending - 1 : null);
+    }
+
+    /**
+     * Tell if the archive of a job was kept long enough.
+     *
+     * @param job The job.
+     * @param now The current instant.
+     * @return True if the job finished before the time to live.
+     */
+    private boolean isExpired(GenerationJob job, Instant now) {
+        final Instant finished = job.getFinished();
+        return finished != null && finished.plus(resultTimeToLive).isBefore(now);
+    }
+
+    /**
+     * Create the counter of the generations rejected for a reason.
+     *
+     * @param reason        The reason of the rejections.
+     * @param meterRegistry The registry of the metrics.
+     * @return The counter.
+     */
+    private static Counter newRejectionCounter(GenerationRejectedException.Reason reason, MeterRegistry meterRegistry) {
+        return Counter.builder("initializr.generation.rejections")
+                .description("The number of generations rejected before being queued")
+                .tag("reason", reason.name().toLowerCase(Locale.ROOT).replace('_', '-'))
+                .register(meterRegistry);
+    }
+
+    /**
+     * An output stream keeping the archive of a polled job in memory, up to a maximum size.
+     */
+    private static final class CappedOutputStream extends OutputStream {
+
+        /**
+         * The written bytes.
+         */
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        /**
+         * The maximum number of bytes.
+         */
+        private final int maxSize;
+
+        /**
+         * Constructor.
+         *
+         * @param maxSize The maximum number of bytes.
+         */
+        private CappedOutputStream(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void write(int b) throws IOException {
+            ensureCapacity(1);
+            buffer.write(b);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureCapacity(len);
+            buffer.write(b, off, len);
+        }
+
+        /**
+         * Get the written bytes.
+         *
+         * @return The written bytes.
+         */
+        private byte[] toByteArray() {
+            return buffer.toByteArray();
+        }
+
+        /**
+         * Fail the generation when the archive would exceed the maximum size.
+         *
+         * @param len The number of bytes to write.
+         * @throws IOException If the archive is too large.
+         */
+        private void ensureCapacity(int len) throws IOException {
+            if (buffer.size() + (long) len > maxSize) {
+                throw new IOException("The archive exceeds " + maxSize + " bytes, the maximum size of a polled archive");
+            }
+        }
+    }
+}
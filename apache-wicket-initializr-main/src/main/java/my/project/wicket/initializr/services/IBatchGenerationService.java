@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import my.project.wicket.initializr.beans.BatchProjectResult;
+import my.project.wicket.initializr.beans.ProjectViewBean;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The service generating several projects at once, for the scripts and the CI pipelines.
+ */
+public interface IBatchGenerationService {
+
+    /**
+     * Validate a batch with the same rules as the home page form, plus the rules of the batches: a limited number of
+     * projects, with distinct artifacts since each project is a folder of the archive of the batch.
+     *
+     * @param projects The projects of the batch.
+     * @return The list of errors, empty if the batch is valid.
+     */
+    List<String> validate(List<ProjectViewBean> projects);
+
+    /**
+     * Start the generation of a valid batch. The projects are generated in parallel on the workers of the
+     * generations, each future completes with the result of a project, whether its generation succeeded or failed.
+     *
+     * @param projects The projects of the batch.
+     * @param clientId The identifier of the client, e.g. its address.
+     * @return The results of the projects, in the order of the batch.
+     * @throws GenerationRejectedException If too many batches are already running, or if the workers or the client
+     *                                     can't take the first project of the batch.
+     */
+    List<CompletableFuture<BatchProjectResult>> submit(List<ProjectViewBean> projects, String clientId);
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import my.project.wicket.initializr.beans.GenerationJob;
+import my.project.wicket.initializr.beans.ProjectViewBean;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The service scheduling the generations of the projects on a bounded pool of workers, so a spike of generations
+ * can't starve the rendering of the pages.
+ */
+public interface IGenerationSchedulerService {
+
+    /**
+     * Submit the generation of a project, without waiting for a worker.
+     * <p>
+     * When a worker is idle, the job is streamed: the worker generates the archive in {@link GenerationJob#getInput()},
+     * read by the request. Otherwise the job is polled: it waits in the queue, and the client polls it with
+     * {@link #findJob(String)} until its archive is ready.
+     *
+     * @param project  The project to generate.
+     * @param clientId The identifier of the client, e.g. its address.
+     * @return The job of the generation.
+     * @throws GenerationRejectedException If the queue is full or if the client has too many pending generations.
+     */
+    GenerationJob submit(ProjectViewBean project, String clientId);
+
+    /**
+     * Schedule the generation of a project whose archive is kept in memory, for the batches. The generation counts
+     * for its client like the submitted ones, and its archive is capped like the archives of the polled jobs.
+     *
+     * @param project  The project to generate.
+     * @param clientId The identifier of the client, e.g. its address.
+     * @return The archive, completed once the project is generated.
+     * @throws GenerationRejectedException If the queue is full or if the client has too many pending generations.
+     */
+    CompletableFuture<byte[]> schedule(ProjectViewBean project, String clientId);
+
+    /**
+     * Find a job.
+     *
+     * @param id The identifier of the job.
+     * @return The job, or null if it doesn't exist or has expired.
+     */
+    GenerationJob findJob(String id);
+
+    /**
+     * Forget a polled job once its archive is downloaded.
+     *
+     * @param job The job.
+     */
+    void forget(GenerationJob job);
+}
@@ -1,5 +1,6 @@
 package my.project.wicket.initializr.services;
 
+import my.project.wicket.initializr.beans.ArtifactCoordinates;
 import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
 
 import java.util.List;
@@ -10,9 +11,10 @@ import java.util.List;
 public interface IMavenCentralQueryService {
 
     /**
-     * Fetches all available versions of 'apache.wicket:wicket-core' from Maven Central.
+     * Fetches all available versions of an artifact from Maven Central.
      *
-     * @return A list of versions.
+     * @param coordinates The coordinates of the artifact.
+     * @return A list of versions, sorted from the newest to the oldest.
      */
-    List<ArtifactVersionViewBean> fetchWicketCoreVersions();
+    List<ArtifactVersionViewBean> fetchVersions(ArtifactCoordinates coordinates);
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import my.project.wicket.initializr.beans.ProjectViewBean;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The service generating the projects.
+ */
+public interface IProjectGeneratorService {
+
+    /**
+     * Get the key of the archive of a project: a hash of all the fields of the project and of the versions of its
+     * dependencies. Two projects with the same key have the same archive, byte for byte.
+     *
+     * @param project The project.
+     * @return The key of the archive, in hexadecimal.
+     */
+    String getArchiveKey(ProjectViewBean project);
+
+    /**
+     * Find the archive of a project in the cache, without generating it.
+     *
+     * @param project The project.
+     * @return The archive, or null if it isn't cached.
+     */
+    byte[] findCachedArchive(ProjectViewBean project);
+
+    /**
+     * Generates a project as a ZIP archive. The archive is written while it is generated and the output stream is
+     * not closed. The archives already generated are written from a cache.
+     *
+     * @param project      The project to generate.
+     * @param outputStream The output stream receiving the ZIP archive.
+     * @throws IOException If the archive can't be written.
+     */
+    void generate(ProjectViewBean project, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import my.project.wicket.initializr.beans.ProjectPreviewFile;
+import my.project.wicket.initializr.beans.ProjectViewBean;
+
+import java.util.List;
+
+/**
+ * The service previewing the generated projects: the files of a project, then the content of a file on demand.
+ */
+public interface IProjectPreviewService {
+
+    /**
+     * Get the files of a project, without their content. The tag of a file depends only on its content, so the files
+     * not affected by a change of the project keep their tag.
+     *
+     * @param project The project.
+     * @return The files of the project, in the order of the archive.
+     */
+    List<ProjectPreviewFile> getFiles(ProjectViewBean project);
+
+    /**
+     * Get the content of a file listed by {@link #getFiles(ProjectViewBean)}.
+     *
+     * @param etag The tag of the file.
+     * @return The content of the file, or null if the tag is unknown or expired.
+     */
+    String getContent(String etag);
+}
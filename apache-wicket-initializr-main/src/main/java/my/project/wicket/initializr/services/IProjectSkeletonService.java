@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import my.project.wicket.initializr.pages.Packaging;
+import my.project.wicket.initializr.pages.ProjectType;
+import my.project.wicket.initializr.templates.ProjectSkeleton;
+
+import java.util.Map;
+
+/**
+ * The service providing the skeletons of the generated projects.
+ */
+public interface IProjectSkeletonService {
+
+    /**
+     * Get the skeleton of a project. Only the variables specific to a project (group, artifact, name, description and
+     * package) are left to fill in the skeleton.
+     *
+     * @param projectType   The type of the project.
+     * @param packaging     The packaging of the project.
+     * @param wicketVersion The version of Apache Wicket.
+     * @return The skeleton of the project.
+     */
+    ProjectSkeleton getSkeleton(ProjectType projectType, Packaging packaging, String wicketVersion);
+
+    /**
+     * Get the versions used by the skeletons, other than the version of Apache Wicket.
+     *
+     * @return The versions by name of variable.
+     */
+    Map<String, String> getDependencyVersions();
+}
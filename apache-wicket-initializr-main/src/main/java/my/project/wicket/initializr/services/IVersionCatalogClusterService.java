@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import my.project.wicket.initializr.beans.VersionCatalogSnapshot;
+
+import java.util.Optional;
+
+/**
+ * The coordination of the catalogs of the versions of the nodes running the application. A single node, the leader,
+ * refreshes the catalog from Maven Central and publishes it; the other nodes read the published catalog, so the calls
+ * to Maven Central don't grow with the number of nodes.
+ */
+public interface IVersionCatalogClusterService {
+
+    /**
+     * Tell if this node is the leader which refreshes the catalog.
+     *
+     * @return True if this node holds the lease of the leader.
+     */
+    boolean isLeader();
+
+    /**
+     * Get the catalog published by the leader.
+     *
+     * @return The catalog, empty if no catalog was published yet.
+     */
+    Optional<VersionCatalogSnapshot> fetch();
+
+    /**
+     * Publish the catalog to the other nodes.
+     *
+     * @param snapshot The catalog.
+     */
+    void publish(VersionCatalogSnapshot snapshot);
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import my.project.wicket.initializr.beans.ArtifactCoordinates;
+import my.project.wicket.initializr.beans.ArtifactVersionIndex;
+import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The catalog of the versions of the artifacts, keyed by 'groupId:artifactId'. The versions are served from memory
+ * and refreshed in the background, so reading the versions of a known artifact never waits for the network.
+ */
+public interface IVersionCatalogService {
+
+    /**
+     * Get the last known versions of 'apache.wicket:wicket-core', sorted from the newest to the oldest.
+     *
+     * @return The versions, empty if they were never fetched.
+     */
+    List<ArtifactVersionViewBean> getWicketCoreVersions();
+
+    /**
+     * Get the index of the last known versions of an artifact, to look up its versions by major or minor version or by
+     * prefix. This never waits for the network.
+     *
+     * @param coordinates The coordinates of the artifact.
+     * @return The index, empty if the versions were never fetched.
+     */
+    ArtifactVersionIndex getIndex(ArtifactCoordinates coordinates);
+
+    /**
+     * Get the indexes of the versions of several artifacts, e.g. all the artifacts of a project. The known artifacts
+     * are read from memory. The unknown ones are fetched from Maven Central in parallel, and then refreshed with the
+     * others, so the call waits at most for the slowest of them. The concurrent callers of the same unknown artifact
+     * share a single fetch.
+     *
+     * @param coordinates The coordinates of the artifacts.
+     * @return The index by artifact, empty for the artifacts which can't be fetched.
+     */
+    Map<ArtifactCoordinates, ArtifactVersionIndex> getIndexes(Collection<ArtifactCoordinates> coordinates);
+
+    /**
+     * Refresh the versions of all the known artifacts from Maven Central. The versions of the artifacts which can't be
+     * refreshed are kept.
+     */
+    void refresh();
+
+    /**
+     * Get the revision of the catalog, incremented each time the versions change.
+     *
+     * @return The revision of the catalog.
+     */
+    long getRevision();
+
+    /**
+     * Get the instant of the last successful refresh.
+     *
+     * @return The instant of the last successful refresh, null if the versions were never fetched.
+     */
+    Instant getLastRefresh();
+
+    /**
+     * Get the age of the versions.
+     *
+     * @return The time elapsed since the last successful refresh, null if the versions were never fetched.
+     */
+    Duration getRefreshAge();
+
+    /**
+     * Get the number of failed refreshes since the start of the application.
+     *
+     * @return The number of failed refreshes.
+     */
+    long getFailureCount();
+
+    /**
+     * Get the number of failed refreshes since the last successful one.
+     *
+     * @return The number of consecutive failed refreshes.
+     */
+    long getConsecutiveFailureCount();
+}
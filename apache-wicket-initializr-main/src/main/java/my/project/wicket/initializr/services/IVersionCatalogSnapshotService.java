@@ -0,0 +1,40 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import my.project.wicket.initializr.beans.VersionCatalogSnapshot;
+
+import java.util.Optional;
+
+/**
+ * The service persisting the catalog of the versions on the local disk.
+ */
+public interface IVersionCatalogSnapshotService {
+
+    /**
+     * Load the last saved snapshot.
+     *
+     * @return The snapshot, empty if there is no readable snapshot.
+     */
+    Optional<VersionCatalogSnapshot> load();
+
+    /**
+     * Save a snapshot, replacing the previous one atomically.
+     *
+     * @param snapshot The snapshot to save.
+     */
+    void save(VersionCatalogSnapshot snapshot);
+}
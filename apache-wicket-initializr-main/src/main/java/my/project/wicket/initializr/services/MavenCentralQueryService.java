@@ -1,26 +1,44 @@
 package my.project.wicket.initializr.services;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import my.project.wicket.initializr.beans.ArtifactCoordinates;
 import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * A service to query Maven Central for the versions of Apache Wicket.
+ * Service to query Maven Central for the versions of an artifact.
+ * <p>
+ * All the pages of the results are fetched and each page is parsed while it is read, without building the JSON tree.
+ * The first page is requested with the validators (ETag and Last-Modified) of the previous fetch, so an unchanged
+ * catalog costs a 304 response and no parsing. The other pages are requested by offset, so a version published while
+ * they are read shifts them: the versions are deduplicated, and a version missed this way comes with the next refresh.
  */
 @Service
 public class MavenCentralQueryService implements IMavenCentralQueryService {
 
     /**
-     * The Maven Central API URL.
+     * The maximum number of pages fetched, to stop on an inconsistent response.
      */
-    private static final String MAVEN_CENTRAL_API = "https://search.maven.org/solrsearch/select?q=g:org.apache.wicket+AND+a:wicket-core&core=gav&rows=100&wt=json";
+    private static final int MAX_PAGES = 100;
 
     /**
      * The REST template.
@@ -37,56 +55,290 @@ public class MavenCentralQueryService implements IMavenCentralQueryService {
      */
     private final IVersionComparatorService versionComparatorService;
 
+    /**
+     * The URL of the Maven Central search API.
+     */
+    private final String mavenCentralApi;
+
+    /**
+     * The number of versions fetched by page.
+     */
+    private final int pageSize;
+
+    /**
+     * The versions of the last fetch by artifact, with the validators of its first page.
+     */
+    private final ConcurrentMap<ArtifactCoordinates, FetchedVersions> lastFetches = new ConcurrentHashMap<>();
+
     /**
      * Create a new instance of the MavenCentralQueryService.
      *
-     * @param restTemplate The REST template.
-     * @param objectMapper The object mapper.
+     * @param restTemplate             The REST template.
+     * @param objectMapper             The object mapper.
+     * @param versionComparatorService The version comparator service.
+     * @param mavenCentralApi          The URL of the Maven Central search API.
+     * @param pageSize                 The number of versions fetched by page.
      */
-    public MavenCentralQueryService(RestTemplate restTemplate, ObjectMapper objectMapper, IVersionComparatorService versionComparatorService) {
+    public MavenCentralQueryService(RestTemplate restTemplate, ObjectMapper objectMapper, IVersionComparatorService versionComparatorService,
+                                    @Value("${initializr.maven-central.url:https://search.maven.org/solrsearch/select}") String mavenCentralApi,
+                                    @Value("${initializr.maven-central.page-size:200}") int pageSize) {
         this.restTemplate = restTemplate;
         this.objectMapper = objectMapper;
         this.versionComparatorService = versionComparatorService;
+        this.mavenCentralApi = mavenCentralApi;
+        this.pageSize = pageSize;
     }
 
     /**
      * {@inheritDoc}
      */
-    @Cacheable("wicket-core-versions")
-    public List<ArtifactVersionViewBean> fetchWicketCoreVersions() {
+    @Override
+    public List<ArtifactVersionViewBean> fetchVersions(ArtifactCoordinates coordinates) {
+        final FetchedVersions previous = lastFetches.get(coordinates);
+
+        // The first page tells if the catalog changed since the previous fetch
+        final VersionPage firstPage = fetchPage(coordinates, 0, previous);
+        if (firstPage == null) {
+            return previous.versions;
+        }
+
+        // The pages may overlap when a version is published between two of them
+        final Map<String, ArtifactVersionViewBean> versions = new LinkedHashMap<>();
+        addVersions(versions, firstPage);
+        int start = firstPage.versions.size();
+        int pages = 1;
+        while (start < firstPage.numFound && pages < MAX_PAGES) {
+            final VersionPage page = fetchPage(coordinates, start, null);
+            if (page.versions.isEmpty()) {
+                break;
+            }
+            addVersions(versions, page);
+            start += page.versions.size();
+            pages++;
+        }
+
+        final List<ArtifactVersionViewBean> sorting = new ArrayList<>(versions.values());
+        sorting.sort(versionComparatorService);
+
+        final List<ArtifactVersionViewBean> sortedVersions = List.copyOf(sorting);
+        lastFetches.put(coordinates, new FetchedVersions(firstPage.etag, firstPage.lastModified, sortedVersions));
+        return sortedVersions;
+    }
+
+    /**
+     * Add the versions of a page, once each.
+     *
+     * @param versions The versions by version string.
+     * @param page     The page.
+     */
+    private static void addVersions(Map<String, ArtifactVersionViewBean> versions, VersionPage page) {
+        for (ArtifactVersionViewBean version : page.versions) {
+            versions.putIfAbsent(version.getVersion(), version);
+        }
+    }
+
+    /**
+     * Fetch a page of versions.
+     *
+     * @param coordinates The coordinates of the artifact.
+     * @param start       The index of the first version of the page.
+     * @param previous    The previous fetch to make a conditional request, or null.
+     * @return The page, or null if the catalog is unchanged since the previous fetch.
+     */
+    private VersionPage fetchPage(ArtifactCoordinates coordinates, int start, FetchedVersions previous) {
+        final URI uri = UriComponentsBuilder.fromUriString(mavenCentralApi)
+                .queryParam("q", "g:" + coordinates.getGroupId() + " AND a:" + coordinates.getArtifactId())
+                .queryParam("core", "gav")
+                .queryParam("rows", pageSize)
+                .queryParam("start", start)
+                .queryParam("wt", "json")
+                .encode()
+                .build()
+                .toUri();
 
         // Make the GET request to Maven Central
-        final ResponseEntity<String> response = restTemplate.getForEntity(MAVEN_CENTRAL_API, String.class);
+        return restTemplate.execute(uri, HttpMethod.GET, request -> {
+            if (previous != null) {
+                if (previous.etag != null) {
+                    request.getHeaders().set(HttpHeaders.IF_NONE_MATCH, previous.etag);
+                }
+                if (previous.lastModified != null) {
+                    request.getHeaders().set(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified);
+                }
+            }
+        }, response -> readPage(response, previous));
+    }
 
-        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-            // Parse the response JSON and extract versions
-            return parseVersions(response.getBody());
-        } else {
+    /**
+     * Read a page of versions from the response.
+     *
+     * @param response The response.
+     * @param previous The previous fetch, or null.
+     * @return The page, or null if the catalog is unchanged since the previous fetch.
+     * @throws IOException If the response can't be read.
+     */
+    private VersionPage readPage(ClientHttpResponse response, FetchedVersions previous) throws IOException {
+        if (previous != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            return null;
+        }
+        if (!response.getStatusCode().is2xxSuccessful()) {
             throw new RuntimeException("Failed to fetch versions. HTTP status: " + response.getStatusCode());
         }
+        try (InputStream body = response.getBody()) {
+            final VersionPage page = parseVersions(body);
+            page.etag = response.getHeaders().getETag();
+            page.lastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+            return page;
+        }
     }
 
     /**
-     * Parses the JSON response to extract versions from the "docs" node.
+     * Parses a JSON response to extract the versions from the "docs" node, while the response is read.
      *
-     * @param jsonResponse The raw JSON response as a string.
-     * @return A list of versions as strings.
+     * @param jsonResponse The JSON response.
+     * @return The page of versions, not sorted.
+     * @throws IOException If the response can't be read.
      */
-    private List<ArtifactVersionViewBean> parseVersions(String jsonResponse) {
-        try {
-            final JsonNode root = objectMapper.readTree(jsonResponse);
-            final JsonNode docs = root.path("response").path("docs");
+    public VersionPage parseVersions(InputStream jsonResponse) throws IOException {
+        final VersionPage page = new VersionPage();
+        try (JsonParser parser = objectMapper.getFactory().createParser(jsonResponse)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new RuntimeException("Error parsing JSON response: an object is expected");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.currentName();
+                parser.nextToken();
+                if ("response".equals(field)) {
+                    parseResponse(parser, page);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return page;
+    }
 
-            final List<ArtifactVersionViewBean> versions = new ArrayList<>();
-            for (JsonNode doc : docs) {
-                versions.add(new ArtifactVersionViewBean(doc.path("v").asText()));
+    /**
+     * Parses the "response" node.
+     *
+     * @param parser The parser, on the start of the node.
+     * @param page   The page receiving the versions.
+     * @throws IOException If the response can't be read.
+     */
+    private void parseResponse(JsonParser parser, VersionPage page) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            parser.nextToken();
+            if ("numFound".equals(field)) {
+                page.numFound = parser.getLongValue();
+            } else if ("docs".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    parseDoc(parser, page);
+                }
+            } else {
+                parser.skipChildren();
             }
+        }
+    }
+
+    /**
+     * Parses a node of the "docs" array.
+     *
+     * @param parser The parser, on the start of the node.
+     * @param page   The page receiving the version.
+     * @throws IOException If the response can't be read.
+     */
+    private void parseDoc(JsonParser parser, VersionPage page) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            parser.nextToken();
+            if ("v".equals(field)) {
+                page.versions.add(new ArtifactVersionViewBean(parser.getText()));
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
 
-            versions.sort(versionComparatorService);
+    /**
+     * A page of versions.
+     */
+    public static final class VersionPage {
+
+        /**
+         * The total number of versions.
+         */
+        private long numFound;
+
+        /**
+         * The versions of the page.
+         */
+        private final List<ArtifactVersionViewBean> versions = new ArrayList<>();
+
+        /**
+         * The ETag of the page.
+         */
+        private String etag;
 
+        /**
+         * The Last-Modified header of the page.
+         */
+        private String lastModified;
+
+        /**
+         * Get the total number of versions.
+         *
+         * @return The total number of versions.
+         */
+        public long getNumFound() {
+            return numFound;
+        }
+
+        /**
+         * Get the versions of the page, not sorted.
+         *
+         * @return The versions of the page.
+         */
+        public List<ArtifactVersionViewBean> getVersions() {
             return versions;
-        } catch (Exception e) {
-            throw new RuntimeException("Error parsing JSON response", e);
+        }
+    }
+
+    /**
+     * The sorted versions of a fetch, with the validators of its first page.
+     */
+    private static final class FetchedVersions {
+
+        /**
+         * The ETag of the first page.
+         */
+        private final String etag;
+
+        /**
+         * The Last-Modified header of the first page.
+         */
+        private final String lastModified;
+
+        /**
+         * The sorted versions.
+         */
+        private final List<ArtifactVersionViewBean> versions;
+
+        /**
+         * Constructor.
+         *
+         * @param etag         The ETag of the first page.
+         * @param lastModified The Last-Modified header of the first page.
+         * @param versions     The sorted versions.
+         */
+        private FetchedVersions(String etag, String lastModified, List<ArtifactVersionViewBean> versions) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.versions = versions;
         }
     }
 }
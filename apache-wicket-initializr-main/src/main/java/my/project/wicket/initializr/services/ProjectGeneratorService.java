@@ -0,0 +1,410 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import my.project.wicket.initializr.archives.ZipArchiveWriter;
+import my.project.wicket.initializr.beans.ProjectViewBean;
+import my.project.wicket.initializr.pages.Packaging;
+import my.project.wicket.initializr.pages.ProjectType;
+import my.project.wicket.initializr.templates.ProjectSkeleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The service generating the projects from the skeletons.
+ * <p>
+ * The archives are reproducible: the same project with the same dependencies gives the same bytes. They are cached by
+ * their key, so downloading the same project again costs no generation.
+ * <p>
+ * The durations, the sizes and the number of running generations are measured by project type and packaging.
+ */
+@Service
+public class ProjectGeneratorService implements IProjectGeneratorService {
+
+    /**
+     * The name of the cache of the archives.
+     */
+    private static final String ARCHIVES_CACHE = "generated-archives";
+
+    /**
+     * The version of the format of the keys, to change when the content of the archives changes.
+     */
+    private static final String KEY_FORMAT_VERSION = "2";
+
+    /**
+     * The time of the entries of the archives, fixed so the archives are reproducible.
+     */
+    private static final LocalDateTime ENTRY_TIME = LocalDateTime.of(1980, 2, 1, 0, 0);
+
+    /**
+     * The tag of the project type.
+     */
+    private static final String TYPE_TAG = "type";
+
+    /**
+     * The tag of the packaging.
+     */
+    private static final String PACKAGING_TAG = "packaging";
+
+    /**
+     * The tag telling if the archive came from the cache.
+     */
+    private static final String CACHE_TAG = "cache";
+
+    /**
+     * The tag of the outcome of a generation.
+     */
+    private static final String OUTCOME_TAG = "outcome";
+
+    /**
+     * The service providing the skeletons of the projects.
+     */
+    private final IProjectSkeletonService projectSkeletonService;
+
+    /**
+     * The cache of the archives.
+     */
+    private final Cache archives;
+
+    /**
+     * The maximum size of a cached archive.
+     */
+    private final int maxCachedSize;
+
+    /**
+     * The timers of the generations.
+     */
+    private final Meter.MeterProvider<Timer> generationTimers;
+
+    /**
+     * The sizes of the generated archives.
+     */
+    private final Meter.MeterProvider<DistributionSummary> archiveSizes;
+
+    /**
+     * The number of running generations, by project type and packaging.
+     */
+    private final Map<ProjectType, Map<Packaging, AtomicInteger>> runningGenerations = new EnumMap<>(ProjectType.class);
+
+    /**
+     * Create a new instance of the ProjectGeneratorService.
+     *
+     * @param projectSkeletonService The service providing the skeletons of the projects.
+     * @param cacheManager           The cache manager.
+     * @param maxCachedSize          The maximum size of a cached archive.
+     * @param meterRegistry          The registry of the metrics.
+     */
+    public ProjectGeneratorService(IProjectSkeletonService projectSkeletonService, CacheManager cacheManager,
+                                   @Value("${initializr.archive-cache.max-entry-size:1MB}") DataSize maxCachedSize,
+                                   MeterRegistry meterRegistry) {
+        this.projectSkeletonService = projectSkeletonService;
+        this.archives = cacheManager.getCache(ARCHIVES_CACHE);
+        this.maxCachedSize = (int) Math.min(Integer.MAX_VALUE, maxCachedSize.toBytes());
+        if (archives == null) {
+            throw new IllegalStateException("The cache " + ARCHIVES_CACHE + " is not configured");
+        }
+
+        this.generationTimers = Timer.builder("initializr.generation")
+                .description("The duration of the generations of the archives")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        this.archiveSizes = DistributionSummary.builder("initializr.generation.archive.size")
+                .description("The size of the generated archives")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        for (ProjectType projectType : ProjectType.values()) {
+            final Map<Packaging, AtomicInteger> running = new EnumMap<>(Packaging.class);
+            for (Packaging packaging : Packaging.values()) {
+                running.put(packaging, meterRegistry.gauge("initializr.generation.running",
+                        Tags.of(TYPE_TAG, projectType.getValue(), PACKAGING_TAG, packaging.getValue()), new AtomicInteger()));
+            }
+            runningGenerations.put(projectType, running);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getArchiveKey(ProjectViewBean project) {
+        final MessageDigest digest = newDigest();
+        update(digest, KEY_FORMAT_VERSION);
+        update(digest, project.getGroup());
+        update(digest, project.getArtifact());
+        update(digest, project.getName());
+        update(digest, project.getDescription());
+        update(digest, project.getPackageName());
+        update(digest, project.getProjectType().getValue());
+        update(digest, project.getPackaging().getValue());
+        update(digest, project.getWicketVersion());
+        for (Map.Entry<String, String> version : new TreeMap<>(projectSkeletonService.getDependencyVersions()).entrySet()) {
+            update(digest, version.getKey());
+            update(digest, version.getValue());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] findCachedArchive(ProjectViewBean project) {
+        final long start = System.nanoTime();
+        final byte[] cached = archives.get(getArchiveKey(project), byte[].class);
+        if (cached != null) {
+            final Tags tags = tagsOf(project);
+            archiveSizes.withTags(tags).record(cached.length);
+            generationTimers.withTags(tags.and(CACHE_TAG, "hit", OUTCOME_TAG, "success"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return cached;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void generate(ProjectViewBean project, OutputStream outputStream) throws IOException {
+        final Tags tags = tagsOf(project);
+        final AtomicInteger running = runningGenerations.get(project.getProjectType()).get(project.getPackaging());
+        final long start = System.nanoTime();
+        running.incrementAndGet();
+        String cache = "miss";
+        String outcome = "failure";
+        try {
+            final long size;
+            final String key = getArchiveKey(project);
+            final byte[] cached = archives.get(key, byte[].class);
+            if (cached != null) {
+                cache = "hit";
+                outputStream.write(cached);
+                outputStream.flush();
+                size = cached.length;
+            } else {
+                // Keep a copy of the archive while it is streamed, unless it is too large to be cached
+                final CappedCopyOutputStream copy = new CappedCopyOutputStream(outputStream, maxCachedSize);
+                write(project, copy);
+                if (!copy.isOverflowed()) {
+                    archives.put(key, copy.toByteArray());
+                }
+                size = copy.getCount();
+            }
+            archiveSizes.withTags(tags).record(size);
+            outcome = "success";
+        } finally {
+            running.decrementAndGet();
+            generationTimers.withTags(tags.and(CACHE_TAG, cache, OUTCOME_TAG, outcome))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Write the archive of a project.
+     *
+     * @param project      The project to generate.
+     * @param outputStream The output stream receiving the ZIP archive.
+     * @throws IOException If the archive can't be written.
+     */
+    private void write(ProjectViewBean project, OutputStream outputStream) throws IOException {
+        final ProjectSkeleton skeleton = projectSkeletonService.getSkeleton(project.getProjectType(), project.getPackaging(), project.getWicketVersion());
+        final Map<String, String> values = ProjectSkeleton.valuesOf(project);
+        final String root = project.getArtifact() + "/";
+
+        final ZipArchiveWriter zip = new ZipArchiveWriter(outputStream, ENTRY_TIME);
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        for (ProjectSkeleton.Entry entry : skeleton.getEntries()) {
+            final String name = root + entry.getPath().render(values);
+            if (entry.getCompressedContent() != null) {
+                // The same for all the projects, compressed once with the skeleton
+                zip.write(name, entry.getCompressedContent());
+            } else {
+                content.reset();
+                entry.getContent().write(content, values);
+                zip.write(name, content.toByteArray());
+            }
+        }
+
+        // Only finish the archive, the output stream belongs to the caller
+        zip.finish();
+        outputStream.flush();
+    }
+
+    /**
+     * Get the tags of the metrics of a project.
+     *
+     * @param project The project.
+     * @return The tags of the project type and of the packaging.
+     */
+    private static Tags tagsOf(ProjectViewBean project) {
+        return Tags.of(TYPE_TAG, project.getProjectType().getValue(), PACKAGING_TAG, project.getPackaging().getValue());
+    }
+
+    /**
+     * Create a SHA-256 digest.
+     *
+     * @return The digest.
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Add a value to a digest, prefixed by its length so the values can't be confused.
+     *
+     * @param digest The digest.
+     * @param value  The value, may be null.
+     */
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update(new byte[]{-1, -1, -1, -1});
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(new byte[]{(byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16), (byte) (bytes.length >>> 8), (byte) bytes.length});
+        digest.update(bytes);
+    }
+
+    /**
+     * An output stream keeping a copy of the written bytes, up to a maximum size.
+     */
+    private static final class CappedCopyOutputStream extends FilterOutputStream {
+
+        /**
+         * The copy of the written bytes.
+         */
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        /**
+         * The number of written bytes.
+         */
+        private long count;
+
+        /**
+         * The maximum size of the copy.
+         */
+        private final int maxSize;
+
+        /**
+         * Constructor.
+         *
+         * @param out     The output stream.
+         * @param maxSize The maximum size of the copy.
+         */
+        private CappedCopyOutputStream(OutputStream out, int maxSize) {
+            super(out);
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+            if (copy != null) {
+                if (copy.size() + 1 > maxSize) {
+                    copy = null;
+                } else {
+                    copy.write(b);
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+            copy(b, off, len);
+        }
+
+        /**
+         * Copy written bytes, and drop the copy once it is too large.
+         *
+         * @param b   The bytes.
+         * @param off The offset of the first byte.
+         * @param len The number of bytes.
+         */
+        private void copy(byte[] b, int off, int len) {
+            if (copy != null) {
+                if (copy.size() + len > maxSize) {
+                    copy = null;
+                } else {
+                    copy.write(b, off, len);
+                }
+            }
+        }
+
+        /**
+         * Tell if the copy was dropped.
+         *
+         * @return True if the written bytes are larger than the maximum size.
+         */
+        private boolean isOverflowed() {
+            return copy == null;
+        }
+
+        /**
+         * Get the number of written bytes, even when the copy was dropped.
+         *
+         * @return The number of written bytes.
+         */
+        private long getCount() {
+            return count;
+        }
+
+        /**
+         * Get the copy of the written bytes.
+         *
+         * @return The copy of the written bytes.
+         */
+        private byte[] toByteArray() {
+            return copy.toByteArray();
+        }
+    }
+}
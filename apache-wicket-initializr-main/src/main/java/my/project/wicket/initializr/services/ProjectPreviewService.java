@@ -0,0 +1,216 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import my.project.wicket.initializr.beans.ProjectPreviewFile;
+import my.project.wicket.initializr.beans.ProjectViewBean;
+import my.project.wicket.initializr.templates.ProjectSkeleton;
+import my.project.wicket.initializr.templates.TemplateSkeleton;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The service previewing the generated projects from the skeletons.
+ * <p>
+ * The files of a configuration are listed once and cached by the key of its archive. A file is tagged with a digest
+ * of its skeleton and of the values of the variables it uses, without being rendered: switching the packaging or the
+ * project type gives new tags only to the files which depend on them. The content of a file is rendered on demand and
+ * cached by its tag, so a file shared by several configurations is rendered once.
+ */
+@Service
+public class ProjectPreviewService implements IProjectPreviewService {
+
+    /**
+     * The name of the cache of the files by configuration.
+     */
+    private static final String PREVIEWS_CACHE = "project-previews";
+
+    /**
+     * The name of the cache of the files by tag.
+     */
+    private static final String FILES_CACHE = "preview-files";
+
+    /**
+     * The number of hexadecimal digits of the tags.
+     */
+    private static final int ETAG_LENGTH = 32;
+
+    /**
+     * The service providing the skeletons of the projects.
+     */
+    private final IProjectSkeletonService projectSkeletonService;
+
+    /**
+     * The service generating the projects, for the keys of the configurations.
+     */
+    private final IProjectGeneratorService projectGeneratorService;
+
+    /**
+     * The cache of the files by configuration.
+     */
+    private final Cache previews;
+
+    /**
+     * The cache of the files by tag.
+     */
+    private final Cache files;
+
+    /**
+     * Create a new instance of the ProjectPreviewService.
+     *
+     * @param projectSkeletonService  The service providing the skeletons of the projects.
+     * @param projectGeneratorService The service generating the projects.
+     * @param cacheManager            The cache manager.
+     */
+    public ProjectPreviewService(IProjectSkeletonService projectSkeletonService, IProjectGeneratorService projectGeneratorService,
+                                 CacheManager cacheManager) {
+        this.projectSkeletonService = projectSkeletonService;
+        this.projectGeneratorService = projectGeneratorService;
+        this.previews = cacheManager.getCache(PREVIEWS_CACHE);
+        this.files = cacheManager.getCache(FILES_CACHE);
+        if (previews == null || files == null) {
+            throw new IllegalStateException("The caches " + PREVIEWS_CACHE + " and " + FILES_CACHE + " are not configured");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ProjectPreviewFile> getFiles(ProjectViewBean project) {
+        final List<PreviewSource> sources = previews.get(projectGeneratorService.getArchiveKey(project), () -> newSources(project));
+        final List<ProjectPreviewFile> result = new ArrayList<>(sources.size());
+        for (PreviewSource source : sources) {
+            // The files may have expired before their configuration, and an already rendered file is kept
+            files.putIfAbsent(source.getFile().getEtag(), source);
+            result.add(source.getFile());
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getContent(String etag) {
+        final PreviewSource source = files.get(etag, PreviewSource.class);
+        return source == null ? null : source.getContent();
+    }
+
+    /**
+     * List the files of a project, without rendering them.
+     *
+     * @param project The project.
+     * @return The files of the project.
+     */
+    private List<PreviewSource> newSources(ProjectViewBean project) {
+        final ProjectSkeleton skeleton = projectSkeletonService.getSkeleton(project.getProjectType(), project.getPackaging(), project.getWicketVersion());
+        final Map<String, String> values = Map.copyOf(ProjectSkeleton.valuesOf(project));
+        final String root = project.getArtifact() + "/";
+        final List<PreviewSource> sources = new ArrayList<>();
+        for (ProjectSkeleton.Entry entry : skeleton.getEntries()) {
+            final MessageDigest digest = newDigest();
+            entry.getContent().digest(digest, values);
+            final String etag = HexFormat.of().formatHex(digest.digest()).substring(0, ETAG_LENGTH);
+            sources.add(new PreviewSource(new ProjectPreviewFile(root + entry.getPath().render(values), etag), entry.getContent(), values));
+        }
+        return List.copyOf(sources);
+    }
+
+    /**
+     * Create a SHA-256 digest.
+     *
+     * @return The digest.
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A file of a preview, rendered on the first request of its content.
+     */
+    private static final class PreviewSource {
+
+        /**
+         * The file.
+         */
+        private final ProjectPreviewFile file;
+
+        /**
+         * The skeleton of the content.
+         */
+        private final TemplateSkeleton skeleton;
+
+        /**
+         * The values of the variables of the project.
+         */
+        private final Map<String, String> values;
+
+        /**
+         * The content, null until it is rendered.
+         */
+        private volatile String content;
+
+        /**
+         * Constructor.
+         *
+         * @param file     The file.
+         * @param skeleton The skeleton of the content.
+         * @param values   The values of the variables of the project.
+         */
+        private PreviewSource(ProjectPreviewFile file, TemplateSkeleton skeleton, Map<String, String> values) {
+            this.file = file;
+            this.skeleton = skeleton;
+            this.values = values;
+        }
+
+        /**
+         * Get the file.
+         *
+         * @return The file.
+         */
+        private ProjectPreviewFile getFile() {
+            return file;
+        }
+
+        /**
+         * Get the content, rendered on the first call. Two concurrent first calls may both render it, with the same
+         * result.
+         *
+         * @return The content.
+         */
+        private String getContent() {
+            String rendered = content;
+            if (rendered == null) {
+                rendered = skeleton.render(values);
+                content = rendered;
+            }
+            return rendered;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import my.project.wicket.initializr.archives.CompressedContent;
+import my.project.wicket.initializr.beans.ArtifactCoordinates;
+import my.project.wicket.initializr.beans.ArtifactVersionIndex;
+import my.project.wicket.initializr.beans.ArtifactVersionKey;
+import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
+import my.project.wicket.initializr.pages.Packaging;
+import my.project.wicket.initializr.pages.ProjectType;
+import my.project.wicket.initializr.templates.CompiledTemplate;
+import my.project.wicket.initializr.templates.ProjectSkeleton;
+import my.project.wicket.initializr.templates.ProjectTemplate;
+import my.project.wicket.initializr.templates.TemplateEscaping;
+import my.project.wicket.initializr.templates.TemplateSkeleton;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The service providing the skeletons of the generated projects. The templates are parsed once at startup and the
+ * skeletons are cached by project type, packaging, version of Apache Wicket and revision of the version catalog.
+ * <p>
+ * The versions of the other artifacts are the newest releases known by the catalog, with the same major version as
+ * the default ones.
+ * <p>
+ * The files which are the same for all the projects are compressed in advance: the files copied as is once at
+ * startup, the templates without project variables once per skeleton. The generation only compresses the other files.
+ */
+@Service
+public class ProjectSkeletonService implements IProjectSkeletonService {
+
+    /**
+     * The version of the generated project.
+     */
+    private static final String PROJECT_VERSION = "0.0.1-SNAPSHOT";
+
+    /**
+     * The Java version of the generated project.
+     */
+    private static final String JAVA_VERSION = "17";
+
+    /**
+     * The default Spring Boot version of the generated project.
+     */
+    private static final String SPRING_BOOT_VERSION = "3.4.0";
+
+    /**
+     * The version of the Spring dependency management plugin for Gradle.
+     */
+    private static final String SPRING_DEPENDENCY_MANAGEMENT_VERSION = "1.1.6";
+
+    /**
+     * The default version of the Wicket Spring Boot starter.
+     */
+    private static final String WICKET_SPRING_BOOT_VERSION = "4.0.0";
+
+    /**
+     * The default version of the Jakarta Servlet API.
+     */
+    private static final String SERVLET_API_VERSION = "6.0.0";
+
+    /**
+     * The default version of the Maven war plugin.
+     */
+    private static final String MAVEN_WAR_PLUGIN_VERSION = "3.4.0";
+
+    /**
+     * The catalog of the versions.
+     */
+    private final IVersionCatalogService versionCatalogService;
+
+    /**
+     * The compiled paths of the generated files.
+     */
+    private final Map<ProjectTemplate, CompiledTemplate> paths = new EnumMap<>(ProjectTemplate.class);
+
+    /**
+     * The compiled contents of the generated files.
+     */
+    private final Map<ProjectTemplate, CompiledTemplate> contents = new EnumMap<>(ProjectTemplate.class);
+
+    /**
+     * The contents of the files copied as is.
+     */
+    private final Map<ProjectTemplate, TemplateSkeleton> verbatimContents = new EnumMap<>(ProjectTemplate.class);
+
+    /**
+     * The compressed contents of the files copied as is.
+     */
+    private final Map<ProjectTemplate, CompressedContent> compressedVerbatimContents = new EnumMap<>(ProjectTemplate.class);
+
+    /**
+     * Create a new instance of the ProjectSkeletonService.
+     *
+     * @param versionCatalogService The catalog of the versions.
+     */
+    public ProjectSkeletonService(IVersionCatalogService versionCatalogService) {
+        this.versionCatalogService = versionCatalogService;
+        for (ProjectTemplate template : ProjectTemplate.values()) {
+            paths.put(template, new CompiledTemplate(template.getTarget(), TemplateEscaping.NONE));
+            final byte[] content = loadTemplate(template);
+            if (template.isVerbatim()) {
+                verbatimContents.put(template, TemplateSkeleton.verbatim(content));
+                compressedVerbatimContents.put(template, CompressedContent.of(content));
+            } else {
+                contents.put(template, new CompiledTemplate(new String(content, StandardCharsets.UTF_8), template.getEscaping()));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Cacheable(cacheNames = "project-skeletons", key = "{#projectType, #packaging, #wicketVersion, @versionCatalogService.revision}")
+    public ProjectSkeleton getSkeleton(ProjectType projectType, Packaging packaging, String wicketVersion) {
+        final Map<String, String> values = newValues(wicketVersion);
+        final List<ProjectSkeleton.Entry> entries = new ArrayList<>();
+        for (ProjectTemplate template : ProjectTemplate.values()) {
+            if (!template.isApplicable(projectType, packaging)) {
+                continue;
+            }
+            final TemplateSkeleton content;
+            final CompressedContent compressedContent;
+            if (template.isVerbatim()) {
+                content = verbatimContents.get(template);
+                compressedContent = compressedVerbatimContents.get(template);
+            } else {
+                content = contents.get(template).bind(values);
+                compressedContent = content.isConstant() ? CompressedContent.of(content.getConstantContent()) : null;
+            }
+            entries.add(new ProjectSkeleton.Entry(template, paths.get(template).bind(values), content, compressedContent));
+        }
+        return new ProjectSkeleton(entries);
+    }
+
+    /**
+     * Create the values of the variables which are the same for all the projects.
+     *
+     * @param wicketVersion The version of Apache Wicket.
+     * @return The values of the variables.
+     */
+    private Map<String, String> newValues(String wicketVersion) {
+        final Map<String, String> values = getDependencyVersions();
+        values.put("version", PROJECT_VERSION);
+        values.put("javaVersion", JAVA_VERSION);
+        values.put("wicketVersion", wicketVersion);
+        return values;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, String> getDependencyVersions() {
+        // A single lookup for all the artifacts: nothing to wait for when the catalog is warm, one round trip otherwise
+        final Map<ArtifactCoordinates, ArtifactVersionIndex> indexes = versionCatalogService.getIndexes(List.of(
+                ArtifactCoordinates.SPRING_BOOT, ArtifactCoordinates.WICKET_SPRING_BOOT_STARTER,
+                ArtifactCoordinates.SERVLET_API, ArtifactCoordinates.MAVEN_WAR_PLUGIN));
+        final Map<String, String> values = new HashMap<>();
+        values.put("springBootVersion", getLatestRelease(indexes.get(ArtifactCoordinates.SPRING_BOOT), SPRING_BOOT_VERSION));
+        values.put("springDependencyManagementVersion", SPRING_DEPENDENCY_MANAGEMENT_VERSION);
+        values.put("wicketSpringBootVersion", getLatestRelease(indexes.get(ArtifactCoordinates.WICKET_SPRING_BOOT_STARTER), WICKET_SPRING_BOOT_VERSION));
+        values.put("servletApiVersion", getLatestRelease(indexes.get(ArtifactCoordinates.SERVLET_API), SERVLET_API_VERSION));
+        values.put("mavenWarPluginVersion", getLatestRelease(indexes.get(ArtifactCoordinates.MAVEN_WAR_PLUGIN), MAVEN_WAR_PLUGIN_VERSION));
+        return values;
+    }
+
+    /**
+     * Get the newest known release of an artifact with the same major version as its default version.
+     *
+     * @param index          The index of the versions of the artifact.
+     * @param defaultVersion The version used if no release is known.
+     * @return The newest known release, or the default version.
+     */
+    private static String getLatestRelease(ArtifactVersionIndex index, String defaultVersion) {
+        final int major = ArtifactVersionKey.parse(defaultVersion).getNumber(0);
+        final ArtifactVersionViewBean latestRelease = index.getLatestRelease(major);
+        return latestRelease == null ? defaultVersion : latestRelease.getVersion();
+    }
+
+    /**
+     * Load the content of a template from the classpath.
+     *
+     * @param template The template to load.
+     * @return The content of the template.
+     */
+    private byte[] loadTemplate(ProjectTemplate template) {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(template.getResource())) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Template not found: " + template.getResource());
+            }
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error loading the template " + template.getResource(), e);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import my.project.wicket.initializr.beans.VersionCatalogSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The coordination of the catalogs through the JCache provider of the application.
+ * <p>
+ * The leader is elected with a lease: an entry of the cache "cluster-leases" holding the identifier of its node and
+ * its expiry, renewed by the leader and taken over with an atomic replacement once it expires. The catalog is
+ * published in the cache "version-catalog" in the format of the snapshot file.
+ * <p>
+ * With the default heap-only caches each node is its own leader, as before. With a clustered provider (the
+ * "clustered" profile) the nodes share the lease and the catalog. If the shared caches can't be reached, the node acts
+ * as its own leader until they are back, so the catalog is never left without refresh.
+ */
+@Service
+public class VersionCatalogClusterService implements IVersionCatalogClusterService {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(VersionCatalogClusterService.class);
+
+    /**
+     * The name of the cache of the leases.
+     */
+    private static final String LEASES_CACHE = "cluster-leases";
+
+    /**
+     * The name of the cache of the published catalog.
+     */
+    private static final String CATALOG_CACHE = "version-catalog";
+
+    /**
+     * The key of the lease of the leader refreshing the catalog.
+     */
+    private static final String LEADER_LEASE = "version-catalog-refresh";
+
+    /**
+     * The key of the published catalog.
+     */
+    private static final String CATALOG = "catalog";
+
+    /**
+     * The separator of the node and of the expiry in a lease.
+     */
+    private static final char LEASE_SEPARATOR = '|';
+
+    /**
+     * The cache of the leases.
+     */
+    private final Cache<Object, Object> leases;
+
+    /**
+     * The cache of the published catalog.
+     */
+    private final Cache<Object, Object> catalog;
+
+    /**
+     * The duration of a lease.
+     */
+    private final Duration leaseDuration;
+
+    /**
+     * The identifier of this node.
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * The expiry of the lease held by this node, in epoch milliseconds, 0 when this node isn't the leader.
+     */
+    private volatile long leaseExpiry;
+
+    /**
+     * Create a new instance of the VersionCatalogClusterService.
+     *
+     * @param cacheManager  The JCache cache manager.
+     * @param leaseDuration The duration of a lease, longer than the delay between two renewals.
+     * @param meterRegistry The registry of the metrics.
+     */
+    public VersionCatalogClusterService(CacheManager cacheManager,
+                                        @Value("${initializr.cluster.lease-duration:PT30S}") Duration leaseDuration,
+                                        MeterRegistry meterRegistry) {
+        this.leases = cacheManager.getCache(LEASES_CACHE);
+        this.catalog = cacheManager.getCache(CATALOG_CACHE);
+        this.leaseDuration = leaseDuration;
+        if (leases == null || catalog == null) {
+            throw new IllegalStateException("The caches " + LEASES_CACHE + " and " + CATALOG_CACHE + " are not configured");
+        }
+
+        Gauge.builder("initializr.cluster.leader", this, service -> service.isLeader() ? 1 : 0)
+                .description("1 if this node refreshes the catalog for the other nodes")
+                .register(meterRegistry);
+
+        // Try to become the leader before the first refresh of the catalog
+        renewLease();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isLeader() {
+        return leaseExpiry > System.currentTimeMillis();
+    }
+
+    /**
+     * Take or renew the lease of the leader. The renewal runs more often than the lease expires, so the leader keeps
+     * its lease between two refreshes of the catalog.
+     */
+    @Scheduled(fixedDelayString = "${initializr.cluster.lease-renewal:PT10S}")
+    public void renewLease() {
+        final long now = System.currentTimeMillis();
+        final long expiry = now + leaseDuration.toMillis();
+        final String lease = nodeId + LEASE_SEPARATOR + expiry;
+        final boolean wasLeader = isLeader();
+        boolean acquired;
+        try {
+            final Object current = leases.get(LEADER_LEASE);
+            if (current == null) {
+                acquired = leases.putIfAbsent(LEADER_LEASE, lease);
+            } else if (isOwnedOrExpired(current.toString(), now)) {
+                acquired = leases.replace(LEADER_LEASE, current, lease);
+            } else {
+                acquired = false;
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to reach the lease of the leader, this node refreshes its own catalog", e);
+            acquired = true;
+        }
+
+        leaseExpiry = acquired ? expiry : 0;
+        if (acquired != wasLeader) {
+            LOGGER.info(acquired ? "Node {} is now the leader refreshing the catalog" : "Node {} is no longer the leader", nodeId);
+        }
+    }
+
+    /**
+     * Release the lease, so another node becomes the leader without waiting for its expiry.
+     */
+    @PreDestroy
+    public void releaseLease() {
+        if (isLeader()) {
+            try {
+                final Object current = leases.get(LEADER_LEASE);
+                if (current != null && current.toString().startsWith(nodeId + LEASE_SEPARATOR)) {
+                    leases.remove(LEADER_LEASE, current);
+                }
+            } catch (RuntimeException e) {
+                LOGGER.debug("Unable to release the lease of the leader", e);
+            }
+            leaseExpiry = 0;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<VersionCatalogSnapshot> fetch() {
+        try {
+            final Object published = catalog.get(CATALOG);
+            return published instanceof byte[] bytes
+                    ? Optional.ofNullable(VersionCatalogSnapshotCodec.decode(ByteBuffer.wrap(bytes)))
+                    : Optional.empty();
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            LOGGER.warn("Ignoring the unreadable catalog published by the leader", e);
+            return Optional.empty();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to read the catalog published by the leader", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void publish(VersionCatalogSnapshot snapshot) {
+        try {
+            catalog.put(CATALOG, VersionCatalogSnapshotCodec.encode(snapshot));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to publish the catalog to the other nodes", e);
+        }
+    }
+
+    /**
+     * Tell if a lease belongs to this node or has expired.
+     *
+     * @param lease The lease.
+     * @param now   The current time, in epoch milliseconds.
+     * @return True if this node may take the lease.
+     */
+    private boolean isOwnedOrExpired(String lease, long now) {
+        final int separator = lease.lastIndexOf(LEASE_SEPARATOR);
+        if (separator < 0) {
+            return true;
+        }
+        if (lease.substring(0, separator).equals(nodeId)) {
+            return true;
+        }
+        try {
+            return Long.parseLong(lease.substring(separator + 1)) <= now;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import my.project.wicket.initializr.beans.ArtifactCoordinates;
+import my.project.wicket.initializr.beans.ArtifactVersionIndex;
+import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
+import my.project.wicket.initializr.beans.VersionCatalogSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The catalog of the versions, refreshed from Maven Central by a scheduled task. The last known good versions are
+ * served while the refresh is running and when it fails.
+ * <p>
+ * The artifacts are fetched in parallel, on virtual threads when they are enabled, but no more at a time than the
+ * calls allowed by the bulkhead of the Maven Central client, so a refresh never fails on its own bulkhead. The
+ * concurrent fetches of the same artifact share a single request to Maven Central.
+ * <p>
+ * The versions of each artifact are indexed once when they change, and the index is replaced as a whole, so the
+ * requests read a consistent index without sorting or filtering the versions.
+ * <p>
+ * When several nodes share their caches, only the leader refreshes the catalog from Maven Central and publishes it.
+ * The other nodes keep serving their own copy and replace it with the published catalog at each refresh. They only
+ * call Maven Central for the artifacts they don't know, or when no catalog was published yet.
+ */
+@Service
+public class VersionCatalogService implements IVersionCatalogService {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(VersionCatalogService.class);
+
+    /**
+     * The artifacts always in the catalog.
+     */
+    private static final List<ArtifactCoordinates> DEFAULT_ARTIFACTS = List.of(ArtifactCoordinates.WICKET_CORE,
+            ArtifactCoordinates.SPRING_BOOT, ArtifactCoordinates.WICKET_SPRING_BOOT_STARTER,
+            ArtifactCoordinates.SERVLET_API, ArtifactCoordinates.MAVEN_WAR_PLUGIN);
+
+    /**
+     * The Maven Central query service.
+     */
+    private final IMavenCentralQueryService mavenCentralQueryService;
+
+    /**
+     * The service persisting the catalog on the local disk.
+     */
+    private final IVersionCatalogSnapshotService versionCatalogSnapshotService;
+
+    /**
+     * The coordination of the catalogs of the nodes.
+     */
+    private final IVersionCatalogClusterService versionCatalogClusterService;
+
+    /**
+     * The executor of the fetches.
+     */
+    private final Executor executor;
+
+    /**
+     * The maximum time to wait for the versions of an unknown artifact.
+     */
+    private final Duration fetchTimeout;
+
+    /**
+     * The artifacts refreshed in the background.
+     */
+    private final Set<ArtifactCoordinates> artifacts = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The index of the last known versions by artifact.
+     */
+    private final ConcurrentMap<ArtifactCoordinates, ArtifactVersionIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * The fetches in progress by artifact.
+     */
+    private final ConcurrentMap<ArtifactCoordinates, CompletableFuture<List<ArtifactVersionViewBean>>> fetches = new ConcurrentHashMap<>();
+
+    /**
+     * The instant of the last successful refresh.
+     */
+    private volatile Instant lastRefresh;
+
+    /**
+     * The revision of the catalog.
+     */
+    private final AtomicLong revision = new AtomicLong();
+
+    /**
+     * The number of failed refreshes.
+     */
+    private final AtomicLong failureCount = new AtomicLong();
+
+    /**
+     * The number of consecutive failed refreshes.
+     */
+    private final AtomicLong consecutiveFailureCount = new AtomicLong();
+
+    /**
+     * Create a new instance of the VersionCatalogService.
+     *
+     * @param mavenCentralQueryService      The Maven Central query service.
+     * @param versionCatalogSnapshotService The service persisting the catalog on the local disk.
+     * @param versionCatalogClusterService  The coordination of the catalogs of the nodes.
+     * @param environment                   The environment, to know if the virtual threads are enabled.
+     * @param fetchTimeout                  The maximum time to wait for the versions of an unknown artifact.
+     * @param maxConcurrentFetches          The maximum number of artifacts fetched at a time, the size of the bulkhead.
+     */
+    public VersionCatalogService(IMavenCentralQueryService mavenCentralQueryService, IVersionCatalogSnapshotService versionCatalogSnapshotService,
+                                 IVersionCatalogClusterService versionCatalogClusterService, Environment environment, @Value("${initializr.catalog.fetch-timeout:PT10S}") Duration fetchTimeout,
+                                 @Value("${initializr.maven-central.max-concurrent-requests:8}") int maxConcurrentFetches) {
+        this.mavenCentralQueryService = mavenCentralQueryService;
+        this.versionCatalogSnapshotService = versionCatalogSnapshotService;
+        this.versionCatalogClusterService = versionCatalogClusterService;
+        this.fetchTimeout = fetchTimeout;
+
+        final SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("version-catalog-");
+        taskExecutor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        // Each fetch makes one call at a time, the other fetches wait here instead of in the bulkhead
+        taskExecutor.setConcurrencyLimit(maxConcurrentFetches);
+        this.executor = taskExecutor;
+
+        artifacts.addAll(DEFAULT_ARTIFACTS);
+
+        // Start with the last saved versions, so the pages are complete before the first refresh
+        versionCatalogSnapshotService.load().ifPresent(snapshot -> {
+            snapshot.getVersions().forEach((artifact, artifactVersions) -> {
+                final ArtifactCoordinates coordinates = ArtifactCoordinates.parse(artifact);
+                artifacts.add(coordinates);
+                indexes.put(coordinates, new ArtifactVersionIndex(artifactVersions));
+            });
+            lastRefresh = snapshot.getRefreshed();
+            revision.incrementAndGet();
+            LOGGER.info("Loaded the versions of {} artifacts from the snapshot of {}", indexes.size(), lastRefresh);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ArtifactVersionViewBean> getWicketCoreVersions() {
+        return getIndex(ArtifactCoordinates.WICKET_CORE).getVersions();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ArtifactVersionIndex getIndex(ArtifactCoordinates coordinates) {
+        return indexes.getOrDefault(coordinates, ArtifactVersionIndex.EMPTY);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<ArtifactCoordinates, ArtifactVersionIndex> getIndexes(Collection<ArtifactCoordinates> coordinates) {
+        final List<CompletableFuture<List<ArtifactVersionViewBean>>> missing = new ArrayList<>();
+        for (ArtifactCoordinates artifact : coordinates) {
+            if (!indexes.containsKey(artifact)) {
+                missing.add(fetch(artifact));
+            }
+        }
+        if (!missing.isEmpty()) {
+            await(missing);
+        }
+        final Map<ArtifactCoordinates, ArtifactVersionIndex> result = new LinkedHashMap<>();
+        for (ArtifactCoordinates artifact : coordinates) {
+            result.put(artifact, getIndex(artifact));
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Scheduled(initialDelayString = "${initializr.catalog.initial-delay:PT0S}", fixedDelayString = "${initializr.catalog.refresh-interval:PT15M}")
+    public void refresh() {
+        if (!versionCatalogClusterService.isLeader() && applyPublishedCatalog()) {
+            return;
+        }
+
+        final Map<ArtifactCoordinates, CompletableFuture<List<ArtifactVersionViewBean>>> refreshes = new LinkedHashMap<>();
+        for (ArtifactCoordinates artifact : artifacts) {
+            refreshes.put(artifact, fetch(artifact));
+        }
+
+        int failures = 0;
+        for (Map.Entry<ArtifactCoordinates, CompletableFuture<List<ArtifactVersionViewBean>>> refresh : refreshes.entrySet()) {
+            try {
+                refresh.getValue().join();
+            } catch (CompletionException | CancellationException e) {
+                failures++;
+                LOGGER.warn("Unable to refresh the versions of {}, the last known versions are kept", refresh.getKey(), e.getCause());
+            }
+        }
+
+        if (failures == 0) {
+            lastRefresh = Instant.now();
+            consecutiveFailureCount.set(0);
+        } else {
+            failureCount.incrementAndGet();
+            consecutiveFailureCount.incrementAndGet();
+            LOGGER.warn("{} of {} artifacts not refreshed (age: {})", failures, refreshes.size(), getRefreshAge());
+        }
+        if (failures < refreshes.size()) {
+            final Map<String, List<ArtifactVersionViewBean>> snapshot = new HashMap<>();
+            indexes.forEach((artifact, index) -> snapshot.put(artifact.toString(), index.getVersions()));
+            final VersionCatalogSnapshot refreshed = new VersionCatalogSnapshot(Instant.now(), snapshot);
+            versionCatalogSnapshotService.save(refreshed);
+            if (versionCatalogClusterService.isLeader()) {
+                versionCatalogClusterService.publish(refreshed);
+            }
+        }
+    }
+
+    /**
+     * Replace the catalog of this node with the catalog published by the leader, if it is newer.
+     *
+     * @return True if the leader published a catalog, false if this node has to refresh its catalog itself.
+     */
+    private boolean applyPublishedCatalog() {
+        final VersionCatalogSnapshot published = versionCatalogClusterService.fetch().orElse(null);
+        if (published == null) {
+            // Nothing published yet, probably a cold cluster: an empty catalog can't wait for the leader
+            return !indexes.isEmpty();
+        }
+        final Instant refresh = lastRefresh;
+        if (refresh == null || published.getRefreshed().isAfter(refresh)) {
+            published.getVersions().forEach((artifact, artifactVersions) -> store(ArtifactCoordinates.parse(artifact), artifactVersions));
+            lastRefresh = published.getRefreshed();
+            consecutiveFailureCount.set(0);
+            versionCatalogSnapshotService.save(published);
+        }
+        return true;
+    }
+
+    /**
+     * Fetch the versions of an artifact and keep them in the catalog. If a fetch of the same artifact is in progress,
+     * its result is shared instead of starting a new one.
+     *
+     * @param coordinates The coordinates of the artifact.
+     * @return The fetch of the versions.
+     */
+    private CompletableFuture<List<ArtifactVersionViewBean>> fetch(ArtifactCoordinates coordinates) {
+        final CompletableFuture<List<ArtifactVersionViewBean>> inProgress = fetches.get(coordinates);
+        if (inProgress != null) {
+            return inProgress;
+        }
+        final CompletableFuture<List<ArtifactVersionViewBean>> fetch = new CompletableFuture<>();
+        final CompletableFuture<List<ArtifactVersionViewBean>> concurrent = fetches.putIfAbsent(coordinates, fetch);
+        if (concurrent != null) {
+            return concurrent;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    final List<ArtifactVersionViewBean> fetched = mavenCentralQueryService.fetchVersions(coordinates);
+                    if (fetched.isEmpty()) {
+                        throw new IllegalStateException("No version found for " + coordinates);
+                    }
+                    final ArtifactVersionIndex index = store(coordinates, fetched);
+                    fetches.remove(coordinates, fetch);
+                    fetch.complete(index.getVersions());
+                } catch (RuntimeException e) {
+                    fetches.remove(coordinates, fetch);
+                    fetch.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            fetches.remove(coordinates, fetch);
+            fetch.completeExceptionally(e);
+        }
+        return fetch;
+    }
+
+    /**
+     * Index the versions of an artifact and keep them in the catalog.
+     *
+     * @param coordinates The coordinates of the artifact.
+     * @param fetched     The fetched versions.
+     * @return The index of the versions.
+     */
+    private ArtifactVersionIndex store(ArtifactCoordinates coordinates, List<ArtifactVersionViewBean> fetched) {
+        artifacts.add(coordinates);
+        final ArtifactVersionIndex index = new ArtifactVersionIndex(fetched);
+        final ArtifactVersionIndex previous = indexes.put(coordinates, index);
+        if (previous == null || !index.getVersions().equals(previous.getVersions())) {
+            revision.incrementAndGet();
+        }
+        return index;
+    }
+
+    /**
+     * Wait for fetches, at most for the fetch timeout.
+     *
+     * @param pending The fetches to wait for.
+     */
+    private void await(Collection<CompletableFuture<List<ArtifactVersionViewBean>>> pending) {
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).get(fetchTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            LOGGER.warn("Unable to fetch the versions", e.getCause());
+        } catch (TimeoutException e) {
+            LOGGER.warn("The versions were not fetched within {}", fetchTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getRevision() {
+        return revision.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Instant getLastRefresh() {
+        return lastRefresh;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Duration getRefreshAge() {
+        final Instant refresh = lastRefresh;
+        return refresh == null ? null : Duration.between(refresh, Instant.now());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getConsecutiveFailureCount() {
+        return consecutiveFailureCount.get();
+    }
+}
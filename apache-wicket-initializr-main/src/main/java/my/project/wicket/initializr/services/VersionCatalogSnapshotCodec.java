@@ -0,0 +1,138 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
+import my.project.wicket.initializr.beans.VersionCatalogSnapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The compact binary format of the catalog of the versions, shared by the snapshot file and by the catalog published
+ * to the other nodes.
+ * <p>
+ * Format: magic, format version, refresh instant (epoch milliseconds), number of artifacts, then for each artifact its
+ * name and its sorted versions. The strings are written as an unsigned short length followed by the UTF-8 bytes.
+ */
+final class VersionCatalogSnapshotCodec {
+
+    /**
+     * The magic number of the format ("AWIC").
+     */
+    private static final int MAGIC = 0x41574943;
+
+    /**
+     * The version of the format.
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Constructor.
+     */
+    private VersionCatalogSnapshotCodec() {
+    }
+
+    /**
+     * Encode a snapshot.
+     *
+     * @param snapshot The snapshot.
+     * @return The bytes of the snapshot.
+     */
+    static byte[] encode(VersionCatalogSnapshot snapshot) {
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream output = new DataOutputStream(bytes);
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeLong(snapshot.getRefreshed().toEpochMilli());
+            output.writeInt(snapshot.getVersions().size());
+            for (Map.Entry<String, List<ArtifactVersionViewBean>> entry : snapshot.getVersions().entrySet()) {
+                writeString(output, entry.getKey());
+                output.writeInt(entry.getValue().size());
+                for (ArtifactVersionViewBean version : entry.getValue()) {
+                    writeString(output, version.getVersion());
+                }
+            }
+            output.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // A byte array output stream never fails
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decode a snapshot.
+     *
+     * @param buffer The bytes of the snapshot.
+     * @return The snapshot, or null if the bytes have an unknown format.
+     * @throws java.nio.BufferUnderflowException If the bytes are truncated.
+     * @throws IllegalArgumentException          If a version can't be parsed.
+     */
+    static VersionCatalogSnapshot decode(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            return null;
+        }
+        final Instant refreshed = Instant.ofEpochMilli(buffer.getLong());
+        final int artifactCount = buffer.getInt();
+        final Map<String, List<ArtifactVersionViewBean>> versions = new HashMap<>(artifactCount * 2);
+        for (int i = 0; i < artifactCount; i++) {
+            final String artifact = readString(buffer);
+            final int versionCount = buffer.getInt();
+            final List<ArtifactVersionViewBean> artifactVersions = new ArrayList<>(versionCount);
+            for (int j = 0; j < versionCount; j++) {
+                artifactVersions.add(new ArtifactVersionViewBean(readString(buffer)));
+            }
+            versions.put(artifact, List.copyOf(artifactVersions));
+        }
+        return new VersionCatalogSnapshot(refreshed, versions);
+    }
+
+    /**
+     * Write a string.
+     *
+     * @param output The output.
+     * @param value  The string.
+     * @throws IOException If the string can't be written.
+     */
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Read a string.
+     *
+     * @param buffer The buffer.
+     * @return The string.
+     */
+    private static String readString(ByteBuffer buffer) {
+        final byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import my.project.wicket.initializr.beans.VersionCatalogSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * The service persisting the catalog of the versions in a compact binary file. The file is written in a temporary
+ * file moved atomically over the previous one, and read through a memory mapping at startup.
+ *
+ * @see VersionCatalogSnapshotCodec
+ */
+@Service
+public class VersionCatalogSnapshotService implements IVersionCatalogSnapshotService {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(VersionCatalogSnapshotService.class);
+
+    /**
+     * The path of the snapshot file.
+     */
+    private final Path file;
+
+    /**
+     * Create a new instance of the VersionCatalogSnapshotService.
+     *
+     * @param file The path of the snapshot file.
+     */
+    public VersionCatalogSnapshotService(@Value("${initializr.catalog.snapshot-file:${java.io.tmpdir}/apache-wicket-initializr/catalog.bin}") Path file) {
+        this.file = file;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<VersionCatalogSnapshot> load() {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final VersionCatalogSnapshot snapshot = VersionCatalogSnapshotCodec.decode(buffer);
+            if (snapshot == null) {
+                LOGGER.warn("Ignoring the snapshot {} with an unknown format", file);
+            }
+            return Optional.ofNullable(snapshot);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            LOGGER.warn("Unable to read the snapshot {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void save(VersionCatalogSnapshot snapshot) {
+        try {
+            final byte[] bytes = VersionCatalogSnapshotCodec.encode(snapshot);
+
+            // Write a temporary file then replace the snapshot, so a reader never sees a partial file
+            final Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            final Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temporary, bytes);
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to save the snapshot {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.stateless;
+
+import org.apache.wicket.Component;
+import org.apache.wicket.Page;
+import org.apache.wicket.application.IComponentOnBeforeRenderListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The guard of the pages which must stay stateless. A stateful page is kept in the session and in the page store, so
+ * a stateful home page would cost a session and a serialization for each visitor. The guard refuses to render such a
+ * page and names the stateful components, so the mistake is found by the first request instead of in production.
+ */
+public class StatelessPageGuard implements IComponentOnBeforeRenderListener {
+
+    /**
+     * The classes of the pages which must be stateless.
+     */
+    private final Set<Class<? extends Page>> statelessPages;
+
+    /**
+     * Constructor.
+     *
+     * @param statelessPages The classes of the pages which must be stateless.
+     */
+    public StatelessPageGuard(Set<Class<? extends Page>> statelessPages) {
+        this.statelessPages = Set.copyOf(statelessPages);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onBeforeRender(Component component) {
+        // Called after the page and all its children are prepared for the render
+        if (component instanceof Page page && statelessPages.contains(page.getClass()) && !page.isPageStateless()) {
+            throw new IllegalStateException("The page " + page.getClass().getName()
+                    + " must be stateless, but these components are stateful: " + getStatefulComponents(page));
+        }
+    }
+
+    /**
+     * Get the paths of the stateful components of a page.
+     *
+     * @param page The page.
+     * @return The paths of the stateful components.
+     */
+    private static List<String> getStatefulComponents(Page page) {
+        final List<String> paths = new ArrayList<>();
+        if (!page.isStateless()) {
+            paths.add(page.getPageRelativePath());
+        }
+        page.visitChildren(Component.class, (component, visit) -> {
+            if (!component.isStateless()) {
+                paths.add(component.getPageRelativePath());
+            }
+        });
+        return paths;
+    }
+}
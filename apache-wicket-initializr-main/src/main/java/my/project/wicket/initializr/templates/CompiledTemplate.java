@@ -0,0 +1,104 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.templates;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template parsed once in a sequence of texts and variables.
+ */
+public final class CompiledTemplate {
+
+    /**
+     * The start of a variable in a template.
+     */
+    private static final String VARIABLE_START = "{{";
+
+    /**
+     * The end of a variable in a template.
+     */
+    private static final String VARIABLE_END = "}}";
+
+    /**
+     * The texts of the template. There is always one more text than variables.
+     */
+    private final String[] texts;
+
+    /**
+     * The names of the variables of the template.
+     */
+    private final String[] variables;
+
+    /**
+     * The escaping of the values of the variables.
+     */
+    private final TemplateEscaping escaping;
+
+    /**
+     * Constructor.
+     *
+     * @param template The source of the template.
+     * @param escaping The escaping of the values of the variables.
+     */
+    public CompiledTemplate(String template, TemplateEscaping escaping) {
+        final List<String> textList = new ArrayList<>();
+        final List<String> variableList = new ArrayList<>();
+        int start = 0;
+        int variableStart;
+        while ((variableStart = template.indexOf(VARIABLE_START, start)) >= 0) {
+            final int variableEnd = template.indexOf(VARIABLE_END, variableStart);
+            if (variableEnd < 0) {
+                throw new IllegalArgumentException("Unclosed template variable at " + variableStart);
+            }
+            textList.add(template.substring(start, variableStart));
+            variableList.add(template.substring(variableStart + VARIABLE_START.length(), variableEnd));
+            start = variableEnd + VARIABLE_END.length();
+        }
+        textList.add(template.substring(start));
+        this.texts = textList.toArray(new String[0]);
+        this.variables = variableList.toArray(new String[0]);
+        this.escaping = escaping;
+    }
+
+    /**
+     * Bind the variables known in advance. The texts and the known values are merged and encoded in UTF-8 once, only
+     * the other variables are kept as slots in the skeleton.
+     *
+     * @param values The values of the known variables.
+     * @return The skeleton of the template.
+     */
+    public TemplateSkeleton bind(Map<String, String> values) {
+        final List<byte[]> chunks = new ArrayList<>();
+        final List<String> slots = new ArrayList<>();
+        final StringBuilder chunk = new StringBuilder(texts[0]);
+        for (int i = 0; i < variables.length; i++) {
+            final String value = values.get(variables[i]);
+            if (value != null) {
+                chunk.append(escaping.escape(value));
+            } else {
+                chunks.add(chunk.toString().getBytes(StandardCharsets.UTF_8));
+                slots.add(variables[i]);
+                chunk.setLength(0);
+            }
+            chunk.append(texts[i + 1]);
+        }
+        chunks.add(chunk.toString().getBytes(StandardCharsets.UTF_8));
+        return new TemplateSkeleton(chunks.toArray(new byte[0][]), slots.toArray(new String[0]), escaping);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.templates;
+
+import my.project.wicket.initializr.archives.CompressedContent;
+import my.project.wicket.initializr.beans.ProjectViewBean;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The skeleton of a project for a project type, a packaging and a version of Apache Wicket.
+ */
+public final class ProjectSkeleton implements Serializable {
+
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The files of the project.
+     */
+    private final List<Entry> entries;
+
+    /**
+     * Constructor.
+     *
+     * @param entries The files of the project.
+     */
+    public ProjectSkeleton(List<Entry> entries) {
+        this.entries = List.copyOf(entries);
+    }
+
+    /**
+     * Get the files of the project.
+     *
+     * @return The files of the project.
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Create the values of the variables specific to a project, the variables left to fill in the skeletons.
+     *
+     * @param project The project to generate.
+     * @return The values of the variables.
+     */
+    public static Map<String, String> valuesOf(ProjectViewBean project) {
+        final Map<String, String> values = new HashMap<>();
+        values.put("groupId", project.getGroup());
+        values.put("artifactId", project.getArtifact());
+        values.put("name", project.getName());
+        values.put("description", project.getDescription());
+        values.put("packageName", project.getPackageName());
+        values.put("packagePath", project.getPackageName().replace('.', '/'));
+        return values;
+    }
+
+    /**
+     * A file of the project.
+     */
+    public static final class Entry implements Serializable {
+
+        /**
+         * The version of the serialized form.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The template of the file.
+         */
+        private final ProjectTemplate template;
+
+        /**
+         * The skeleton of the path of the file.
+         */
+        private final TemplateSkeleton path;
+
+        /**
+         * The skeleton of the content of the file.
+         */
+        private final TemplateSkeleton content;
+
+        /**
+         * The content of the file compressed in advance, null if it depends on the project.
+         */
+        private final CompressedContent compressedContent;
+
+        /**
+         * Constructor.
+         *
+         * @param template          The template of the file.
+         * @param path              The skeleton of the path of the file.
+         * @param content           The skeleton of the content of the file.
+         * @param compressedContent The content of the file compressed in advance, null if it depends on the project.
+         */
+        public Entry(ProjectTemplate template, TemplateSkeleton path, TemplateSkeleton content, CompressedContent compressedContent) {
+            this.template = template;
+            this.path = path;
+            this.content = content;
+            this.compressedContent = compressedContent;
+        }
+
+        /**
+         * Get the template of the file.
+         *
+         * @return The template of the file.
+         */
+        public ProjectTemplate getTemplate() {
+            return template;
+        }
+
+        /**
+         * Get the skeleton of the path of the file.
+         *
+         * @return The skeleton of the path of the file.
+         */
+        public TemplateSkeleton getPath() {
+            return path;
+        }
+
+        /**
+         * Get the skeleton of the content of the file.
+         *
+         * @return The skeleton of the content of the file.
+         */
+        public TemplateSkeleton getContent() {
+            return content;
+        }
+
+        /**
+         * Get the content of the file compressed in advance, for the files which are the same for all the projects.
+         *
+         * @return The compressed content, or null if the content depends on the project.
+         */
+        public CompressedContent getCompressedContent() {
+            return compressedContent;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.templates;
+
+import my.project.wicket.initializr.beans.ProjectViewBean;
+import my.project.wicket.initializr.pages.Packaging;
+import my.project.wicket.initializr.pages.ProjectType;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The templates of the files of a generated project.
+ */
+public enum ProjectTemplate {
+
+    // Maven
+    MAVEN_POM_EXEC_JAR("maven/pom-exec-jar.xml", "pom.xml",
+            EnumSet.of(ProjectType.MAVEN), EnumSet.of(Packaging.EXECUTABLE_JAR)),
+    MAVEN_POM_EXEC_WAR("maven/pom-exec-war.xml", "pom.xml",
+            EnumSet.of(ProjectType.MAVEN), EnumSet.of(Packaging.EXECUTABLE_WAR)),
+    MAVEN_POM_LIGHT_WAR("maven/pom-light-war.xml", "pom.xml",
+            EnumSet.of(ProjectType.MAVEN), EnumSet.of(Packaging.LIGHT_WAR)),
+
+    // Gradle - Groovy
+    GRADLE_GROOVY_BUILD_EXEC_JAR("gradle-groovy/build-exec-jar.gradle", "build.gradle",
+            EnumSet.of(ProjectType.GRADLE_GROOVY), EnumSet.of(Packaging.EXECUTABLE_JAR)),
+    GRADLE_GROOVY_BUILD_EXEC_WAR("gradle-groovy/build-exec-war.gradle", "build.gradle",
+            EnumSet.of(ProjectType.GRADLE_GROOVY), EnumSet.of(Packaging.EXECUTABLE_WAR)),
+    GRADLE_GROOVY_BUILD_LIGHT_WAR("gradle-groovy/build-light-war.gradle", "build.gradle",
+            EnumSet.of(ProjectType.GRADLE_GROOVY), EnumSet.of(Packaging.LIGHT_WAR)),
+    GRADLE_GROOVY_SETTINGS("gradle-groovy/settings.gradle", "settings.gradle",
+            EnumSet.of(ProjectType.GRADLE_GROOVY), EnumSet.allOf(Packaging.class)),
+
+    // Gradle - Kotlin
+    GRADLE_KOTLIN_BUILD_EXEC_JAR("gradle-kotlin/build-exec-jar.gradle.kts", "build.gradle.kts",
+            EnumSet.of(ProjectType.GRADLE_KOTLIN), EnumSet.of(Packaging.EXECUTABLE_JAR)),
+    GRADLE_KOTLIN_BUILD_EXEC_WAR("gradle-kotlin/build-exec-war.gradle.kts", "build.gradle.kts",
+            EnumSet.of(ProjectType.GRADLE_KOTLIN), EnumSet.of(Packaging.EXECUTABLE_WAR)),
+    GRADLE_KOTLIN_BUILD_LIGHT_WAR("gradle-kotlin/build-light-war.gradle.kts", "build.gradle.kts",
+            EnumSet.of(ProjectType.GRADLE_KOTLIN), EnumSet.of(Packaging.LIGHT_WAR)),
+    GRADLE_KOTLIN_SETTINGS("gradle-kotlin/settings.gradle.kts", "settings.gradle.kts",
+            EnumSet.of(ProjectType.GRADLE_KOTLIN), EnumSet.allOf(Packaging.class)),
+
+    // Spring Boot sources
+    BOOT_APPLICATION("java/boot/WicketApplication.java", "src/main/java/{{packagePath}}/WicketApplication.java",
+            EnumSet.allOf(ProjectType.class), EnumSet.of(Packaging.EXECUTABLE_JAR, Packaging.EXECUTABLE_WAR)),
+    BOOT_SERVLET_INITIALIZER("java/boot/ServletInitializer.java", "src/main/java/{{packagePath}}/ServletInitializer.java",
+            EnumSet.allOf(ProjectType.class), EnumSet.of(Packaging.EXECUTABLE_WAR)),
+    BOOT_HOME_PAGE("java/boot/HomePage.java", "src/main/java/{{packagePath}}/HomePage.java",
+            EnumSet.allOf(ProjectType.class), EnumSet.of(Packaging.EXECUTABLE_JAR, Packaging.EXECUTABLE_WAR)),
+    BOOT_CONFIGURATION("resources/boot/application.yml", "src/main/resources/application.yml",
+            EnumSet.allOf(ProjectType.class), EnumSet.of(Packaging.EXECUTABLE_JAR, Packaging.EXECUTABLE_WAR)),
+
+    // Light war sources
+    LIGHT_APPLICATION("java/light/WicketApplication.java", "src/main/java/{{packagePath}}/WicketApplication.java",
+            EnumSet.allOf(ProjectType.class), EnumSet.of(Packaging.LIGHT_WAR)),
+    LIGHT_HOME_PAGE("java/light/HomePage.java", "src/main/java/{{packagePath}}/HomePage.java",
+            EnumSet.allOf(ProjectType.class), EnumSet.of(Packaging.LIGHT_WAR)),
+    LIGHT_WEB_XML("webapp/light/web.xml", "src/main/webapp/WEB-INF/web.xml",
+            EnumSet.allOf(ProjectType.class), EnumSet.of(Packaging.LIGHT_WAR)),
+
+    // Common files
+    HOME_PAGE_MARKUP("common/HomePage.html", "src/main/resources/{{packagePath}}/HomePage.html",
+            EnumSet.allOf(ProjectType.class), EnumSet.allOf(Packaging.class)),
+    GIT_IGNORE("common/gitignore", ".gitignore",
+            EnumSet.allOf(ProjectType.class), EnumSet.allOf(Packaging.class)),
+    README("common/README.md", "README.md",
+            EnumSet.allOf(ProjectType.class), EnumSet.allOf(Packaging.class)),
+
+    // Static files, copied as is
+    WICKET_LOGO("common/wicket-logo.svg", "src/main/resources/{{packagePath}}/wicket-logo.svg",
+            EnumSet.allOf(ProjectType.class), EnumSet.allOf(Packaging.class), true);
+
+    /**
+     * The folder of the templates in the classpath.
+     */
+    private static final String TEMPLATES_FOLDER = "templates/";
+
+    /**
+     * The path of the template in the templates folder.
+     */
+    private final String resource;
+
+    /**
+     * The path of the generated file in the project, which can contain variables.
+     */
+    private final String target;
+
+    /**
+     * The project types using this template.
+     */
+    private final Set<ProjectType> projectTypes;
+
+    /**
+     * The packagings using this template.
+     */
+    private final Set<Packaging> packagings;
+
+    /**
+     * True if the file is copied as is, without variables.
+     */
+    private final boolean verbatim;
+
+    /**
+     * Constructor.
+     *
+     * @param resource     The path of the template in the templates folder.
+     * @param target       The path of the generated file in the project, which can contain variables.
+     * @param projectTypes The project types using this template.
+     * @param packagings   The packagings using this template.
+     */
+    ProjectTemplate(String resource, String target, Set<ProjectType> projectTypes, Set<Packaging> packagings) {
+        this(resource, target, projectTypes, packagings, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param resource     The path of the template in the templates folder.
+     * @param target       The path of the generated file in the project, which can contain variables.
+     * @param projectTypes The project types using this template.
+     * @param packagings   The packagings using this template.
+     * @param verbatim     True if the file is copied as is, without variables.
+     */
+    ProjectTemplate(String resource, String target, Set<ProjectType> projectTypes, Set<Packaging> packagings, boolean verbatim) {
+        this.resource = resource;
+        this.target = target;
+        this.projectTypes = projectTypes;
+        this.packagings = packagings;
+        this.verbatim = verbatim;
+    }
+
+    /**
+     * Get the path of the template in the classpath.
+     *
+     * @return The path of the template in the classpath.
+     */
+    public String getResource() {
+        return TEMPLATES_FOLDER + resource;
+    }
+
+    /**
+     * Get the path of the generated file in the project, which can contain variables.
+     *
+     * @return The path of the generated file.
+     */
+    public String getTarget() {
+        return target;
+    }
+
+    /**
+     * Tell if the file is copied as is. Such a file may be binary, its content is never parsed for variables.
+     *
+     * @return True if the file is copied as is.
+     */
+    public boolean isVerbatim() {
+        return verbatim;
+    }
+
+    /**
+     * Get the escaping of the values written in this template.
+     *
+     * @return The escaping of the values.
+     */
+    public TemplateEscaping getEscaping() {
+        return TemplateEscaping.forPath(target);
+    }
+
+    /**
+     * Check if the template is used to generate a project.
+     *
+     * @param projectType The type of the project.
+     * @param packaging   The packaging of the project.
+     * @return true if the template is used, false otherwise.
+     */
+    public boolean isApplicable(ProjectType projectType, Packaging packaging) {
+        return projectTypes.contains(projectType) && packagings.contains(packaging);
+    }
+
+    /**
+     * Check if the template is used to generate a project.
+     *
+     * @param project The project to generate.
+     * @return true if the template is used, false otherwise.
+     */
+    public boolean isApplicable(ProjectViewBean project) {
+        return isApplicable(project.getProjectType(), project.getPackaging());
+    }
+}
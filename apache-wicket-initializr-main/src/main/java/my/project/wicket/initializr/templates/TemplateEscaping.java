@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.templates;
+
+/**
+ * The escaping applied to the values written in a template.
+ */
+public enum TemplateEscaping {
+
+    /**
+     * The values are written as is.
+     */
+    NONE,
+
+    /**
+     * The values are written in XML or HTML content.
+     */
+    XML,
+
+    /**
+     * The values are written in a double-quoted Groovy or Kotlin string.
+     */
+    SCRIPT_STRING;
+
+    /**
+     * Get the escaping for a generated file.
+     *
+     * @param path The path of the generated file.
+     * @return The escaping of the values.
+     */
+    public static TemplateEscaping forPath(String path) {
+        if (path.endsWith(".xml") || path.endsWith(".html")) {
+            return XML;
+        }
+        if (path.endsWith(".gradle") || path.endsWith(".kts")) {
+            return SCRIPT_STRING;
+        }
+        return NONE;
+    }
+
+    /**
+     * Escape a value.
+     *
+     * @param value The value to escape.
+     * @return The escaped value.
+     */
+    public String escape(String value) {
+        switch (this) {
+            case XML:
+                return escape(value, "&<>\"'", new String[]{"&amp;", "&lt;", "&gt;", "&quot;", "&#39;"});
+            case SCRIPT_STRING:
+                return escape(value, "\\\"$\n\r", new String[]{"\\\\", "\\\"", "\\$", "\\n", "\\r"});
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Replace the special characters of a value.
+     *
+     * @param value        The value to escape.
+     * @param specials     The special characters.
+     * @param replacements The replacement of each special character.
+     * @return The escaped value.
+     */
+    private static String escape(String value, String specials, String[] replacements) {
+        StringBuilder builder = null;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            final int special = specials.indexOf(c);
+            if (special >= 0 && builder == null) {
+                builder = new StringBuilder(value.length() + 16).append(value, 0, i);
+            }
+            if (builder != null) {
+                if (special >= 0) {
+                    builder.append(replacements[special]);
+                } else {
+                    builder.append(c);
+                }
+            }
+        }
+        return builder == null ? value : builder.toString();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.templates;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+/**
+ * A template where only the variables specific to a project are left. The rest is pre-rendered in UTF-8 chunks.
+ */
+public final class TemplateSkeleton implements Serializable {
+
+    /**
+     * The version of the serialized form.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The pre-rendered chunks. There is always one more chunk than slots.
+     */
+    private final byte[][] chunks;
+
+    /**
+     * The names of the variables to fill between the chunks.
+     */
+    private final String[] slots;
+
+    /**
+     * The escaping of the values of the variables.
+     */
+    private final TemplateEscaping escaping;
+
+    /**
+     * Constructor.
+     *
+     * @param chunks   The pre-rendered chunks.
+     * @param slots    The names of the variables to fill between the chunks.
+     * @param escaping The escaping of the values of the variables.
+     */
+    TemplateSkeleton(byte[][] chunks, String[] slots, TemplateEscaping escaping) {
+        this.chunks = chunks;
+        this.slots = slots;
+        this.escaping = escaping;
+    }
+
+    /**
+     * Create the skeleton of a file copied as is.
+     *
+     * @param content The content of the file, which must not be modified afterwards.
+     * @return The skeleton, without slots.
+     */
+    public static TemplateSkeleton verbatim(byte[] content) {
+        return new TemplateSkeleton(new byte[][]{content}, new String[0], TemplateEscaping.NONE);
+    }
+
+    /**
+     * Tell if the skeleton has no slots, so its content is the same for all the projects.
+     *
+     * @return True if the skeleton has no slots.
+     */
+    public boolean isConstant() {
+        return slots.length == 0;
+    }
+
+    /**
+     * Get the content of a skeleton without slots.
+     *
+     * @return The content, which must not be modified.
+     */
+    public byte[] getConstantContent() {
+        if (!isConstant()) {
+            throw new IllegalStateException("The skeleton has slots");
+        }
+        return chunks[0];
+    }
+
+    /**
+     * Write the skeleton with the values of its slots.
+     *
+     * @param outputStream The output stream.
+     * @param values       The values of the slots.
+     * @throws IOException If the skeleton can't be written.
+     */
+    public void write(OutputStream outputStream, Map<String, String> values) throws IOException {
+        outputStream.write(chunks[0]);
+        for (int i = 0; i < slots.length; i++) {
+            outputStream.write(escaping.escape(value(values, slots[i])).getBytes(StandardCharsets.UTF_8));
+            outputStream.write(chunks[i + 1]);
+        }
+    }
+
+    /**
+     * Add the skeleton and the values of its slots to a digest. Two renderings with the same digest have the same
+     * content, and the values of the variables not used by the skeleton don't change the digest.
+     *
+     * @param digest The digest.
+     * @param values The values of the slots.
+     */
+    public void digest(MessageDigest digest, Map<String, String> values) {
+        digest.update((byte) escaping.ordinal());
+        for (int i = 0; i < chunks.length; i++) {
+            update(digest, chunks[i]);
+            if (i < slots.length) {
+                update(digest, escaping.escape(value(values, slots[i])).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /**
+     * Render the skeleton with the values of its slots in a string.
+     *
+     * @param values The values of the slots.
+     * @return The rendered skeleton.
+     */
+    public String render(Map<String, String> values) {
+        if (slots.length == 0) {
+            return new String(chunks[0], StandardCharsets.UTF_8);
+        }
+        final StringBuilder builder = new StringBuilder();
+        builder.append(new String(chunks[0], StandardCharsets.UTF_8));
+        for (int i = 0; i < slots.length; i++) {
+            builder.append(escaping.escape(value(values, slots[i])));
+            builder.append(new String(chunks[i + 1], StandardCharsets.UTF_8));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Add bytes to a digest, prefixed by their length so the chunks and the values can't be confused.
+     *
+     * @param digest The digest.
+     * @param bytes  The bytes.
+     */
+    private static void update(MessageDigest digest, byte[] bytes) {
+        digest.update(new byte[]{(byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16), (byte) (bytes.length >>> 8), (byte) bytes.length});
+        digest.update(bytes);
+    }
+
+    /**
+     * Get the value of a slot.
+     *
+     * @param values The values of the slots.
+     * @param slot   The name of the slot.
+     * @return The value of the slot.
+     */
+    private static String value(Map<String, String> values, String slot) {
+        final String value = values.get(slot);
+        if (value == null) {
+            throw new IllegalStateException("Unknown template variable: " + slot);
+        }
+        return value;
+    }
+}
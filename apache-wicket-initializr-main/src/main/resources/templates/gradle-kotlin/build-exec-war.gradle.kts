@@ -0,0 +1,26 @@
+plugins {
+    java
+    war
+    id("org.springframework.boot") version "{{springBootVersion}}"
+    id("io.spring.dependency-management") version "{{springDependencyManagementVersion}}"
+}
+
+group = "{{groupId}}"
+version = "{{version}}"
+description = "{{description}}"
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of({{javaVersion}})
+    }
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    implementation("com.giffing.wicket.spring.boot.starter:wicket-spring-boot-starter:{{wicketSpringBootVersion}}")
+    implementation("org.apache.wicket:wicket-core:{{wicketVersion}}")
+    providedRuntime("org.springframework.boot:spring-boot-starter-tomcat")
+}
@@ -0,0 +1,23 @@
+plugins {
+    java
+    war
+}
+
+group = "{{groupId}}"
+version = "{{version}}"
+description = "{{description}}"
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of({{javaVersion}})
+    }
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    implementation("org.apache.wicket:wicket-core:{{wicketVersion}}")
+    compileOnly("jakarta.servlet:jakarta.servlet-api:{{servletApiVersion}}")
+}
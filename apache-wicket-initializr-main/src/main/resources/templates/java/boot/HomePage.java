@@ -0,0 +1,11 @@
+package {{packageName}};
+
+import com.giffing.wicket.spring.boot.context.scan.WicketHomePage;
+import org.apache.wicket.markup.html.WebPage;
+
+/**
+ * The home page.
+ */
+@WicketHomePage
+public class HomePage extends WebPage {
+}
@@ -0,0 +1,18 @@
+package {{packageName}};
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.support.SpringBootServletInitializer;
+
+/**
+ * The initializer used when the war is deployed to a servlet container.
+ */
+public class ServletInitializer extends SpringBootServletInitializer {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected SpringApplicationBuilder configure(SpringApplicationBuilder application) {
+        return application.sources(WicketApplication.class);
+    }
+}
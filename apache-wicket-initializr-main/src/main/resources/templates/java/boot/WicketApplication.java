@@ -0,0 +1,21 @@
+package {{packageName}};
+
+import com.giffing.wicket.spring.boot.starter.app.WicketBootStandardWebApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * The Apache Wicket application.
+ */
+@SpringBootApplication
+public class WicketApplication extends WicketBootStandardWebApplication {
+
+    /**
+     * The main method.
+     *
+     * @param args The arguments.
+     */
+    public static void main(String[] args) {
+        new SpringApplicationBuilder().sources(WicketApplication.class).run(args);
+    }
+}
@@ -0,0 +1,9 @@
+package {{packageName}};
+
+import org.apache.wicket.markup.html.WebPage;
+
+/**
+ * The home page.
+ */
+public class HomePage extends WebPage {
+}
@@ -0,0 +1,18 @@
+package {{packageName}};
+
+import org.apache.wicket.Page;
+import org.apache.wicket.protocol.http.WebApplication;
+
+/**
+ * The Apache Wicket application.
+ */
+public class WicketApplication extends WebApplication {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<? extends Page> getHomePage() {
+        return HomePage.class;
+    }
+}
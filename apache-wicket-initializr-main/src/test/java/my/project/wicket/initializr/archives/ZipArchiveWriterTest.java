@@ -0,0 +1,173 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.archives;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The archives written without {@link ZipOutputStream} must be read back by {@link ZipFile}, the reader checking the
+ * central directory against the local headers.
+ */
+class ZipArchiveWriterTest {
+
+    /**
+     * The time of the entries.
+     */
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 5, 17, 14, 32, 10);
+
+    /**
+     * The folder of the archives read by {@link ZipFile}.
+     */
+    @TempDir
+    Path folder;
+
+    /**
+     * The entries written, compressed now or in advance, are read back with their content and their time.
+     *
+     * @throws IOException If the archive can't be written or read.
+     */
+    @Test
+    void roundTrip() throws IOException {
+        final byte[] pom = "<project/>".repeat(100).getBytes(StandardCharsets.UTF_8);
+        final byte[] empty = new byte[0];
+        final byte[] page = "<html lang=\"fr\">\u00e9</html>".getBytes(StandardCharsets.UTF_8);
+
+        final ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        final ZipArchiveWriter writer = new ZipArchiveWriter(archive, TIME);
+        writer.write("pom.xml", pom);
+        writer.write("src/main/resources/.gitkeep", empty);
+        writer.write("src/main/java/HomePage.html", CompressedContent.of(page));
+        writer.finish();
+
+        try (ZipFile zip = open(archive.toByteArray())) {
+            assertEquals(List.of("pom.xml", "src/main/resources/.gitkeep", "src/main/java/HomePage.html"), names(zip));
+            assertArrayEquals(pom, read(zip, "pom.xml"));
+            assertArrayEquals(empty, read(zip, "src/main/resources/.gitkeep"));
+            assertArrayEquals(page, read(zip, "src/main/java/HomePage.html"));
+            assertEquals(TIME, zip.getEntry("pom.xml").getTimeLocal());
+        }
+    }
+
+    /**
+     * The entries of another archive are copied with their names, their content and their compression.
+     *
+     * @throws IOException If the archives can't be written or read.
+     */
+    @Test
+    void copy() throws IOException {
+        final byte[] readme = "# Demo\n".repeat(50).getBytes(StandardCharsets.UTF_8);
+        final byte[] stored = "stored".getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream other = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(other)) {
+            zip.putNextEntry(new ZipEntry("README.md"));
+            zip.write(readme);
+            zip.closeEntry();
+            final ZipEntry entry = new ZipEntry("static/stored.txt");
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(stored.length);
+            final CRC32 crc = new CRC32();
+            crc.update(stored);
+            entry.setCrc(crc.getValue());
+            zip.putNextEntry(entry);
+            zip.write(stored);
+            zip.closeEntry();
+        }
+
+        final byte[] pom = "<project/>".getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        final ZipArchiveWriter writer = new ZipArchiveWriter(archive, TIME);
+        writer.write("pom.xml", pom);
+        writer.copy(other.toByteArray());
+        writer.finish();
+
+        try (ZipFile zip = open(archive.toByteArray())) {
+            assertEquals(List.of("pom.xml", "README.md", "static/stored.txt"), names(zip));
+            assertArrayEquals(pom, read(zip, "pom.xml"));
+            assertArrayEquals(readme, read(zip, "README.md"));
+            assertArrayEquals(stored, read(zip, "static/stored.txt"));
+            assertEquals(ZipEntry.STORED, zip.getEntry("static/stored.txt").getMethod());
+        }
+    }
+
+    /**
+     * An archive without central directory is rejected.
+     */
+    @Test
+    void copyRejectsInvalidArchive() {
+        final ZipArchiveWriter writer = new ZipArchiveWriter(new ByteArrayOutputStream(), TIME);
+
+        assertThrows(ZipException.class, () -> writer.copy("not an archive".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Write an archive in the temporary folder and open it.
+     *
+     * @param archive The archive.
+     * @return The opened archive.
+     * @throws IOException If the archive can't be written or opened.
+     */
+    private ZipFile open(byte[] archive) throws IOException {
+        final Path file = Files.createTempFile(folder, "archive", ".zip");
+        Files.write(file, archive);
+        return new ZipFile(file.toFile());
+    }
+
+    /**
+     * Get the names of the entries.
+     *
+     * @param zip The archive.
+     * @return The names, in the order of the central directory.
+     */
+    private static List<String> names(ZipFile zip) {
+        final List<String> names = new ArrayList<>();
+        zip.stream().forEach(entry -> names.add(entry.getName()));
+        return names;
+    }
+
+    /**
+     * Read an entry.
+     *
+     * @param zip  The archive.
+     * @param name The name of the entry.
+     * @return The content of the entry.
+     * @throws IOException If the entry can't be read.
+     */
+    private static byte[] read(ZipFile zip, String name) throws IOException {
+        try (InputStream inputStream = zip.getInputStream(zip.getEntry(name))) {
+            return inputStream.readAllBytes();
+        }
+    }
+}
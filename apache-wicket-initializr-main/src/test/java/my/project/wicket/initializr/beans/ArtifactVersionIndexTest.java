@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.beans;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The lookups in the index of the versions, given in no particular order.
+ */
+class ArtifactVersionIndexTest {
+
+    /**
+     * The index of the versions.
+     */
+    private final ArtifactVersionIndex index = new ArtifactVersionIndex(versions("9.18.0", "10.0.0-M1", "10.1.0",
+            "9.2.0", "10.0.0", "10.2.0-M1", "8.16.0", "10.1.1", "1.5.1", "10.10.0"));
+
+    /**
+     * The search returns the versions starting with the prefix, from the newest, without the pre-releases unless they
+     * are asked for.
+     */
+    @Test
+    void searchesByPrefix() {
+        assertEquals(List.of("10.10.0", "10.1.1", "10.1.0", "10.0.0"), raw(index.search("10.", false, 10)));
+        assertEquals(List.of("10.10.0", "10.2.0-M1", "10.1.1", "10.1.0", "10.0.0", "10.0.0-M1"),
+                raw(index.search("10.", true, 10)));
+        assertEquals(List.of("10.10.0", "10.1.1", "10.1.0"), raw(index.search("10.1", false, 10)));
+        assertEquals(List.of("10.0.0-M1"), raw(index.search("10.0.0-", true, 10)));
+    }
+
+    /**
+     * The search stops at the limit, keeping the newest versions.
+     */
+    @Test
+    void searchesWithLimit() {
+        assertEquals(List.of("10.10.0", "10.1.1"), raw(index.search("10.", false, 2)));
+        assertEquals(List.of("10.10.0", "10.2.0-M1", "10.1.1"), raw(index.search("", true, 3)));
+        assertEquals(List.of("10.10.0", "10.1.1", "10.1.0"), raw(index.search("", false, 3)));
+    }
+
+    /**
+     * The search of an unknown prefix returns nothing, even past the last version in alphabetical order.
+     */
+    @Test
+    void searchesUnknownPrefix() {
+        assertTrue(index.search("11", true, 10).isEmpty());
+        assertTrue(index.search("99", true, 10).isEmpty());
+        assertTrue(index.search("0", true, 10).isEmpty());
+        assertTrue(ArtifactVersionIndex.EMPTY.search("10", true, 10).isEmpty());
+    }
+
+    /**
+     * The versions are found by their exact raw version only.
+     */
+    @Test
+    void findsExactVersion() {
+        assertSame(index.getVersions(9).get(0), index.find("9.18.0"));
+        assertEquals("10.0.0-M1", index.find("10.0.0-M1").getVersion());
+        assertNull(index.find("10.0"));
+        assertNull(index.find("10.3.0"));
+    }
+
+    /**
+     * The latest releases skip the pre-releases.
+     */
+    @Test
+    void findsLatestReleases() {
+        assertEquals("10.10.0", index.getLatestRelease().getVersion());
+        assertEquals("9.18.0", index.getLatestRelease(9).getVersion());
+        assertNull(index.getLatestRelease(7));
+        assertEquals(List.of("10.10.0", "9.18.0", "8.16.0", "1.5.1"), raw(index.getLatestReleases()));
+        assertEquals(List.of("10.1.1", "10.1.0"), raw(index.getVersions(10, 1)));
+    }
+
+    /**
+     * Create the beans of raw versions.
+     *
+     * @param versions The raw versions.
+     * @return The beans.
+     */
+    private static List<ArtifactVersionViewBean> versions(String... versions) {
+        return List.of(versions).stream().map(ArtifactVersionViewBean::new).toList();
+    }
+
+    /**
+     * Get the raw versions of beans.
+     *
+     * @param versions The beans.
+     * @return The raw versions.
+     */
+    private static List<String> raw(List<ArtifactVersionViewBean> versions) {
+        return versions.stream().map(ArtifactVersionViewBean::getVersion).toList();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.beans;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The order of the versions, from the oldest to the newest, as it is shown in the choice of the Wicket version.
+ */
+class ArtifactVersionKeyTest {
+
+    /**
+     * The versions, from the oldest to the newest.
+     */
+    private static final List<String> ORDERED = List.of(
+            "1.5-RC1",
+            "1.5",
+            "1.5.1",
+            "9.0.0-alpha1",
+            "9.0.0-beta2",
+            "9.0.0-M1",
+            "9.0.0-M5",
+            "9.0.0-M10",
+            "9.0.0-RC1",
+            "9.0.0-SNAPSHOT",
+            "9.0.0",
+            "9.0.1",
+            "9.10.0",
+            "10.0.0-M1",
+            "10.0.0",
+            "10.2.0");
+
+    /**
+     * The versions shuffled are sorted back in their order.
+     */
+    @Test
+    void sortsVersions() {
+        final List<String> shuffled = new ArrayList<>(ORDERED);
+        Collections.shuffle(shuffled, new Random(42));
+
+        shuffled.sort(Comparator.comparing(ArtifactVersionKey::parse));
+
+        assertEquals(ORDERED, shuffled);
+    }
+
+    /**
+     * The qualifiers are compared without their case, and their aliases are equal.
+     */
+    @Test
+    void comparesQualifiersIgnoringCase() {
+        assertEquals(0, ArtifactVersionKey.parse("9.0.0-rc1").compareTo(ArtifactVersionKey.parse("9.0.0-RC1")));
+        assertEquals(0, ArtifactVersionKey.parse("9.0.0.M2").compareTo(ArtifactVersionKey.parse("9.0.0-milestone2")));
+        assertEquals(0, ArtifactVersionKey.parse("9.0.0").compareTo(ArtifactVersionKey.parse("9.0.0.Final")));
+        assertEquals(0, ArtifactVersionKey.parse("9.0").compareTo(ArtifactVersionKey.parse("9.0.0")));
+    }
+
+    /**
+     * The releases are the versions without a qualifier or with a release qualifier.
+     */
+    @Test
+    void detectsPreReleases() {
+        assertFalse(ArtifactVersionKey.parse("10.2.0").isPreRelease());
+        assertFalse(ArtifactVersionKey.parse("4.3.GA").isPreRelease());
+        assertTrue(ArtifactVersionKey.parse("10.0.0-M1").isPreRelease());
+        assertTrue(ArtifactVersionKey.parse("9.0.0-SNAPSHOT").isPreRelease());
+    }
+
+    /**
+     * The numeric components are parsed, the missing ones being 0.
+     */
+    @Test
+    void parsesNumbers() {
+        final ArtifactVersionKey key = ArtifactVersionKey.parse("10.12.3-RC2");
+
+        assertEquals(3, key.getNumberCount());
+        assertEquals(10, key.getNumber(0));
+        assertEquals(12, key.getNumber(1));
+        assertEquals(3, key.getNumber(2));
+        assertEquals(0, key.getNumber(3));
+        assertEquals(ArtifactVersionKey.RELEASE_CANDIDATE, key.getQualifierRank());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.beans;
+
+import my.project.wicket.initializr.pages.Packaging;
+import my.project.wicket.initializr.pages.ProjectType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The validation of the projects, shared by the download, the batches and the preview.
+ */
+class ProjectViewBeanTest {
+
+    /**
+     * The versions of Apache Wicket in the catalog.
+     */
+    private static final ArtifactVersionIndex WICKET_VERSIONS = new ArtifactVersionIndex(List.of(
+            new ArtifactVersionViewBean("10.0.0"), new ArtifactVersionViewBean("9.18.0")));
+
+    /**
+     * A valid project has no error.
+     */
+    @Test
+    void acceptsValidProject() {
+        assertTrue(project("demo", "10.0.0").validate(WICKET_VERSIONS).isEmpty());
+        assertTrue(project("my-app_2.0", "10.0.0").validate(WICKET_VERSIONS).isEmpty());
+        assertTrue(project("app.", "10.0.0").validate(WICKET_VERSIONS).isEmpty());
+    }
+
+    /**
+     * The artifacts starting with a dot are rejected: the artifact is the root folder of the archive, and '..' would
+     * write the entries outside of the extraction folder.
+     */
+    @Test
+    void rejectsArtifactStartingWithDot() {
+        for (String artifact : new String[]{".", "..", "...", ".hidden", "../demo"}) {
+            assertEquals(List.of("Invalid artifact: " + artifact),
+                    project(artifact, "10.0.0").validate(WICKET_VERSIONS), artifact);
+        }
+    }
+
+    /**
+     * The Wicket versions missing from the catalog are rejected.
+     */
+    @Test
+    void rejectsUnknownWicketVersion() {
+        assertEquals(List.of("Unknown Wicket version: 10.99.0"),
+                project("demo", "10.99.0").validate(WICKET_VERSIONS));
+    }
+
+    /**
+     * Create a project.
+     *
+     * @param artifact      The artifact.
+     * @param wicketVersion The Wicket version.
+     * @return The project.
+     */
+    private static ProjectViewBean project(String artifact, String wicketVersion) {
+        return new ProjectViewBean("com.example", artifact, "Demo", "A demo", "com.example.demo", ProjectType.MAVEN,
+                Packaging.LIGHT_WAR, wicketVersion);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.filters;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * The cached pages replay the body compressed once, with the nonce of each response spliced between the compressed
+ * parts: the result must be a valid gzip stream, whose trailer holds the CRC-32 combined by {@link Crc32Combiner}.
+ */
+class CachedPageTest {
+
+    /**
+     * The nonce of the rendered page.
+     */
+    private static final String RENDERED_NONCE = "cmVuZGVyZWQtbm9uY2U";
+
+    /**
+     * The nonce of the replayed response, longer than the rendered one.
+     */
+    private static final String NONCE = "cmVwbGF5ZWQtcmVzcG9uc2Utbm9uY2U";
+
+    /**
+     * The policy header, holding the nonce.
+     */
+    private static final String CSP = "Content-Security-Policy";
+
+    /**
+     * The gzip body holds the page with the nonce of the response, and the CRC-32 of its trailer is checked by
+     * {@link GZIPInputStream}.
+     *
+     * @throws IOException If the page can't be written or read.
+     */
+    @Test
+    void writesGzipWithNonce() throws IOException {
+        final CachedPage page = CachedPage.of("text/html;charset=UTF-8",
+                Map.of(CSP, List.of("script-src 'nonce-" + RENDERED_NONCE + "'")), render(RENDERED_NONCE),
+                RENDERED_NONCE);
+
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        page.write(response, true, NONCE);
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals(response.getContentAsByteArray().length, response.getContentLengthLong());
+        assertEquals("script-src 'nonce-" + NONCE + "'", response.getHeader(CSP));
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertEquals(new String(render(NONCE), StandardCharsets.UTF_8),
+                    new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * The uncompressed body holds the page with the nonce of the response.
+     *
+     * @throws IOException If the page can't be written.
+     */
+    @Test
+    void writesInflatedWithNonce() throws IOException {
+        final CachedPage page = CachedPage.of("text/html;charset=UTF-8", Map.of(), render(RENDERED_NONCE),
+                RENDERED_NONCE);
+
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        page.write(response, false, NONCE);
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(response.getContentAsByteArray().length, response.getContentLengthLong());
+        assertEquals(new String(render(NONCE), StandardCharsets.UTF_8), response.getContentAsString());
+    }
+
+    /**
+     * The CRC-32 of two parts combined equals the CRC-32 of the whole.
+     */
+    @Test
+    void combinesCrc32() {
+        final byte[] bytes = new byte[10_000];
+        new Random(42).nextBytes(bytes);
+        for (int split : new int[]{0, 1, 4_999, 9_999, 10_000}) {
+            final CRC32 first = new CRC32();
+            first.update(bytes, 0, split);
+            final CRC32 second = new CRC32();
+            second.update(bytes, split, bytes.length - split);
+            final CRC32 whole = new CRC32();
+            whole.update(bytes);
+
+            assertEquals(whole.getValue(), Crc32Combiner.combine(first.getValue(), second.getValue(),
+                    bytes.length - split), "Split at " + split);
+        }
+    }
+
+    /**
+     * Render a page with a nonce at its beginning, in its body and at its end.
+     *
+     * @param nonce The nonce.
+     * @return The page.
+     */
+    private static byte[] render(String nonce) {
+        final StringBuilder html = new StringBuilder("<!DOCTYPE html><html><head><script nonce=\"").append(nonce)
+                .append("\"></script></head><body>");
+        for (int i = 0; i < 500; i++) {
+            html.append("<p class=\"row\">Row ").append(i).append("</p>");
+        }
+        return html.append("<script nonce=\"").append(nonce).append("\"></script></body></html>").append(nonce)
+                .toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.http;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The transitions of the circuit protecting the calls to Maven Central, with a clock moved by the tests.
+ */
+class CircuitBreakerTest {
+
+    /**
+     * The time during which the circuit stays open.
+     */
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    /**
+     * The clock of the circuit.
+     */
+    private MutableClock clock;
+
+    /**
+     * The circuit, opened by 3 consecutive failures.
+     */
+    private CircuitBreaker circuitBreaker;
+
+    /**
+     * Create a closed circuit.
+     */
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        circuitBreaker = new CircuitBreaker(3, OPEN_DURATION, clock);
+    }
+
+    /**
+     * The circuit opens after the consecutive failures only, and then fails fast.
+     */
+    @Test
+    void opensAfterConsecutiveFailures() {
+        fail();
+        fail();
+        succeed();
+        fail();
+        fail();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        fail();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        clock.advance(OPEN_DURATION.minusSeconds(1));
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    /**
+     * Once the open time is over, a single trial call is allowed, and its success closes the circuit.
+     */
+    @Test
+    void closesAfterSuccessfulTrial() {
+        open();
+        clock.advance(OPEN_DURATION);
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+
+        circuitBreaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    /**
+     * A failed trial call opens the circuit again for the whole open time.
+     */
+    @Test
+    void reopensAfterFailedTrial() {
+        open();
+        clock.advance(OPEN_DURATION);
+        assertTrue(circuitBreaker.tryAcquirePermission());
+
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        clock.advance(OPEN_DURATION.minusSeconds(1));
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    /**
+     * The threshold must be positive.
+     */
+    @Test
+    void rejectsInvalidThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(0, OPEN_DURATION, clock));
+    }
+
+    /**
+     * Open the circuit.
+     */
+    private void open() {
+        fail();
+        fail();
+        fail();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    /**
+     * Make a failed call.
+     */
+    private void fail() {
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onFailure();
+    }
+
+    /**
+     * Make a successful call.
+     */
+    private void succeed() {
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onSuccess();
+    }
+
+    /**
+     * A clock moved by the tests.
+     */
+    private static final class MutableClock extends Clock {
+
+        /**
+         * The current instant.
+         */
+        private Instant instant;
+
+        /**
+         * Constructor.
+         *
+         * @param instant The initial instant.
+         */
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        /**
+         * Move the clock forward.
+         *
+         * @param duration The duration.
+         */
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
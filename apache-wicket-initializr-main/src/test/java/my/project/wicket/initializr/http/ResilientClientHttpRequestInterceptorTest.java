@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The permits of the bulkhead and the outcomes of the circuit, whatever the call does.
+ */
+class ResilientClientHttpRequestInterceptorTest {
+
+    /**
+     * The registry of the metrics, holding the available permits.
+     */
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * The circuit, opened by a single failure.
+     */
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ofMinutes(1), Clock.systemUTC());
+
+    /**
+     * The call to Maven Central.
+     */
+    private final ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+
+    /**
+     * The interceptor, with a single permit.
+     */
+    private ResilientClientHttpRequestInterceptor interceptor;
+
+    /**
+     * Create the interceptor.
+     */
+    @BeforeEach
+    void setUp() {
+        interceptor = new ResilientClientHttpRequestInterceptor("test", 1, Duration.ZERO, circuitBreaker,
+                meterRegistry);
+    }
+
+    /**
+     * A successful call holds its permit until its response is closed.
+     *
+     * @throws IOException Never, the call is a mock.
+     */
+    @Test
+    void releasesPermitOnClose() throws IOException {
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+        when(execution.execute(any(), any())).thenReturn(response);
+
+        final ClientHttpResponse guarded = interceptor.intercept(mock(HttpRequest.class), new byte[0], execution);
+
+        assertEquals(0, availablePermits());
+        assertThrows(RemoteServiceUnavailableException.class,
+                () -> interceptor.intercept(mock(HttpRequest.class), new byte[0], execution));
+        guarded.close();
+        assertEquals(1, availablePermits());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    /**
+     * A response whose status can't be read releases its permit and counts as a failure.
+     *
+     * @throws IOException Never, the call is a mock.
+     */
+    @Test
+    void releasesPermitOnUnreadableStatus() throws IOException {
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getStatusCode()).thenThrow(new IOException("Connection reset"));
+        when(execution.execute(any(), any())).thenReturn(response);
+
+        assertThrows(IOException.class,
+                () -> interceptor.intercept(mock(HttpRequest.class), new byte[0], execution));
+
+        assertEquals(1, availablePermits());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        verify(response).close();
+    }
+
+    /**
+     * Get the available permits of the bulkhead.
+     *
+     * @return The available permits.
+     */
+    private int availablePermits() {
+        return (int) meterRegistry.get("initializr.remote.bulkhead.available").gauge().value();
+    }
+}
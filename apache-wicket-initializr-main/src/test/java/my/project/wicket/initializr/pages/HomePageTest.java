@@ -0,0 +1,234 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.pages;
+
+import de.agilecoders.wicket.core.Bootstrap;
+import de.agilecoders.wicket.core.settings.BootstrapSettings;
+import de.agilecoders.wicket.extensions.markup.html.bootstrap.icon.FontAwesome6CssReference;
+import de.agilecoders.wicket.extensions.markup.html.bootstrap.icon.FontAwesomeSettings;
+import de.agilecoders.wicket.themes.markup.html.bootswatch.BootswatchTheme;
+import de.agilecoders.wicket.themes.markup.html.bootswatch.BootswatchThemeProvider;
+import de.agilecoders.wicket.webjars.WicketWebjars;
+import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
+import my.project.wicket.initializr.localization.IndexedStringResourceLoader;
+import my.project.wicket.initializr.resources.StaticAssetResourceReference;
+import my.project.wicket.initializr.services.IGenerationSchedulerService;
+import my.project.wicket.initializr.services.IProjectGeneratorService;
+import my.project.wicket.initializr.services.IProjectPreviewService;
+import my.project.wicket.initializr.services.IVersionCatalogClusterService;
+import my.project.wicket.initializr.services.IVersionCatalogSnapshotService;
+import my.project.wicket.initializr.services.VersionCatalogService;
+import my.project.wicket.initializr.stateless.StatelessPageGuard;
+import org.apache.wicket.RuntimeConfigurationType;
+import org.apache.wicket.markup.html.WebPage;
+import org.apache.wicket.page.PageManager;
+import org.apache.wicket.pageStore.NoopPageStore;
+import org.apache.wicket.pageStore.RequestPageStore;
+import org.apache.wicket.protocol.http.WebApplication;
+import org.apache.wicket.spring.injection.annot.SpringComponentInjector;
+import org.apache.wicket.spring.test.ApplicationContextMock;
+import org.apache.wicket.util.tester.WicketTester;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The home page rendered and submitted without a server: it must stay stateless, so no session is created either to
+ * show the form or to show its errors.
+ */
+class HomePageTest {
+
+    /**
+     * The form of the rendered page.
+     */
+    private static final Pattern FORM_ACTION = Pattern.compile("<form[^>]*action=\"([^\"]*)\"");
+
+    /**
+     * The tester of the application.
+     */
+    private WicketTester tester;
+
+    /**
+     * Start the application.
+     */
+    @BeforeEach
+    void setUp() {
+        tester = new WicketTester(new TestApplication());
+    }
+
+    /**
+     * Stop the application.
+     */
+    @AfterEach
+    void tearDown() {
+        tester.destroy();
+    }
+
+    /**
+     * The page is rendered without binding a session.
+     */
+    @Test
+    void rendersStateless() {
+        tester.startPage(HomePage.class);
+
+        tester.assertRenderedPage(HomePage.class);
+        assertTrue(tester.getLastRenderedPage().isPageStateless());
+        assertTrue(tester.getSession().isTemporary());
+    }
+
+    /**
+     * An invalid form is rendered again with its errors, without a redirect to a stored page.
+     */
+    @Test
+    void rendersInvalidFormStateless() {
+        final String action = renderForm();
+
+        submit(action, "bad group!");
+
+        assertEquals(200, tester.getLastResponse().getStatus());
+        assertNull(tester.getLastResponse().getRedirectLocation());
+        assertTrue(tester.getSession().isTemporary());
+        assertTrue(tester.getLastResponseAsString().contains("is-invalid"));
+    }
+
+    /**
+     * A valid form redirects to the archive of the project.
+     */
+    @Test
+    void redirectsValidFormToArchive() {
+        final String action = renderForm();
+
+        // The archive itself is not generated: only the redirect to it is checked
+        tester.setFollowRedirects(false);
+        submit(action, "com.example");
+
+        final String location = tester.getLastResponse().getRedirectLocation();
+        assertNotNull(location);
+        assertTrue(location.contains("type=maven"), location);
+        assertTrue(location.contains("packaging=light-war"), location);
+        assertTrue(tester.getSession().isTemporary());
+    }
+
+    /**
+     * Render the page and find the action of its form.
+     *
+     * @return The URL of the action, relative to the application.
+     */
+    private String renderForm() {
+        tester.startPage(HomePage.class);
+        final Matcher matcher = FORM_ACTION.matcher(tester.getLastResponseAsString());
+        assertTrue(matcher.find(), "The page has no form");
+        return matcher.group(1).replace("&amp;", "&").replaceFirst("^\\./", "");
+    }
+
+    /**
+     * Submit the form as a browser does, with the raw parameters.
+     *
+     * @param action The URL of the action.
+     * @param group  The group of the project.
+     */
+    private void submit(String action, String group) {
+        tester.getRequest().setMethod("POST");
+        tester.getRequest().setURL(action);
+        tester.getRequest().getPostParameters().setParameterValue("group", group);
+        tester.getRequest().getPostParameters().setParameterValue("artifact", "demo");
+        tester.getRequest().getPostParameters().setParameterValue("packageName", "com.example.demo");
+        tester.getRequest().getPostParameters().setParameterValue("projectRadioGroup", "MAVEN");
+        tester.getRequest().getPostParameters().setParameterValue("packagingRadioGroup", "LIGHT_WAR");
+        tester.processRequest();
+        assertFalse(tester.getLastResponse().getStatus() >= 500);
+    }
+
+    /**
+     * The application of the tests, configured like the initializr application without Spring Boot. The catalog
+     * holds fixed versions and the generation is never called.
+     */
+    private static class TestApplication extends WebApplication {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Class<? extends WebPage> getHomePage() {
+            return HomePage.class;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public RuntimeConfigurationType getConfigurationType() {
+            return RuntimeConfigurationType.DEPLOYMENT;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void init() {
+            super.init();
+
+            final ApplicationContextMock context = new ApplicationContextMock();
+            context.putBean("versionCatalogService", newVersionCatalog());
+            context.putBean("projectPreviewService", mock(IProjectPreviewService.class));
+            context.putBean("projectGeneratorService", mock(IProjectGeneratorService.class));
+            context.putBean("generationSchedulerService", mock(IGenerationSchedulerService.class));
+            getComponentInstantiationListeners().add(new SpringComponentInjector(this, context));
+
+            WicketWebjars.install(this);
+            FontAwesomeSettings.get(this).setCssResourceReference(FontAwesome6CssReference.instance());
+            final BootstrapSettings settings = new BootstrapSettings();
+            settings.setThemeProvider(new BootswatchThemeProvider(BootswatchTheme.Zephyr));
+            Bootstrap.install(this, settings);
+            IndexedStringResourceLoader.install(this, HomePage.class);
+            setPageManagerProvider(() -> new PageManager(new RequestPageStore(new NoopPageStore())));
+            getComponentPostOnBeforeRenderListeners().add(new StatelessPageGuard(Set.of(HomePage.class)));
+            mountResource(StaticAssetResourceReference.MOUNT_PATH, StaticAssetResourceReference.get());
+        }
+
+        /**
+         * Create the catalog of the versions, filled without the network.
+         *
+         * @return The catalog of the versions.
+         */
+        private static VersionCatalogService newVersionCatalog() {
+            final List<ArtifactVersionViewBean> versions = List.of(new ArtifactVersionViewBean("10.0.0"),
+                    new ArtifactVersionViewBean("10.1.0-M1"), new ArtifactVersionViewBean("9.18.0"));
+            final IVersionCatalogClusterService standalone = mock(IVersionCatalogClusterService.class);
+            when(standalone.isLeader()).thenReturn(true);
+            final VersionCatalogService catalog = new VersionCatalogService(coordinates -> versions,
+                    mock(IVersionCatalogSnapshotService.class), standalone, new StandardEnvironment(),
+                    Duration.ofSeconds(10), 8);
+            catalog.refresh();
+            return catalog;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import my.project.wicket.initializr.beans.GenerationJob;
+import my.project.wicket.initializr.beans.ProjectViewBean;
+import my.project.wicket.initializr.pages.Packaging;
+import my.project.wicket.initializr.pages.ProjectType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The generations are streamed by an idle worker, or polled at once when all the workers are busy: no request waits
+ * for a worker.
+ */
+class GenerationSchedulerServiceTest {
+
+    /**
+     * The archive written by the generator.
+     */
+    private static final byte[] ARCHIVE = "archive".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The project to generate.
+     */
+    private static final ProjectViewBean PROJECT = new ProjectViewBean("com.example", "demo", "Demo", "A demo",
+            "com.example.demo", ProjectType.MAVEN, Packaging.LIGHT_WAR, "10.0.0");
+
+    /**
+     * Released to let the blocked generations end.
+     */
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    /**
+     * The generator, writing the archive once released.
+     */
+    private IProjectGeneratorService generator;
+
+    /**
+     * The scheduler, with a single worker.
+     */
+    private GenerationSchedulerService scheduler;
+
+    /**
+     * Create the scheduler.
+     */
+    @BeforeEach
+    void setUp() {
+        generator = mock(IProjectGeneratorService.class);
+        scheduler = new GenerationSchedulerService(generator, 1, 4, 2, DataSize.ofMegabytes(1),
+                Duration.ofSeconds(5), Duration.ofMinutes(2), new SimpleMeterRegistry());
+    }
+
+    /**
+     * Stop the workers.
+     */
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        scheduler.shutdown();
+    }
+
+    /**
+     * A job submitted to an idle worker is streamed, and not kept for polling.
+     *
+     * @throws IOException If the archive can't be read.
+     */
+    @Test
+    void streamsWhenWorkerIdle() throws IOException {
+        generates(false);
+
+        final GenerationJob job = scheduler.submit(PROJECT, "client");
+
+        assertTrue(job.isStreamed());
+        assertNull(scheduler.findJob(job.getId()));
+        try (InputStream input = job.getInput()) {
+            assertArrayEquals(ARCHIVE, input.readAllBytes());
+        }
+    }
+
+    /**
+     * A job submitted while the worker is busy is polled at once, and generated once the worker is free.
+     *
+     * @throws Exception If the archive can't be generated.
+     */
+    @Test
+    void pollsWhenWorkersBusy() throws Exception {
+        generates(true);
+        final GenerationJob streamed = scheduler.submit(PROJECT, "first");
+
+        final GenerationJob polled = scheduler.submit(PROJECT, "second");
+
+        assertTrue(streamed.isStreamed());
+        assertFalse(polled.isStreamed());
+        assertSame(polled, scheduler.findJob(polled.getId()));
+        assertFalse(polled.getArchive().isDone());
+        release.countDown();
+        assertArrayEquals(ARCHIVE, polled.getArchive().get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * A streamed archive whose generation failed ends with an error, not as a truncated archive.
+     *
+     * @throws IOException Never, the generator is a mock.
+     */
+    @Test
+    void failsStreamedArchive() throws IOException {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(ARCHIVE);
+            throw new IOException("Broken template");
+        }).when(generator).generate(any(), any());
+
+        final GenerationJob job = scheduler.submit(PROJECT, "client");
+
+        assertThrows(IOException.class, () -> {
+            try (InputStream input = job.getInput()) {
+                input.readAllBytes();
+            }
+        });
+    }
+
+    /**
+     * Closing a streamed archive before its end stops the worker.
+     *
+     * @throws IOException If the archive can't be closed.
+     */
+    @Test
+    void stopsAbandonedStream() throws IOException {
+        doAnswer(invocation -> {
+            final OutputStream output = invocation.getArgument(1);
+            for (int i = 0; i < 1024; i++) {
+                output.write(new byte[1024]);
+            }
+            return null;
+        }).when(generator).generate(any(), any());
+
+        final GenerationJob job = scheduler.submit(PROJECT, "client");
+        job.getInput().close();
+
+        final ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> job.getArchive().get(5, TimeUnit.SECONDS));
+        assertTrue(failure.getCause() instanceof IOException);
+    }
+
+    /**
+     * A client can't have more generations than its cap, the other clients still can.
+     */
+    @Test
+    void rejectsClientOverCap() {
+        generates(true);
+        scheduler.submit(PROJECT, "client");
+        scheduler.submit(PROJECT, "client");
+
+        final GenerationRejectedException rejection = assertThrows(GenerationRejectedException.class,
+                () -> scheduler.submit(PROJECT, "client"));
+
+        assertEquals(GenerationRejectedException.Reason.CLIENT_LIMIT, rejection.getReason());
+        assertFalse(scheduler.submit(PROJECT, "other").isStreamed());
+    }
+
+    /**
+     * Make the generator write the archive.
+     *
+     * @param blocked True to write it only once released.
+     */
+    private void generates(boolean blocked) {
+        try {
+            doAnswer(invocation -> {
+                if (blocked) {
+                    release.await();
+                }
+                invocation.<OutputStream>getArgument(1).write(ARCHIVE);
+                return null;
+            }).when(generator).generate(any(), any());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
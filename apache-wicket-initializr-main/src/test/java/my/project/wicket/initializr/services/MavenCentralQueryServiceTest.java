@@ -0,0 +1,157 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import my.project.wicket.initializr.beans.ArtifactCoordinates;
+import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * The fetches of the versions against a local server standing for the search API of Maven Central.
+ */
+class MavenCentralQueryServiceTest {
+
+    /**
+     * The ETag of the first page.
+     */
+    private static final String ETAG = "\"catalog-1\"";
+
+    /**
+     * The pages by offset. The second page overlaps the first one, as when a version is published between them.
+     */
+    private static final Map<String, String> PAGES = Map.of(
+            "0", page("1.0.0", "2.0.0"),
+            "2", page("2.0.0", "1.1.0"),
+            "4", page("0.9.0"));
+
+    /**
+     * The requests received by the server: the offset, followed by " conditional" for the conditional requests.
+     */
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    /**
+     * The server.
+     */
+    private HttpServer server;
+
+    /**
+     * The service, fetching 2 versions by page.
+     */
+    private MavenCentralQueryService service;
+
+    /**
+     * Start the server.
+     *
+     * @throws IOException If the server can't be started.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/solrsearch/select", this::handle);
+        server.start();
+        service = new MavenCentralQueryService(new RestTemplate(), new ObjectMapper(), new VersionComparatorService(),
+                "http://localhost:" + server.getAddress().getPort() + "/solrsearch/select", 2);
+    }
+
+    /**
+     * Stop the server.
+     */
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * All the pages are fetched, and the versions seen on two pages are kept once.
+     */
+    @Test
+    void fetchesAllPagesWithoutDuplicates() {
+        final List<ArtifactVersionViewBean> versions = service.fetchVersions(ArtifactCoordinates.WICKET_CORE);
+
+        assertEquals(List.of("2.0.0", "1.1.0", "1.0.0", "0.9.0"), versions.stream().map(ArtifactVersionViewBean::getVersion).toList());
+        assertEquals(List.of("0", "2", "4"), requests);
+    }
+
+    /**
+     * An unchanged catalog costs a single conditional request, answered by a 304, and keeps the previous versions.
+     */
+    @Test
+    void keepsVersionsWhenNotModified() {
+        final List<ArtifactVersionViewBean> fetched = service.fetchVersions(ArtifactCoordinates.WICKET_CORE);
+        requests.clear();
+
+        final List<ArtifactVersionViewBean> refetched = service.fetchVersions(ArtifactCoordinates.WICKET_CORE);
+
+        assertSame(fetched, refetched);
+        assertEquals(List.of("0 conditional"), requests);
+    }
+
+    /**
+     * Answer a request: a 304 when the ETag of the first page matches, the page of the offset otherwise.
+     *
+     * @param exchange The exchange.
+     * @throws IOException If the response can't be sent.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        final String start = exchange.getRequestURI().getQuery().replaceAll(".*\\bstart=(\\d+).*", "$1");
+        final boolean conditional = ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"));
+        requests.add(conditional ? start + " conditional" : start);
+        if (conditional) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        final byte[] body = PAGES.getOrDefault(start, page()).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("ETag", ETAG);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    /**
+     * Create a page of the search API, out of 5 versions in total.
+     *
+     * @param versions The versions of the page.
+     * @return The JSON page.
+     */
+    private static String page(String... versions) {
+        final StringBuilder docs = new StringBuilder();
+        for (String version : versions) {
+            docs.append(docs.length() == 0 ? "" : ",").append("{\"g\":\"org.apache.wicket\",\"v\":\"").append(version).append("\"}");
+        }
+        return "{\"responseHeader\":{\"status\":0},\"response\":{\"numFound\":5,\"start\":0,\"docs\":[" + docs + "]}}";
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2024-2025 stefv
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package my.project.wicket.initializr.services;
+
+import my.project.wicket.initializr.beans.ArtifactCoordinates;
+import my.project.wicket.initializr.beans.ArtifactVersionIndex;
+import my.project.wicket.initializr.beans.ArtifactVersionViewBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The lookups of the catalog: the unknown artifacts are fetched in parallel, once for all the concurrent callers, and
+ * the known ones without calling Maven Central.
+ */
+class VersionCatalogServiceTest {
+
+    /**
+     * The artifacts looked up together, none of them known by the empty catalog.
+     */
+    private static final List<ArtifactCoordinates> ARTIFACTS = List.of(ArtifactCoordinates.SPRING_BOOT,
+            ArtifactCoordinates.SERVLET_API);
+
+    /**
+     * Released to let the fetches end.
+     */
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    /**
+     * The number of calls to Maven Central, by artifact.
+     */
+    private final ConcurrentMap<ArtifactCoordinates, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+    /**
+     * The catalog, empty until the first lookup.
+     */
+    private VersionCatalogService catalog;
+
+    /**
+     * Create the catalog, fetching a single version per artifact once released.
+     */
+    @BeforeEach
+    void setUp() {
+        final IVersionCatalogClusterService standalone = mock(IVersionCatalogClusterService.class);
+        when(standalone.isLeader()).thenReturn(true);
+        catalog = new VersionCatalogService(coordinates -> {
+            calls.computeIfAbsent(coordinates, artifact -> new AtomicInteger()).incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of(new ArtifactVersionViewBean("1.0.0"));
+        }, mock(IVersionCatalogSnapshotService.class), standalone, new StandardEnvironment(), Duration.ofSeconds(10), 8);
+    }
+
+    /**
+     * The concurrent lookups of unknown artifacts share a single fetch by artifact, and the artifacts are fetched in
+     * parallel.
+     *
+     * @throws InterruptedException If the test is interrupted.
+     */
+    @Test
+    void coalescesConcurrentLookups() throws InterruptedException {
+        final AtomicReference<Map<ArtifactCoordinates, ArtifactVersionIndex>> first = new AtomicReference<>();
+        final AtomicReference<Map<ArtifactCoordinates, ArtifactVersionIndex>> second = new AtomicReference<>();
+        final Thread firstCaller = new Thread(() -> first.set(catalog.getIndexes(ARTIFACTS)));
+        firstCaller.start();
+        // Both artifacts are being fetched at the same time
+        awaitCalls(2);
+        final Thread secondCaller = new Thread(() -> second.set(catalog.getIndexes(ARTIFACTS)));
+        secondCaller.start();
+        awaitWaiting(secondCaller);
+
+        release.countDown();
+        firstCaller.join();
+        secondCaller.join();
+
+        assertEquals(1, calls.get(ArtifactCoordinates.SPRING_BOOT).get());
+        assertEquals(1, calls.get(ArtifactCoordinates.SERVLET_API).get());
+        for (Map<ArtifactCoordinates, ArtifactVersionIndex> indexes : List.of(first.get(), second.get())) {
+            assertEquals(ARTIFACTS, List.copyOf(indexes.keySet()));
+            indexes.values().forEach(index -> assertEquals("1.0.0", index.getLatestRelease().getVersion()));
+        }
+    }
+
+    /**
+     * The known artifacts are read without calling Maven Central.
+     */
+    @Test
+    void readsKnownArtifactsFromMemory() {
+        release.countDown();
+        catalog.getIndexes(ARTIFACTS);
+
+        final Map<ArtifactCoordinates, ArtifactVersionIndex> indexes = catalog.getIndexes(ARTIFACTS);
+
+        assertEquals(2, calls.size());
+        calls.values().forEach(count -> assertEquals(1, count.get()));
+        assertTrue(indexes.values().stream().allMatch(index -> index.getLatestRelease() != null));
+    }
+
+    /**
+     * Wait until Maven Central is called a number of times.
+     *
+     * @param expected The expected number of calls.
+     * @throws InterruptedException If the test is interrupted.
+     */
+    private void awaitCalls(int expected) throws InterruptedException {
+        while (calls.values().stream().mapToInt(AtomicInteger::get).sum() < expected) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Wait until a caller waits for the fetches in progress.
+     *
+     * @param caller The caller.
+     * @throws InterruptedException If the test is interrupted.
+     */
+    private static void awaitWaiting(Thread caller) throws InterruptedException {
+        while (caller.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(10);
+        }
+    }
+}